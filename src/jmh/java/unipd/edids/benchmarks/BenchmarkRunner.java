@@ -0,0 +1,42 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar built by the {@code jmh} Maven profile.
+ *
+ * <p>Responsibilities:
+ * - Accepts the standard JMH command line options, so a subset of the benchmarks can be selected by name
+ *   (e.g. {@code java -jar NONSENSE-generator-1.0-SNAPSHOT-benchmarks.jar GenerateSentence}).
+ * - Always attaches the GC profiler: besides the operations per second, every result reports
+ *   {@code gc.alloc.rate.norm}, the bytes allocated per operation, so allocation regressions show up
+ *   next to throughput regressions.
+ */
+public class BenchmarkRunner {
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line, or all of them.
+     *
+     * @param args the JMH command line options.
+     * @throws CommandLineOptionException if the options are invalid.
+     * @throws RunnerException            if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
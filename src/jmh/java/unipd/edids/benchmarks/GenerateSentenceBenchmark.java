@@ -0,0 +1,80 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.services.GenerateSentenceService;
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of a sentence, in sentences per second, for every structure strategy.
+ *
+ * <p>Recursion is disabled, so the results measure structure selection, word selection and rendering
+ * only; {@link RecursiveTemplateBenchmark} covers the recursive structures. New words are always used,
+ * so the strategies differ only in how the structure is chosen.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerateSentenceBenchmark {
+    /**
+     * Structure used by the SAME and SELECTED strategies, with every kind of word.
+     */
+    private static final String STRUCTURE = "[noun] not only [verb] the [adjective] [noun] but also [verb] the [noun]";
+
+    /**
+     * The strategy used to choose the structure.
+     */
+    @Param({"RANDOM", "SAME", "SELECTED"})
+    private StrategyType strategy;
+
+    /**
+     * The service under measurement; it keeps the current sentence, so each thread has its own.
+     */
+    private GenerateSentenceService service;
+
+    /**
+     * Value of {@code allow.recursive.sentences} before the benchmark, restored at the end.
+     */
+    private String previousRecursive;
+
+    /**
+     * Disables recursion and configures the service for the strategy.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigManager config = ConfigManager.getInstance();
+        previousRecursive = config.getProperty("allow.recursive.sentences");
+        config.setProperty("allow.recursive.sentences", "false");
+
+        Sentence analyzed = new Sentence();
+        analyzed.setStructure(new StringBuilder(STRUCTURE));
+
+        service = new GenerateSentenceService();
+        service.setStructureSentenceStrategy(strategy, analyzed, STRUCTURE);
+        service.configureWordStrategy(true, analyzed);
+    }
+
+    /**
+     * Restores the configuration changed by {@link #setUp()}.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.getInstance().setProperty("allow.recursive.sentences", previousRecursive);
+    }
+
+    /**
+     * Generates one sentence.
+     *
+     * @return the generated sentence, consumed by JMH.
+     */
+    @Benchmark
+    public Sentence generateSentence() {
+        return service.generateSentence();
+    }
+}
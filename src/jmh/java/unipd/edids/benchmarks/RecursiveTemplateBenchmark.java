@@ -0,0 +1,129 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceTemplate;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.services.GenerateSentenceService;
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of recursive structures and the replacement of their placeholders.
+ *
+ * <p>{@code resolveTemplate} and {@code replacePlaceholders} are private to {@link GenerateSentenceService},
+ * so they are measured through {@link GenerateSentenceService#generateSentence()} with a selected structure
+ * holding one [sentence] slot: every level expands into the same structure, so the recursion always reaches
+ * {@code max.recursion.level}. The template benchmarks isolate the compilation and the rendering
+ * of the fully resolved structure, the work {@code replacePlaceholders} does per sentence.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RecursiveTemplateBenchmark {
+    /**
+     * Structure expanded at every recursion level.
+     */
+    private static final String STRUCTURE = "the [adjective] [noun] [verb] that [sentence]";
+
+    /**
+     * Maximum recursion level, i.e. the number of nested structures.
+     */
+    @Param({"4", "16", "64"})
+    private int depth;
+
+    /**
+     * The service under measurement; it keeps the current sentence, so each thread has its own.
+     */
+    private GenerateSentenceService service;
+
+    /**
+     * Fully resolved structure at the benchmark depth.
+     */
+    private String resolvedStructure;
+
+    /**
+     * Compiled template of the resolved structure.
+     */
+    private SentenceTemplate resolvedTemplate;
+
+    /**
+     * Words of a generated sentence, used to render the resolved template.
+     */
+    private Sentence words;
+
+    /**
+     * Values of the recursion properties before the benchmark, restored at the end.
+     */
+    private Map<String, String> previous;
+
+    /**
+     * Enables recursion up to the benchmark depth and prepares a resolved structure with its words.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigManager config = ConfigManager.getInstance();
+        previous = Map.of(
+                "allow.recursive.sentences", config.getProperty("allow.recursive.sentences"),
+                "max.recursion.level", config.getProperty("max.recursion.level"));
+        config.update(Map.of(
+                "allow.recursive.sentences", "true",
+                "max.recursion.level", String.valueOf(depth))).join();
+
+        service = new GenerateSentenceService();
+        service.setStructureSentenceStrategy(StrategyType.SELECTED, null, STRUCTURE);
+        service.configureWordStrategy(true, null);
+
+        words = service.generateSentence();
+        resolvedStructure = words.getStructure().toString();
+        resolvedTemplate = SentenceTemplate.compile(resolvedStructure);
+    }
+
+    /**
+     * Restores the configuration changed by {@link #setUp()}.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.getInstance().update(previous).join();
+    }
+
+    /**
+     * Generates one sentence, resolving the recursive structure and replacing its placeholders.
+     *
+     * @return the generated sentence, consumed by JMH.
+     */
+    @Benchmark
+    public Sentence generateRecursiveSentence() {
+        return service.generateSentence();
+    }
+
+    /**
+     * Compiles the resolved structure into a template.
+     *
+     * @return the template, consumed by JMH.
+     */
+    @Benchmark
+    public SentenceTemplate compileResolvedTemplate() {
+        return SentenceTemplate.compile(resolvedStructure);
+    }
+
+    /**
+     * Renders the resolved template with the words of a generated sentence.
+     *
+     * @param blackhole consumes the rendered sentence.
+     */
+    @Benchmark
+    public void renderResolvedTemplate(Blackhole blackhole) {
+        StringBuilder result = new StringBuilder(resolvedTemplate.estimateRenderedLength());
+        blackhole.consume(resolvedTemplate.render(result,
+                words.getNouns().iterator(),
+                words.getVerbs().iterator(),
+                words.getAdjectives().iterator()));
+    }
+}
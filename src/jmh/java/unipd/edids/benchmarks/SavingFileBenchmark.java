@@ -0,0 +1,71 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unipd.edids.logicBusiness.managers.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the saving of a sentence to a file, in saved sentences per second.
+ *
+ * <p>{@link FileManager#appendLineToSavingFile(String, String)} opens and closes the file for every line;
+ * {@link FileManager#appendLineToSavingChannel(String, String)} is measured next to it as the buffered baseline.
+ * The file is created in the temporary directory and deleted after each iteration, so it never grows without bound.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SavingFileBenchmark {
+    /**
+     * The saved line, as long as a typical generated sentence.
+     */
+    private static final String LINE = "The lazy dog not only jumps the quick fox but also eats the cat";
+
+    /**
+     * The file the lines are saved to.
+     */
+    private Path file;
+
+    /**
+     * Creates an empty saving file.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("nonsense-benchmark", ".txt");
+    }
+
+    /**
+     * Closes the saving channels and deletes the file.
+     *
+     * @throws IOException if the file cannot be deleted.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        FileManager.closeSavingChannels();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Saves one line, opening and closing the file.
+     */
+    @Benchmark
+    public void appendLineToSavingFile() {
+        FileManager.appendLineToSavingFile(file.toString(), LINE);
+    }
+
+    /**
+     * Saves one line through the buffered saving channel.
+     */
+    @Benchmark
+    public void appendLineToSavingChannel() {
+        FileManager.appendLineToSavingChannel(file.toString(), LINE);
+    }
+}
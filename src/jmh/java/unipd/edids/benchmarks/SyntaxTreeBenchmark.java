@@ -0,0 +1,54 @@
+package unipd.edids.benchmarks;
+
+import edu.stanford.nlp.trees.Tree;
+import org.openjdk.jmh.annotations.*;
+import unipd.edids.logicBusiness.services.AnalyzeSentenceService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a sentence into its syntax tree with the configured CoreNLP parser.
+ *
+ * <p>The pipeline is loaded before the measurement, so the results do not include loading the models.
+ * Parsing is orders of magnitude slower than generation, so fewer and longer iterations are used.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SyntaxTreeBenchmark {
+    /**
+     * The sentence to parse: a short one and one with nested clauses.
+     */
+    @Param({
+            "The cat eats the fish",
+            "The old man who lives near the river not only reads the newspaper but also feeds the ducks in the park"
+    })
+    private String text;
+
+    /**
+     * The service under measurement.
+     */
+    private AnalyzeSentenceService service;
+
+    /**
+     * Creates the service and waits for the pipeline to be loaded.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new AnalyzeSentenceService();
+        service.warmUp().join();
+    }
+
+    /**
+     * Parses the sentence.
+     *
+     * @return the syntax tree, consumed by JMH.
+     */
+    @Benchmark
+    public Tree getSyntaxTree() {
+        return service.getSyntaxTree(text);
+    }
+}
@@ -0,0 +1,62 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.services.TextValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validation of the text submitted for analysis.
+ *
+ * <p>{@code validateText} is private to the analysis and moderation services and delegates to
+ * {@link TextValidator} with {@code max.sentence.length}, so the validator is measured directly with the same limit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextValidatorBenchmark {
+    /**
+     * The text to validate: a valid sentence, one failing on its last character and one too long.
+     */
+    @Param({"valid", "invalidCharacter", "tooLong"})
+    private String input;
+
+    /**
+     * The text built for the input kind.
+     */
+    private String text;
+
+    /**
+     * The configured maximum length.
+     */
+    private int maxLength;
+
+    /**
+     * Builds the text and reads the length limit.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        maxLength = ConfigManager.getInstance().getInt("max.sentence.length");
+        String sentence = "The quick brown fox jumps over the lazy dog while the cat sleeps on the mat";
+        text = switch (input) {
+            case "valid" -> sentence;
+            case "invalidCharacter" -> sentence + "#";
+            case "tooLong" -> sentence.repeat(maxLength / sentence.length() + 2);
+            default -> throw new IllegalArgumentException("Invalid input: " + input);
+        };
+    }
+
+    /**
+     * Validates the text.
+     *
+     * @return the validation result, consumed by JMH.
+     */
+    @Benchmark
+    public TextValidator.Result validate() {
+        return TextValidator.validate(text, maxLength);
+    }
+}
@@ -0,0 +1,58 @@
+package unipd.edids.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import unipd.edids.logicBusiness.entities.Adjective;
+import unipd.edids.logicBusiness.entities.Noun;
+import unipd.edids.logicBusiness.entities.Verb;
+import unipd.edids.logicBusiness.entities.Word;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the selection of a random word from each vocabulary.
+ *
+ * <p>The state is shared by all the threads, as the word singletons are in the application;
+ * every thread draws from its own random generator, so running with {@code -t} greater than 1
+ * measures the scaling of the selection rather than contention on a shared generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordBenchmark {
+    /**
+     * The vocabulary to pick words from.
+     */
+    @Param({"noun", "verb", "adjective"})
+    private String vocabulary;
+
+    /**
+     * The word singleton of the vocabulary.
+     */
+    private Word word;
+
+    /**
+     * Loads the vocabulary.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        word = switch (vocabulary) {
+            case "noun" -> Noun.getInstance();
+            case "verb" -> Verb.getInstance();
+            case "adjective" -> Adjective.getInstance();
+            default -> throw new IllegalArgumentException("Invalid vocabulary: " + vocabulary);
+        };
+    }
+
+    /**
+     * Picks one random word.
+     *
+     * @return the word, consumed by JMH.
+     */
+    @Benchmark
+    public String getRandomWord() {
+        return word.getRandomWord();
+    }
+}
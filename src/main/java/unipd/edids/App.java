@@ -12,8 +12,11 @@ import org.apache.logging.log4j.Logger;
 import unipd.edids.logicBusiness.*;
 import unipd.edids.logicBusiness.exceptions.MissingApiKeyException;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.managers.FileManager;
+import unipd.edids.logicBusiness.managers.FileWatcher;
 import unipd.edids.logicBusiness.managers.LoggerManager;
 import unipd.edids.logicBusiness.services.APIClient;
+import unipd.edids.logicBusiness.services.ModerationBatcher;
 import unipd.edids.userInterface.FormController;
 import unipd.edids.userInterface.SettingsController;
 import unipd.edids.userInterface.TaskManager;
@@ -179,6 +182,9 @@ public class App extends Application {
     private void initializeMainWindow(Stage primaryStage, ConfigManager configManager) throws IOException {
         logger.info("API Key file detected. Continuing application initialization.");
         AppManager appManager = new AppManager(configManager);
+        if (configManager.getBoolean("watch.enabled", true)) {
+            FileWatcher.getInstance(); // Reload words and structures changed by external tools
+        }
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/Form.fxml"));
         Parent root = loader.load();
         FormController controller = loader.getController();
@@ -221,6 +227,9 @@ public class App extends Application {
         logger.info("Stopping the application...");
         try {
             TaskManager.cancelAllTasks(); // Existing method to close tasks
+            ModerationBatcher.shutdownInstance(); // Stop the moderation batching stage
+            FileWatcher.shutdownInstance(); // Stop watching the vocabularies
+            FileManager.closeSavingChannels(); // Flush the buffered save files
             APIClient.closeClient(); // Method to close any API connections
         } catch (Exception e) {
             logger.error("Error during shutdown: ", e);
@@ -240,6 +249,9 @@ public class App extends Application {
         logger.info("Application is closing...");
         try {
             TaskManager.cancelAllTasks(); // Close tasks
+            ModerationBatcher.shutdownInstance(); // Stop the moderation batching stage
+            FileWatcher.shutdownInstance(); // Stop watching the vocabularies
+            FileManager.closeSavingChannels(); // Flush the buffered save files
             APIClient.closeClient(); // Close API client
             primaryStage.close();
             Platform.exit();
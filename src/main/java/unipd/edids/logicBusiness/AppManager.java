@@ -2,16 +2,35 @@ package unipd.edids.logicBusiness;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.entities.Adjective;
+import unipd.edids.logicBusiness.entities.EncodedSentence;
+import unipd.edids.logicBusiness.entities.Noun;
 import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceStructure;
 import unipd.edids.logicBusiness.entities.Verb;
 import unipd.edids.logicBusiness.exceptions.AnalyzeException;
 import unipd.edids.logicBusiness.exceptions.GenerateException;
 import unipd.edids.logicBusiness.managers.ConfigManager;
 import unipd.edids.logicBusiness.managers.FileManager;
+import unipd.edids.logicBusiness.managers.LoggerManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
+import unipd.edids.logicBusiness.managers.RandomManager;
 import unipd.edids.logicBusiness.services.AnalyzeSentenceService;
+import unipd.edids.logicBusiness.services.BatchAnalyzeService;
 import unipd.edids.logicBusiness.services.GenerateSentenceService;
+import unipd.edids.logicBusiness.services.ModerationBatcher;
 import unipd.edids.logicBusiness.services.ModerationSentenceService;
 import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
+
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Acts as a Facade for the core application logic, managing sentence analysis, generation, and moderation.
@@ -23,6 +42,8 @@ import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
  * - Sentence moderation via {@link ModerationSentenceService}.
  * - Manages input and output sentences.
  * - Offers utilities for clearing and retrieving processed sentences.
+ * - Offers a headless batch generation API that fans out across all available cores.
+ * - Offers a streaming analysis of whole text files via {@link BatchAnalyzeService}.
  * - Handles application configurations via {@link ConfigManager}.
  *
  * <p>Design Pattern:
@@ -37,6 +58,11 @@ public class AppManager {
      */
     private static final Logger logger = LogManager.getLogger(AppManager.class);
 
+    /**
+     * Rate-limited logger for the events logged for every sentence.
+     */
+    private static final Logger hotPathLogger = LoggerManager.getInstance().getHotPathLogger(AppManager.class);
+
     /**
      * The AnalyzeSentenceService is responsible for performing syntax analysis on text input.
      */
@@ -89,18 +115,18 @@ public class AppManager {
      * @throws AnalyzeException if an error occurs during the analysis process.
      */
     public Sentence analyzeSentence(String text, boolean saveSelected) {
-        logger.info("Starting sentence analysis. Input text: '{}', saveSelected: {}", text, saveSelected);
+        hotPathLogger.info("Starting sentence analysis. Input text: '{}', saveSelected: {}", text, saveSelected);
         try {
             inputSentence = analyzeSentenceService.analyzeSyntax(text);
             logger.debug("Sentence successfully analyzed: {}", inputSentence);
 
             if (saveSelected) {
                 String savePath = configManager.getProperty("analyzed.save.file");
-                FileManager.appendLineToSavingFile(savePath, inputSentence.toString());
-                logger.info("Analyzed sentence saved to file: {}", savePath);
+                saveSentence(savePath, inputSentence);
+                hotPathLogger.info("Analyzed sentence saved to file: {}", savePath);
             }
 
-            logger.info("Sentence analysis completed successfully.");
+            hotPathLogger.info("Sentence analysis completed successfully.");
             return inputSentence;
         } catch (Exception e) {
             String errorMessage = "Sentence analysis failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
@@ -109,6 +135,34 @@ public class AppManager {
         }
     }
 
+    /**
+     * Analyzes every line, or every sentence, of a text file in a single streaming pass and writes the analyzed
+     * sentences to an output file. The analyzed sentence used for generation is not affected.
+     *
+     * <p>The number of workers and of units in flight are read from {@code analyzer.batch.workers}
+     * (0 means the number of available processors) and {@code analyzer.batch.inflight}.
+     *
+     * @param input  the path of the file to analyze.
+     * @param output the path of the file receiving the analyzed sentences; created or overwritten.
+     * @param mode   how the input is divided into units.
+     * @return the summary of the analysis.
+     * @throws AnalyzeException if the files cannot be read or written.
+     */
+    public BatchAnalyzeService.Report analyzeFile(Path input, Path output, BatchAnalyzeService.SplitMode mode) {
+        logger.info("Starting file analysis. Input: '{}', output: '{}', mode: {}", input, output, mode);
+        try {
+            int workers = configManager.getInt("analyzer.batch.workers", 0);
+            int maxInFlight = configManager.getInt("analyzer.batch.inflight", 64);
+            BatchAnalyzeService batchService = new BatchAnalyzeService(analyzeSentenceService,
+                    workers > 0 ? workers : Runtime.getRuntime().availableProcessors(), maxInFlight);
+            return batchService.analyzeFile(input, output, mode);
+        } catch (Exception e) {
+            String errorMessage = "File analysis failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+            logger.error(errorMessage, e);
+            throw new AnalyzeException(errorMessage, e);
+        }
+    }
+
     /**
      * Generates a sentence based on the specified strategy, input structure, and configuration options.
      *
@@ -122,13 +176,18 @@ public class AppManager {
      * @throws GenerateException If the sentence generation process encounters an error.
      */
     public Sentence generateSentence(String strategyName, String selStructure, boolean toxicity, boolean futureTense, boolean newWords, boolean saveSelected) {
-        logger.info("Starting sentence generation with params [strategy: {}, selStructure: {}, toxicity: {}, futureTense: {}, newWords: {}, saveSelected: {}]", strategyName, selStructure, toxicity, futureTense, newWords, saveSelected);
+        hotPathLogger.info("Starting sentence generation with params [strategy: {}, selStructure: {}, toxicity: {}, futureTense: {}, newWords: {}, saveSelected: {}]", strategyName, selStructure, toxicity, futureTense, newWords, saveSelected);
         try {
             StrategyType strategy = StrategyType.valueOf(strategyName.toUpperCase());
 
             // Input validation  
             logger.debug("Validating input sentence: {}", inputSentence);
-            generateSentenceService.validateInput(inputSentence, newWords, strategy);
+            long validationStart = MetricsManager.getInstance().start();
+            try {
+                generateSentenceService.validateInput(inputSentence, newWords, strategy);
+            } finally {
+                MetricsManager.getInstance().record(MetricsManager.Stage.VALIDATION, validationStart);
+            }
 
             // Set strategies and generate sentence
             logger.debug("Setting structure strategy: {}", strategy);
@@ -147,17 +206,17 @@ public class AppManager {
             if (toxicity) {
                 logger.debug("Moderating sentence for toxicity...");
                 moderationSentenceService.moderateText(outputSentence);
-                logger.info("Toxicity moderation completed.");
+                hotPathLogger.info("Toxicity moderation completed.");
             }
 
             // Save sentence
             if (saveSelected) {
                 String savePath = configManager.getProperty("generated.save.file");
-                FileManager.appendLineToSavingFile(savePath, outputSentence.toString());
-                logger.info("Generated sentence saved to file: {}", savePath);
+                saveSentence(savePath, outputSentence);
+                hotPathLogger.info("Generated sentence saved to file: {}", savePath);
             }
 
-            logger.info("Sentence generation completed successfully.");
+            hotPathLogger.info("Sentence generation completed successfully.");
             return outputSentence;
         } catch (Exception e) {
             String errorMessage = "Sentence generation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
@@ -166,6 +225,300 @@ public class AppManager {
         }
     }
 
+    /**
+     * Generates a batch of sentences in parallel, without touching the UI-bound output sentence.
+     *
+     * <p>The work is split across the common fork-join pool; each worker thread owns its own
+     * {@link GenerateSentenceService}, while moderation requests are coalesced by the shared {@link ModerationBatcher}.
+     * The returned stream is lazy and parallel: sentences are generated as it is consumed,
+     * and {@code forEachOrdered} can be used when the generation order matters. The verb tense of the options
+     * applies to the batch only. Saved sentences are written through the buffered channel of the save file,
+     * which is flushed once the whole batch has been saved, or when the stream is closed.
+     *
+     * @param count   the number of sentences to generate; must not be negative.
+     * @param options the generation options applied to every sentence of the batch.
+     * @return a parallel stream producing {@code count} generated sentences.
+     * @throws GenerateException if the options are invalid, or when a sentence fails while the stream is consumed.
+     */
+    public Stream<Sentence> generateBatch(int count, GenerationOptions options) {
+        logger.info("Starting batch generation of {} sentences with options {}", count, options);
+        try {
+            if (count < 0) {
+                throw new IllegalArgumentException("Batch size cannot be negative: " + count);
+            }
+            if (options == null) {
+                throw new IllegalArgumentException("Generation options cannot be null.");
+            }
+            Sentence batchInput = inputSentence;
+            generateSentenceService.validateInput(batchInput, options.isNewWords(), options.getStrategy());
+
+            // Initialize the shared singletons before fanning out
+            SentenceStructure.getInstance();
+            Noun.getInstance();
+            Adjective.getInstance();
+            Verb.getInstance();
+            TenseStrategy batchTense = Verb.createTenseStrategy(options.isFutureTense());
+
+            String savePath = options.isSaveSelected() ? configManager.getProperty("generated.save.file") : null;
+            // Moderation requests of concurrent workers are coalesced into batches
+            ModerationSentenceService batchModeration = options.isToxicity() ? new ModerationSentenceService(ModerationBatcher.getInstance()) : null;
+            AtomicInteger remainingSaves = new AtomicInteger(count);
+            ThreadLocal<GenerateSentenceService> workerService = ThreadLocal.withInitial(() -> createBatchService(options, batchInput, batchTense));
+
+            Stream<Sentence> batch = batchStream(count,
+                    index -> generateBatchSentence(workerService.get(), batchModeration, index, options, savePath, remainingSaves));
+            // Uno stream interrotto (limit, findFirst) non raggiunge l'ultima frase: la chiusura rende persistenti le righe salvate
+            return savePath == null ? batch : batch.onClose(() -> FileManager.getSavingChannel(savePath).flush());
+        } catch (Exception e) {
+            String errorMessage = "Batch generation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+            logger.error(errorMessage, e);
+            throw new GenerateException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Generates a batch of sentences in parallel in their compact encoded form, for large in-memory runs.
+     *
+     * <p>Every sentence holds only the id of its template and the ids of its words, and is rendered on demand
+     * with {@link EncodedSentence#render()} or {@link EncodedSentence#toSentence()}. The stream behaves as the one
+     * of {@link #generateBatch(int, GenerationOptions)}, and the same seed reproduces the same sentences.
+     * The words are drawn from the vocabularies, so the options must select new words; moderation and saving need
+     * the text of the sentences and are not supported, render the sentences first.
+     *
+     * @param count   the number of sentences to generate; must not be negative.
+     * @param options the generation options applied to every sentence of the batch.
+     * @return a parallel stream producing {@code count} encoded sentences.
+     * @throws GenerateException if the options are invalid, or when a sentence fails while the stream is consumed.
+     */
+    public Stream<EncodedSentence> generateEncodedBatch(int count, GenerationOptions options) {
+        logger.info("Starting encoded batch generation of {} sentences with options {}", count, options);
+        try {
+            if (count < 0) {
+                throw new IllegalArgumentException("Batch size cannot be negative: " + count);
+            }
+            if (options == null) {
+                throw new IllegalArgumentException("Generation options cannot be null.");
+            }
+            if (!options.isNewWords()) {
+                throw new IllegalArgumentException("Encoded sentences draw their words from the vocabularies: new words must be selected.");
+            }
+            if (options.isToxicity() || options.isSaveSelected()) {
+                throw new IllegalArgumentException("Encoded batches cannot be moderated or saved.");
+            }
+            Sentence batchInput = inputSentence;
+            generateSentenceService.validateInput(batchInput, true, options.getStrategy());
+
+            // Initialize the shared singletons before fanning out
+            SentenceStructure.getInstance();
+            Noun.getInstance();
+            Adjective.getInstance();
+            Verb.getInstance();
+            TenseStrategy batchTense = Verb.createTenseStrategy(options.isFutureTense());
+
+            ThreadLocal<GenerateSentenceService> workerService = ThreadLocal.withInitial(() -> createBatchService(options, batchInput, batchTense));
+
+            return batchStream(count, index -> generateEncodedBatchSentence(workerService.get(), index, options));
+        } catch (Exception e) {
+            String errorMessage = "Encoded batch generation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+            logger.error(errorMessage, e);
+            throw new GenerateException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Generates a single encoded sentence of a batch.
+     *
+     * @param service the generation service owned by the current worker thread.
+     * @param index   the position of the sentence in the batch.
+     * @param options the batch generation options.
+     * @return the encoded sentence.
+     * @throws GenerateException if the sentence cannot be generated.
+     */
+    private EncodedSentence generateEncodedBatchSentence(GenerateSentenceService service, int index, GenerationOptions options) {
+        RandomManager.SeedScope seedScope = seedTask(options, index);
+        try {
+            return service.generateEncodedSentence();
+        } catch (Exception e) {
+            String errorMessage = "Encoded batch sentence generation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+            logger.error(errorMessage, e);
+            throw new GenerateException(errorMessage, e);
+        } finally {
+            seedScope.close();
+        }
+    }
+
+    /**
+     * Reseeds the generator of the current thread for a sentence of a seeded batch, so that the sentence
+     * does not depend on the thread generating it.
+     *
+     * @param options the batch generation options.
+     * @param index   the position of the sentence in the batch.
+     * @return the scope restoring the previous generator of the thread; it does nothing if the batch is not seeded.
+     */
+    private static RandomManager.SeedScope seedTask(GenerationOptions options, int index) {
+        return options.getSeed() == null ? RandomManager.keepCurrentThread()
+                : RandomManager.reseedCurrentThread(RandomManager.mixSeed(options.getSeed(), index));
+    }
+
+    /**
+     * Creates a generation service configured with the batch options, owned by a single worker thread.
+     *
+     * @param options    the batch generation options.
+     * @param batchInput the analyzed sentence captured when the batch started, or null.
+     * @param batchTense the verb tense of the batch, not shared with the rest of the application.
+     * @return a configured GenerateSentenceService.
+     */
+    private GenerateSentenceService createBatchService(GenerationOptions options, Sentence batchInput, TenseStrategy batchTense) {
+        GenerateSentenceService service = new GenerateSentenceService();
+        service.setStructureSentenceStrategy(options.getStrategy(), batchInput, options.getSelectedStructure());
+        service.configureWordStrategy(options.isNewWords(), batchInput, batchTense);
+        return service;
+    }
+
+    /**
+     * Creates the lazy parallel stream of a batch, generating the element of every index as it is consumed.
+     * The indexes come from an {@link UnsizedSpliterator}, so that terminal operations such as {@code count()}
+     * generate every element instead of computing the count from the size.
+     *
+     * @param <T>       the type of the generated elements.
+     * @param count     the number of elements.
+     * @param generator generates the element of an index.
+     * @return a parallel stream producing {@code count} elements.
+     */
+    private static <T> Stream<T> batchStream(int count, IntFunction<T> generator) {
+        return StreamSupport.intStream(new UnsizedSpliterator(IntStream.range(0, count).spliterator()), true)
+                .mapToObj(generator);
+    }
+
+    /**
+     * Spliterator of the indexes of a batch that splits like its source but does not report an exact size.
+     */
+    private static final class UnsizedSpliterator implements Spliterator.OfInt {
+        /**
+         * The sized spliterator of the indexes.
+         */
+        private final Spliterator.OfInt source;
+
+        /**
+         * Wraps a spliterator of indexes.
+         *
+         * @param source the sized spliterator of the indexes.
+         */
+        private UnsizedSpliterator(Spliterator.OfInt source) {
+            this.source = source;
+        }
+
+        /**
+         * Passes the next index to the action.
+         *
+         * @param action the consumer of the index.
+         * @return false if no index remains.
+         */
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            return source.tryAdvance(action);
+        }
+
+        /**
+         * Passes every remaining index to the action.
+         *
+         * @param action the consumer of the indexes.
+         */
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            source.forEachRemaining(action);
+        }
+
+        /**
+         * Splits off a prefix of the indexes, for another worker.
+         *
+         * @return the spliterator of the prefix, or null if the indexes cannot be split.
+         */
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator.OfInt prefix = source.trySplit();
+            return prefix == null ? null : new UnsizedSpliterator(prefix);
+        }
+
+        /**
+         * Estimates the number of remaining indexes.
+         *
+         * @return the estimated number of indexes.
+         */
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        /**
+         * Reports the characteristics of the source, except the exact sizes and the sort order,
+         * whose comparator is not exposed.
+         *
+         * @return the characteristics without SIZED, SUBSIZED and SORTED.
+         */
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED);
+        }
+    }
+
+    /**
+     * Generates, moderates and optionally saves a single sentence of a batch.
+     *
+     * @param service        the generation service owned by the current worker thread.
+     * @param moderation     the moderation service shared by the batch, or null if moderation is disabled.
+     * @param index          the position of the sentence in the batch.
+     * @param options        the batch generation options.
+     * @param savePath       the save file path, or null if saving is disabled.
+     * @param remainingSaves the number of sentences of the batch not saved yet; the save file is flushed when it reaches 0.
+     * @return the generated sentence.
+     * @throws GenerateException if the sentence cannot be generated.
+     */
+    private Sentence generateBatchSentence(GenerateSentenceService service, ModerationSentenceService moderation, int index, GenerationOptions options, String savePath, AtomicInteger remainingSaves) {
+        RandomManager.SeedScope seedScope = seedTask(options, index);
+        try {
+            Sentence sentence = service.generateSentence();
+            if (moderation != null) {
+                moderation.moderateText(sentence);
+            }
+            if (savePath != null) {
+                // Il canale raggruppa le scritture; l'ultima frase del batch le rende persistenti.
+                long saveStart = MetricsManager.getInstance().start();
+                try {
+                    FileManager.appendLineToSavingChannel(savePath, sentence.toString());
+                    if (remainingSaves.decrementAndGet() == 0) {
+                        FileManager.getSavingChannel(savePath).flush();
+                    }
+                } finally {
+                    MetricsManager.getInstance().record(MetricsManager.Stage.SAVE, saveStart);
+                }
+            }
+            return sentence;
+        } catch (Exception e) {
+            String errorMessage = "Batch sentence generation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+            logger.error(errorMessage, e);
+            throw new GenerateException(errorMessage, e);
+        } finally {
+            seedScope.close();
+        }
+    }
+
+    /**
+     * Saves a sentence to a save file and commits it immediately, timing the {@code save} stage.
+     *
+     * @param savePath the path of the save file.
+     * @param sentence the sentence to save.
+     * @throws RuntimeException if the file cannot be written.
+     */
+    private void saveSentence(String savePath, Sentence sentence) {
+        long start = MetricsManager.getInstance().start();
+        try {
+            FileManager.appendLineToSavingChannel(savePath, sentence.toString());
+            FileManager.getSavingChannel(savePath).flush();
+        } finally {
+            MetricsManager.getInstance().record(MetricsManager.Stage.SAVE, start);
+        }
+    }
 
     /**
      * Resets the input and output sentences to a null state.
@@ -0,0 +1,207 @@
+package unipd.edids.logicBusiness;
+
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+
+/**
+ * Groups the options that drive a sentence generation job.
+ *
+ * <p>Responsibilities:
+ * - Carries the structure strategy, the selected structure and the word, tense, moderation and saving flags.
+ * - Lets headless callers describe a whole batch once instead of passing the flags per sentence.
+ *
+ * <p>Design Pattern:
+ * - Fluent setters returning {@code this}, in the same style as {@link unipd.edids.logicBusiness.services.APIClient}.
+ */
+public class GenerationOptions {
+
+    /**
+     * Strategy used to determine the structure of each generated sentence.
+     */
+    private StrategyType strategy = StrategyType.RANDOM;
+
+    /**
+     * Structure used when the strategy is {@link StrategyType#SELECTED}.
+     */
+    private String selectedStructure;
+
+    /**
+     * Whether each generated sentence is moderated for toxicity.
+     */
+    private boolean toxicity;
+
+    /**
+     * Whether verbs are conjugated in the future tense.
+     */
+    private boolean futureTense;
+
+    /**
+     * Whether new words are drawn from the vocabulary instead of reusing the analyzed ones.
+     */
+    private boolean newWords = true;
+
+    /**
+     * Whether each generated sentence is appended to the generated save file.
+     */
+    private boolean saveSelected;
+
+    /**
+     * Seed making the batch reproducible, or null for a non-deterministic batch.
+     */
+    private Long seed;
+
+    /**
+     * Sets the structure strategy.
+     *
+     * @param strategy the strategy to use; must not be null.
+     * @return the current instance for method chaining.
+     * @throws IllegalArgumentException if the strategy is null.
+     */
+    public GenerationOptions setStrategy(StrategyType strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null.");
+        }
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * Sets the structure used by the SELECTED strategy.
+     *
+     * @param selectedStructure the structure to use.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setSelectedStructure(String selectedStructure) {
+        this.selectedStructure = selectedStructure;
+        return this;
+    }
+
+    /**
+     * Enables or disables toxicity moderation.
+     *
+     * @param toxicity true to moderate each generated sentence.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setToxicity(boolean toxicity) {
+        this.toxicity = toxicity;
+        return this;
+    }
+
+    /**
+     * Enables or disables the future tense.
+     *
+     * @param futureTense true to conjugate verbs in the future tense.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setFutureTense(boolean futureTense) {
+        this.futureTense = futureTense;
+        return this;
+    }
+
+    /**
+     * Enables or disables the use of new words.
+     *
+     * @param newWords true to draw new words from the vocabulary.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setNewWords(boolean newWords) {
+        this.newWords = newWords;
+        return this;
+    }
+
+    /**
+     * Enables or disables saving of the generated sentences.
+     *
+     * @param saveSelected true to append each sentence to the generated save file.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setSaveSelected(boolean saveSelected) {
+        this.saveSelected = saveSelected;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the batch. With the same seed, options and vocabulary, a batch
+     * produces the same sentence at each index, whatever thread generates it.
+     *
+     * @param seed the seed to use, or null for a non-deterministic batch.
+     * @return the current instance for method chaining.
+     */
+    public GenerationOptions setSeed(Long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Retrieves the structure strategy.
+     *
+     * @return the strategy type.
+     */
+    public StrategyType getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Retrieves the structure used by the SELECTED strategy.
+     *
+     * @return the selected structure, or null if none was set.
+     */
+    public String getSelectedStructure() {
+        return selectedStructure;
+    }
+
+    /**
+     * Indicates whether toxicity moderation is enabled.
+     *
+     * @return true if each sentence is moderated.
+     */
+    public boolean isToxicity() {
+        return toxicity;
+    }
+
+    /**
+     * Indicates whether the future tense is enabled.
+     *
+     * @return true if verbs are conjugated in the future tense.
+     */
+    public boolean isFutureTense() {
+        return futureTense;
+    }
+
+    /**
+     * Indicates whether new words are used.
+     *
+     * @return true if new words are drawn from the vocabulary.
+     */
+    public boolean isNewWords() {
+        return newWords;
+    }
+
+    /**
+     * Indicates whether generated sentences are saved.
+     *
+     * @return true if each sentence is appended to the generated save file.
+     */
+    public boolean isSaveSelected() {
+        return saveSelected;
+    }
+
+    /**
+     * Retrieves the seed of the batch.
+     *
+     * @return the seed, or null if the batch is not reproducible.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns a readable representation of the options, used for logging.
+     *
+     * @return the options as a string.
+     */
+    @Override
+    public String toString() {
+        return "[strategy: " + strategy + ", selStructure: " + selectedStructure + ", toxicity: " + toxicity
+                + ", futureTense: " + futureTense + ", newWords: " + newWords + ", saveSelected: " + saveSelected + ", seed: " + seed + "]";
+    }
+}
@@ -0,0 +1,173 @@
+package unipd.edids.logicBusiness.caches;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caches the moderation confidences returned by the Google Natural Language API for generated sentences.
+ *
+ * <p>Responsibilities:
+ * - Stores the five confidences used by the moderation service (toxic, profanity, insult, sexual, politics)
+ *   for each sentence text, so that repeated sentences are not moderated again.
+ * - Persists the confidences to a compact local file, so that the cache stays warm across restarts.
+ * - Rebuilds the cache when its configuration changes.
+ *
+ * <p>Configuration keys:
+ * - {@code moderation.cache.size}: maximum number of sentences kept in memory.
+ * - {@code moderation.cache.ttl.minutes}: time-to-live of the confidences; 0 disables expiration.
+ * - {@code moderation.cache.persist}: whether confidences are persisted.
+ * - {@code moderation.cache.file}: the persistence file.
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single cache is shared by all the moderation services.
+ * - Observer: implements ConfigObserver to react to configuration changes.
+ */
+public class ModerationCache implements ConfigObserver {
+    /**
+     * Logger instance for logging ModerationCache operations.
+     */
+    private static final Logger logger = LogManager.getLogger(ModerationCache.class);
+
+    /**
+     * Prefix shared by the configuration keys of this cache.
+     */
+    private static final String CONFIG_PREFIX = "moderation.cache.";
+
+    /**
+     * Singleton instance of the ModerationCache.
+     */
+    private static volatile ModerationCache instance;
+
+    /**
+     * Number of confidences stored for each sentence.
+     */
+    public static final int CONFIDENCE_COUNT = 5;
+
+    /**
+     * Codec storing the confidences as the Base64 encoding of their raw float bits (28 characters per sentence).
+     */
+    static final ResultCache.Codec<float[]> CODEC = new ResultCache.Codec<>() {
+        @Override
+        public String encode(float[] value) {
+            ByteBuffer buffer = ByteBuffer.allocate(Float.BYTES * value.length);
+            for (float confidence : value) {
+                buffer.putFloat(confidence);
+            }
+            return Base64.getEncoder().encodeToString(buffer.array());
+        }
+
+        @Override
+        public float[] decode(String data) {
+            byte[] bytes = Base64.getDecoder().decode(data);
+            if (bytes.length != Float.BYTES * CONFIDENCE_COUNT) {
+                throw new IllegalArgumentException("Malformed moderation cache entry");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            float[] value = new float[CONFIDENCE_COUNT];
+            for (int i = 0; i < value.length; i++) {
+                value[i] = buffer.getFloat();
+            }
+            return value;
+        }
+    };
+
+    /**
+     * The underlying cache, replaced as a whole when the configuration changes.
+     */
+    private volatile ResultCache<float[]> cache;
+
+    /**
+     * Private constructor, builds the cache from the current configuration and observes its changes.
+     */
+    private ModerationCache() {
+        cache = createCache();
+        ConfigManager.getInstance().addObserver(this);
+    }
+
+    /**
+     * Retrieves the singleton instance of the ModerationCache.
+     *
+     * @return the shared ModerationCache.
+     */
+    public static ModerationCache getInstance() {
+        if (instance == null) {
+            synchronized (ModerationCache.class) {
+                if (instance == null) {
+                    instance = new ModerationCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Builds a cache from the current configuration.
+     *
+     * @return the configured cache.
+     */
+    private static ResultCache<float[]> createCache() {
+        ConfigManager config = ConfigManager.getInstance();
+        int size = config.getInt(CONFIG_PREFIX + "size", 4096);
+        long ttlMinutes = config.getLong(CONFIG_PREFIX + "ttl.minutes", 10080);
+        boolean persist = config.getBoolean(CONFIG_PREFIX + "persist", true);
+        String file = persist ? config.getProperty(CONFIG_PREFIX + "file", "logs/cache/moderation.cache") : null;
+        logger.info("Moderation cache configured with size {}, ttl {} minutes, persistence file {}", size, ttlMinutes, file);
+        return new ResultCache<>("moderation", size, Duration.ofMinutes(ttlMinutes), CODEC, file);
+    }
+
+    /**
+     * Retrieves the moderation confidences of a sentence, calling the API only on a cache miss.
+     * The returned array is shared with the cache and must not be modified.
+     *
+     * @param text   the sentence text to moderate.
+     * @param loader the function performing the API call on a miss.
+     * @return the cached or freshly fetched confidences.
+     */
+    public float[] get(String text, Function<String, float[]> loader) {
+        return cache.get(text, loader);
+    }
+
+    /**
+     * Retrieves the underlying cache, e.g. to read its statistics.
+     *
+     * @return the current cache.
+     */
+    public ResultCache<float[]> getCache() {
+        return cache;
+    }
+
+    /**
+     * Rebuilds the cache when one of its configuration keys changes.
+     *
+     * @param key   the configuration key that has changed.
+     * @param value the new value of the key.
+     */
+    @Override
+    public void onConfigChange(String key, String value) {
+        if (key.startsWith(CONFIG_PREFIX)) {
+            logger.info("Moderation cache configuration changed: {} = {}", key, value);
+            cache = createCache();
+        }
+    }
+
+    /**
+     * Rebuilds the cache once when any of its configuration keys changes in a configuration update.
+     *
+     * @param changes the changed configuration keys with their new values.
+     */
+    @Override
+    public void onConfigChange(Map<String, String> changes) {
+        if (changes.keySet().stream().anyMatch(key -> key.startsWith(CONFIG_PREFIX))) {
+            logger.info("Moderation cache configuration changed: {}", changes.keySet());
+            cache = createCache();
+        }
+    }
+}
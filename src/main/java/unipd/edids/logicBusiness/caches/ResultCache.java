@@ -0,0 +1,432 @@
+package unipd.edids.logicBusiness.caches;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.managers.FileManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of API results keyed by the hash of the normalized request text.
+ *
+ * <p>Responsibilities:
+ * - Keeps at most a fixed number of results, evicting the least recently used one when full.
+ * - Expires results after a time-to-live, so that stale answers are eventually refreshed.
+ * - Optionally persists results to an append-only local file, through a buffered saving channel,
+ *   and reloads them on startup.
+ * - Counts hits and misses.
+ *
+ * <p>Persistence format: one line per stored result, {@code key<TAB>expiresAt<TAB>payload},
+ * where the payload is produced by the cache {@link Codec}. Later lines override earlier ones;
+ * the file is compacted on load and while running whenever it grows beyond twice the cache size.
+ *
+ * <p>Design Pattern:
+ * - Strategy: the {@link Codec} decides how results are serialized for persistence.
+ *
+ * @param <V> the type of the cached results.
+ */
+public class ResultCache<V> {
+    /**
+     * Logger instance for logging cache operations.
+     */
+    private static final Logger logger = LogManager.getLogger(ResultCache.class);
+
+    /**
+     * Separator between the fields of a persisted line.
+     */
+    private static final char FIELD_SEPARATOR = '\t';
+
+    /**
+     * Pattern matching runs of whitespace, collapsed to a single space during normalization.
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Converts cached results to and from the single-line text stored in the persistence file.
+     *
+     * @param <V> the type of the cached results.
+     */
+    public interface Codec<V> {
+        /**
+         * Encodes a result into a single line of text without tabs or line terminators.
+         *
+         * @param value the result to encode.
+         * @return the encoded result.
+         */
+        String encode(V value);
+
+        /**
+         * Decodes a result previously produced by {@link #encode(Object)}.
+         *
+         * @param data the encoded result.
+         * @return the decoded result.
+         * @throws IllegalArgumentException if the data is malformed.
+         */
+        V decode(String data);
+    }
+
+    /**
+     * A cached result along with its expiration time in epoch milliseconds.
+     */
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * Name of the cache, used in log messages.
+     */
+    private final String name;
+
+    /**
+     * Maximum number of results kept in memory.
+     */
+    private final int maxEntries;
+
+    /**
+     * Time-to-live of the results in milliseconds; zero or negative disables expiration.
+     */
+    private final long ttlMillis;
+
+    /**
+     * Codec used to persist the results.
+     */
+    private final Codec<V> codec;
+
+    /**
+     * Path of the persistence file, or null if the cache is kept in memory only.
+     */
+    private final String persistFile;
+
+    /**
+     * Results in least-recently-used order; guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Entry<V>> entries;
+
+    /**
+     * Lock serializing the writes to the persistence file.
+     */
+    private final Object persistLock = new Object();
+
+    /**
+     * Number of lines in the persistence file, buffered ones included; guarded by {@code persistLock}.
+     */
+    private long persistedLines;
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Number of lookups that had to compute the result.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache and, when a persistence file is given, reloads the results stored in it.
+     *
+     * @param name        the name of the cache, used in log messages.
+     * @param maxEntries  the maximum number of results kept; must be positive.
+     * @param ttl         the time-to-live of the results; null, zero or negative disables expiration.
+     * @param codec       the codec used to persist the results; required when a persistence file is given.
+     * @param persistFile the path of the persistence file, or null to keep the results in memory only.
+     * @throws IllegalArgumentException if the size is not positive or a persistence file is given without a codec.
+     */
+    public ResultCache(String name, int maxEntries, Duration ttl, Codec<V> codec, String persistFile) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        if (persistFile != null && codec == null) {
+            throw new IllegalArgumentException("A codec is required to persist the cache " + name);
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl == null ? 0 : ttl.toMillis();
+        this.codec = codec;
+        this.persistFile = persistFile;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > ResultCache.this.maxEntries;
+            }
+        };
+        if (persistFile != null) {
+            loadPersisted();
+        }
+    }
+
+    /**
+     * Computes the cache key of a text: the SHA-256 hash of the text after Unicode normalization,
+     * trimming and collapsing of whitespace runs, so that equivalent requests share a key.
+     *
+     * @param text the request text.
+     * @return the hexadecimal key of the text.
+     */
+    public static String keyOf(String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).strip()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Retrieves the cached result of a text, computing and storing it on a miss.
+     * The loader runs outside the cache lock, so slow requests do not block other lookups.
+     *
+     * @param text   the request text.
+     * @param loader the function computing the result of the text on a miss.
+     * @return the cached or freshly computed result.
+     */
+    public V get(String text, Function<String, V> loader) {
+        String key = keyOf(text);
+        V cached = getByKey(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            logger.debug("Cache {} hit for key {}", name, key);
+            return cached;
+        }
+        misses.incrementAndGet();
+        logger.debug("Cache {} miss for key {}", name, key);
+        V value = loader.apply(text);
+        if (value != null) {
+            putByKey(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the cached result of a text without computing it.
+     *
+     * @param text the request text.
+     * @return the cached result, or null if it is missing or expired.
+     */
+    public V getIfPresent(String text) {
+        return getByKey(keyOf(text));
+    }
+
+    /**
+     * Stores the result of a text, replacing any previous one.
+     *
+     * @param text  the request text.
+     * @param value the result to store; must not be null.
+     */
+    public void put(String text, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot cache a null result.");
+        }
+        putByKey(keyOf(text), value);
+    }
+
+    /**
+     * Looks up a key, discarding the result if it has expired.
+     *
+     * @param key the cache key.
+     * @return the cached result, or null if it is missing or expired.
+     */
+    private synchronized V getByKey(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Stores a result under a key and appends it to the persistence file, if any.
+     *
+     * @param key   the cache key.
+     * @param value the result to store.
+     */
+    private void putByKey(String key, V value) {
+        Entry<V> entry = new Entry<>(value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        if (persistFile != null) {
+            persist(key, entry);
+        }
+    }
+
+    /**
+     * Appends a result to the persistence file through its buffered saving channel, compacting the file
+     * once it holds more than twice as many lines as the cache. Failures are logged and do not affect the cached result.
+     *
+     * @param key   the cache key.
+     * @param entry the entry to persist.
+     */
+    private void persist(String key, Entry<V> entry) {
+        try {
+            String line = key + FIELD_SEPARATOR + entry.expiresAt() + FIELD_SEPARATOR + codec.encode(entry.value());
+            synchronized (persistLock) {
+                FileManager.appendLineToSavingChannel(persistFile, line);
+                if (++persistedLines > 2L * maxEntries) {
+                    compact(Paths.get(persistFile));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Cache {}: failed to persist entry to {}: {}", name, persistFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the results stored in the persistence file, skipping expired and malformed lines,
+     * and compacts the file when it contains many more lines than the cache can hold.
+     * Lines still buffered by another cache on the same file are flushed first.
+     */
+    private void loadPersisted() {
+        Path path = Paths.get(persistFile);
+        FileManager.closeSavingChannel(persistFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            if (Files.notExists(path)) {
+                return;
+            }
+        } catch (IOException e) {
+            logger.warn("Cache {}: cannot prepare persistence file {}: {}", name, persistFile, e.getMessage());
+            return;
+        }
+
+        List<String> lines;
+        try {
+            lines = FileManager.readFile(persistFile);
+        } catch (RuntimeException e) {
+            logger.warn("Cache {}: cannot read persistence file {}: {}", name, persistFile, e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int skipped = 0;
+        synchronized (this) {
+            for (String line : lines) {
+                int first = line.indexOf(FIELD_SEPARATOR);
+                int second = first < 0 ? -1 : line.indexOf(FIELD_SEPARATOR, first + 1);
+                if (second < 0) {
+                    skipped++;
+                    continue;
+                }
+                try {
+                    long expiresAt = Long.parseLong(line.substring(first + 1, second));
+                    if (expiresAt <= now) {
+                        skipped++;
+                        continue;
+                    }
+                    V value = codec.decode(line.substring(second + 1));
+                    entries.put(line.substring(0, first), new Entry<>(value, expiresAt));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+        }
+        logger.info("Cache {}: reloaded {} entries from {} ({} lines skipped)", name, size(), persistFile, skipped);
+
+        synchronized (persistLock) {
+            persistedLines = lines.size();
+            if (lines.size() > 2 * maxEntries || skipped > maxEntries) {
+                compact(path);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the persistence file with the current results only. The saving channel of the file is closed first,
+     * so that its buffered lines are not lost and the next append opens the rewritten file; the caller holds
+     * {@code persistLock}.
+     *
+     * @param path the persistence file.
+     */
+    private void compact(Path path) {
+        List<String> lines = new ArrayList<>();
+        synchronized (this) {
+            entries.forEach((key, entry) -> lines.add(key + FIELD_SEPARATOR + entry.expiresAt() + FIELD_SEPARATOR + codec.encode(entry.value())));
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            FileManager.closeSavingChannel(persistFile);
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            persistedLines = lines.size();
+            logger.info("Cache {}: compacted {} to {} entries", name, persistFile, lines.size());
+        } catch (IOException e) {
+            logger.warn("Cache {}: failed to compact {}: {}", name, persistFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether an entry has expired.
+     *
+     * @param entry the entry to check.
+     * @param now   the current time in epoch milliseconds.
+     * @return true if the entry has expired.
+     */
+    private boolean isExpired(Entry<V> entry, long now) {
+        return entry.expiresAt() <= now;
+    }
+
+    /**
+     * Removes all results from memory. The persistence file is left untouched.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the number of results currently held in memory.
+     *
+     * @return the number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the number of lookups answered from the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieves the number of lookups that had to compute the result.
+     *
+     * @return the miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Retrieves the path of the persistence file.
+     *
+     * @return the persistence file, or null if the cache is kept in memory only.
+     */
+    public String getPersistFile() {
+        return persistFile;
+    }
+}
@@ -0,0 +1,158 @@
+package unipd.edids.logicBusiness.caches;
+
+import com.google.cloud.language.v1.AnalyzeSyntaxResponse;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caches the syntax analysis results returned by the Google Natural Language API.
+ *
+ * <p>Responsibilities:
+ * - Answers repeated syntax requests for the same normalized text without a network round trip.
+ * - Persists the responses to a local file, so that the cache stays warm across restarts.
+ * - Rebuilds the cache when its configuration changes.
+ *
+ * <p>Configuration keys:
+ * - {@code syntax.cache.size}: maximum number of responses kept in memory.
+ * - {@code syntax.cache.ttl.minutes}: time-to-live of a response; 0 disables expiration.
+ * - {@code syntax.cache.persist}: whether responses are persisted.
+ * - {@code syntax.cache.file}: the persistence file.
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single cache is shared by all the analysis services.
+ * - Observer: implements ConfigObserver to react to configuration changes.
+ */
+public class SyntaxCache implements ConfigObserver {
+    /**
+     * Logger instance for logging SyntaxCache operations.
+     */
+    private static final Logger logger = LogManager.getLogger(SyntaxCache.class);
+
+    /**
+     * Prefix shared by the configuration keys of this cache.
+     */
+    private static final String CONFIG_PREFIX = "syntax.cache.";
+
+    /**
+     * Singleton instance of the SyntaxCache.
+     */
+    private static volatile SyntaxCache instance;
+
+    /**
+     * Codec storing a response as the Base64 encoding of its protocol buffer bytes.
+     */
+    static final ResultCache.Codec<AnalyzeSyntaxResponse> CODEC = new ResultCache.Codec<>() {
+        @Override
+        public String encode(AnalyzeSyntaxResponse value) {
+            return Base64.getEncoder().encodeToString(value.toByteArray());
+        }
+
+        @Override
+        public AnalyzeSyntaxResponse decode(String data) {
+            try {
+                return AnalyzeSyntaxResponse.parseFrom(Base64.getDecoder().decode(data));
+            } catch (InvalidProtocolBufferException e) {
+                throw new IllegalArgumentException("Malformed syntax cache entry", e);
+            }
+        }
+    };
+
+    /**
+     * The underlying cache, replaced as a whole when the configuration changes.
+     */
+    private volatile ResultCache<AnalyzeSyntaxResponse> cache;
+
+    /**
+     * Private constructor, builds the cache from the current configuration and observes its changes.
+     */
+    private SyntaxCache() {
+        cache = createCache();
+        ConfigManager.getInstance().addObserver(this);
+    }
+
+    /**
+     * Retrieves the singleton instance of the SyntaxCache.
+     *
+     * @return the shared SyntaxCache.
+     */
+    public static SyntaxCache getInstance() {
+        if (instance == null) {
+            synchronized (SyntaxCache.class) {
+                if (instance == null) {
+                    instance = new SyntaxCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Builds a cache from the current configuration.
+     *
+     * @return the configured cache.
+     */
+    private static ResultCache<AnalyzeSyntaxResponse> createCache() {
+        ConfigManager config = ConfigManager.getInstance();
+        int size = config.getInt(CONFIG_PREFIX + "size", 1024);
+        long ttlMinutes = config.getLong(CONFIG_PREFIX + "ttl.minutes", 1440);
+        boolean persist = config.getBoolean(CONFIG_PREFIX + "persist", true);
+        String file = persist ? config.getProperty(CONFIG_PREFIX + "file", "logs/cache/syntax.cache") : null;
+        logger.info("Syntax cache configured with size {}, ttl {} minutes, persistence file {}", size, ttlMinutes, file);
+        return new ResultCache<>("syntax", size, Duration.ofMinutes(ttlMinutes), CODEC, file);
+    }
+
+    /**
+     * Retrieves the syntax analysis of a text, calling the API only on a cache miss.
+     *
+     * @param text   the text to analyze.
+     * @param loader the function performing the API call on a miss.
+     * @return the cached or freshly fetched response.
+     */
+    public AnalyzeSyntaxResponse get(String text, Function<String, AnalyzeSyntaxResponse> loader) {
+        return cache.get(text, loader);
+    }
+
+    /**
+     * Retrieves the underlying cache, e.g. to read its statistics.
+     *
+     * @return the current cache.
+     */
+    public ResultCache<AnalyzeSyntaxResponse> getCache() {
+        return cache;
+    }
+
+    /**
+     * Rebuilds the cache when one of its configuration keys changes.
+     *
+     * @param key   the configuration key that has changed.
+     * @param value the new value of the key.
+     */
+    @Override
+    public void onConfigChange(String key, String value) {
+        if (key.startsWith(CONFIG_PREFIX)) {
+            logger.info("Syntax cache configuration changed: {} = {}", key, value);
+            cache = createCache();
+        }
+    }
+
+    /**
+     * Rebuilds the cache once when any of its configuration keys changes in a configuration update.
+     *
+     * @param changes the changed configuration keys with their new values.
+     */
+    @Override
+    public void onConfigChange(Map<String, String> changes) {
+        if (changes.keySet().stream().anyMatch(key -> key.startsWith(CONFIG_PREFIX))) {
+            logger.info("Syntax cache configuration changed: {}", changes.keySet());
+            cache = createCache();
+        }
+    }
+}
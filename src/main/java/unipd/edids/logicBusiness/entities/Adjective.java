@@ -23,7 +23,7 @@ public class Adjective extends Word implements ConfigObserver {
     /**
      * Singleton instance of the Adjective class shared across the application.
      */
-    private static Adjective instance;
+    private static volatile Adjective instance;
 
 
     /**
@@ -44,7 +44,11 @@ public class Adjective extends Word implements ConfigObserver {
      */
     public static Adjective getInstance() {
         if (instance == null) {
-            instance = new Adjective();
+            synchronized (Adjective.class) {
+                if (instance == null) {
+                    instance = new Adjective();
+                }
+            }
         }
         return instance;
     }
@@ -59,8 +63,7 @@ public class Adjective extends Word implements ConfigObserver {
     @Override
     public void onConfigChange(String key, String value) {
         if ("adjective.file".equals(key)) {
-            this.filePath = value;
-            loadWords(this.filePath);
+            reloadFrom(value);
         }
     }
 
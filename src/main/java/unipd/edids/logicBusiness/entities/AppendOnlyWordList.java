@@ -0,0 +1,104 @@
+package unipd.edids.logicBusiness.entities;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable word list that can be extended in amortized constant time per appended word.
+ *
+ * <p>Responsibilities:
+ * - Lets {@link Word} publish a new snapshot with the appended words without copying the existing ones.
+ * - Keeps every published snapshot unchanged: successive snapshots share a backing array, and each one
+ *   only reads the slots below its own size, while appends only write the slots above the latest size.
+ *
+ * <p>Thread safety:
+ * - Appends must be serialized by the caller, and always extend the latest snapshot to reuse its array;
+ *   appending to an older snapshot copies the array. Snapshots must be published through a volatile
+ *   reference, so that readers see the slots written before the publication.
+ */
+final class AppendOnlyWordList extends AbstractList<String> implements RandomAccess {
+    /**
+     * Minimum capacity of a new backing array.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Backing array, possibly shared with older and newer snapshots.
+     */
+    private final String[] array;
+
+    /**
+     * Number of words visible in this snapshot.
+     */
+    private final int size;
+
+    /**
+     * Number of slots of the backing array in use by the latest snapshot, shared by all the snapshots of the array.
+     */
+    private final int[] used;
+
+    /**
+     * Creates a snapshot over a backing array.
+     *
+     * @param array the backing array.
+     * @param size  the number of visible words.
+     * @param used  the shared number of slots in use.
+     */
+    private AppendOnlyWordList(String[] array, int size, int[] used) {
+        this.array = array;
+        this.size = size;
+        this.used = used;
+    }
+
+    /**
+     * Returns a snapshot containing the words of a list followed by the new words.
+     * When the list is the latest snapshot of its backing array and the array has room,
+     * only the new words are written.
+     *
+     * @param list     the current snapshot.
+     * @param newWords the words to append.
+     * @return the new snapshot.
+     */
+    static AppendOnlyWordList append(List<String> list, List<String> newWords) {
+        int needed = list.size() + newWords.size();
+        if (list instanceof AppendOnlyWordList current && current.used[0] == current.size && needed <= current.array.length) {
+            for (int i = 0; i < newWords.size(); i++) {
+                current.array[current.size + i] = newWords.get(i);
+            }
+            current.used[0] = needed;
+            return new AppendOnlyWordList(current.array, needed, current.used);
+        }
+        String[] array = Arrays.copyOf(list.toArray(new String[0]), Math.max(MIN_CAPACITY, needed + (needed >> 1)));
+        for (int i = 0; i < newWords.size(); i++) {
+            array[list.size() + i] = newWords.get(i);
+        }
+        return new AppendOnlyWordList(array, needed, new int[]{needed});
+    }
+
+    /**
+     * Retrieves the word at the given index.
+     *
+     * @param index the index of the word.
+     * @return the word.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return array[index];
+    }
+
+    /**
+     * Retrieves the number of words visible in this snapshot.
+     *
+     * @return the size of the snapshot.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,421 @@
+package unipd.edids.logicBusiness.entities;
+
+import unipd.edids.logicBusiness.managers.RandomManager;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compact form of a generated sentence: the id of its template and the ids of its words,
+ * with the text rendered only on demand.
+ *
+ * <p>Responsibilities:
+ * - Stores a sentence as an interned template id and a small int array, instead of the word lists and
+ *   text buffers of a {@link Sentence}: a five-word sentence takes about 60 bytes instead of several hundred,
+ *   so large in-memory generation runs need an order of magnitude less heap.
+ * - Renders the text, the resolved structure or a full {@link Sentence} when they are requested; nothing is cached.
+ * - Keeps the vocabulary snapshots its ids refer to, so that it renders the same words after the vocabularies are reloaded.
+ *
+ * <p>Encoding: the codes follow the slots of the template in order. A noun, verb or adjective slot holds the index
+ * of the word in its vocabulary, or {@link #UNDEFINED_WORD} if the vocabulary was empty. A sentence slot holds the id
+ * of the nested template followed by the codes of its slots, or {@link #NOUN_FALLBACK} followed by a noun code when
+ * the recursion limit replaced the nested sentence with a noun, as {@code GenerateSentenceService} does.
+ *
+ * <p>Design Pattern:
+ * - Flyweight: templates and vocabularies are shared by every sentence, only the ids belong to the sentence.
+ */
+public final class EncodedSentence {
+    /**
+     * Code of a word drawn from an empty vocabulary, rendered as "undefined" like {@link Word#getRandomWord()} does.
+     */
+    public static final int UNDEFINED_WORD = -1;
+
+    /**
+     * Code of a sentence slot replaced by a noun because the recursion limit was reached.
+     */
+    public static final int NOUN_FALLBACK = -1;
+
+    /**
+     * Text of a word drawn from an empty vocabulary.
+     */
+    private static final String UNDEFINED = "undefined";
+
+    /**
+     * The vocabulary snapshots and the verb tense the word ids refer to.
+     *
+     * @param nouns         the noun snapshot.
+     * @param verbs         the verb snapshot.
+     * @param adjectives    the adjective snapshot.
+     * @param tenseStrategy the strategy conjugating the verbs.
+     */
+    public record Vocabulary(List<String> nouns, List<String> verbs, List<String> adjectives, TenseStrategy tenseStrategy) {
+        /**
+         * The vocabulary returned by the last call to {@link #current()}, reused while the snapshots do not change.
+         */
+        private static volatile Vocabulary last;
+
+        /**
+         * Retrieves the current snapshots of the noun, verb and adjective vocabularies and the current verb tense.
+         * The same instance is returned until one of them changes, so the sentences encoded in the meantime share it.
+         *
+         * @return the current vocabulary.
+         */
+        public static Vocabulary current() {
+            return current(null);
+        }
+
+        /**
+         * Retrieves the current snapshots of the noun, verb and adjective vocabularies with the given verb tense.
+         * The same instance is returned until one of them changes, so the sentences encoded in the meantime share it.
+         *
+         * @param tenseStrategy the strategy conjugating the verbs; null uses the current verb tense.
+         * @return the current vocabulary.
+         */
+        public static Vocabulary current(TenseStrategy tenseStrategy) {
+            Verb verb = Verb.getInstance();
+            if (tenseStrategy == null && verb.getTenseStrategy() == null) {
+                verb.configureVerbTense(false);
+            }
+            List<String> nouns = Noun.getInstance().getWords();
+            List<String> verbs = verb.getWords();
+            List<String> adjectives = Adjective.getInstance().getWords();
+            TenseStrategy tense = tenseStrategy != null ? tenseStrategy : verb.getTenseStrategy();
+            Vocabulary vocabulary = last;
+            if (vocabulary == null || vocabulary.nouns != nouns || vocabulary.verbs != verbs
+                    || vocabulary.adjectives != adjectives || vocabulary.tenseStrategy != tense) {
+                vocabulary = new Vocabulary(nouns, verbs, adjectives, tense);
+                last = vocabulary;
+            }
+            return vocabulary;
+        }
+
+        /**
+         * Retrieves the snapshot of the words of a slot type.
+         *
+         * @param type a noun, verb or adjective slot type.
+         * @return the word snapshot.
+         */
+        private List<String> wordsOf(SentenceTemplate.SlotType type) {
+            return switch (type) {
+                case NOUN, SENTENCE -> nouns;
+                case VERB -> verbs;
+                case ADJECTIVE -> adjectives;
+            };
+        }
+
+        /**
+         * Draws a random word id for a slot type.
+         *
+         * @param type a noun, verb or adjective slot type.
+         * @return the index of the word, or {@link #UNDEFINED_WORD} if the vocabulary is empty.
+         */
+        int pick(SentenceTemplate.SlotType type) {
+            int size = wordsOf(type).size();
+            return size == 0 ? UNDEFINED_WORD : RandomManager.nextIndex(size);
+        }
+
+        /**
+         * Retrieves the text of a word, conjugating verbs with the captured tense.
+         *
+         * @param type a noun, verb or adjective slot type.
+         * @param id   the index of the word, or {@link #UNDEFINED_WORD}.
+         * @return the word.
+         * @throws IndexOutOfBoundsException if the id is not in the snapshot.
+         */
+        String word(SentenceTemplate.SlotType type, int id) {
+            if (id == UNDEFINED_WORD) {
+                return UNDEFINED;
+            }
+            String word = wordsOf(type).get(id);
+            return type == SentenceTemplate.SlotType.VERB ? tenseStrategy.conjugate(word) : word;
+        }
+    }
+
+    /**
+     * The vocabulary the word ids refer to.
+     */
+    private final Vocabulary vocabulary;
+
+    /**
+     * Id of the interned template of the top-level structure.
+     */
+    private final int templateId;
+
+    /**
+     * Word ids and nested template ids, in slot order.
+     */
+    private final int[] codes;
+
+    /**
+     * Private constructor, encoded sentences are created by {@link #encode(String, Supplier, int, Vocabulary)}.
+     *
+     * @param vocabulary the vocabulary the word ids refer to.
+     * @param templateId the id of the top-level template.
+     * @param codes      the codes of the slots.
+     */
+    private EncodedSentence(Vocabulary vocabulary, int templateId, int[] codes) {
+        this.vocabulary = vocabulary;
+        this.templateId = templateId;
+        this.codes = codes;
+    }
+
+    /**
+     * Encodes a new sentence, drawing a random word for every slot and expanding the sentence slots
+     * with the nested structures, up to the recursion limit.
+     *
+     * @param structure         the top-level structure; interned with {@link SentenceTemplate#intern(String)}.
+     * @param nestedStructures  supplies the structure of every expanded sentence slot; the structures are interned.
+     * @param maxRecursionLevel the deepest level whose sentence slots are expanded; 0 replaces every sentence slot with a noun.
+     * @param vocabulary        the vocabulary the words are drawn from.
+     * @return the encoded sentence.
+     * @throws IllegalArgumentException if a structure is null.
+     */
+    public static EncodedSentence encode(String structure, Supplier<String> nestedStructures, int maxRecursionLevel, Vocabulary vocabulary) {
+        int templateId = SentenceTemplate.intern(structure);
+        CodeBuffer buffer = new CodeBuffer(SentenceTemplate.getInterned(templateId).getSlotCount());
+        encodeSlots(SentenceTemplate.getInterned(templateId), 0, maxRecursionLevel, nestedStructures, vocabulary, buffer);
+        return new EncodedSentence(vocabulary, templateId, buffer.toArray());
+    }
+
+    /**
+     * Encodes the slots of a template, expanding its sentence slots depth-first.
+     *
+     * @param template          the template whose slots are encoded.
+     * @param depth             the recursion level of the template, 0 for the top-level structure.
+     * @param maxRecursionLevel the deepest level whose sentence slots are expanded.
+     * @param nestedStructures  supplies the structure of every expanded sentence slot.
+     * @param vocabulary        the vocabulary the words are drawn from.
+     * @param buffer            the buffer the codes are appended to.
+     */
+    private static void encodeSlots(SentenceTemplate template, int depth, int maxRecursionLevel,
+                                    Supplier<String> nestedStructures, Vocabulary vocabulary, CodeBuffer buffer) {
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            SentenceTemplate.SlotType slot = template.getSlot(i);
+            if (slot != SentenceTemplate.SlotType.SENTENCE) {
+                buffer.add(vocabulary.pick(slot));
+            } else if (depth + 1 > maxRecursionLevel) {
+                // Oltre il limite la frase annidata diventa un sostantivo.
+                buffer.add(NOUN_FALLBACK);
+                buffer.add(vocabulary.pick(SentenceTemplate.SlotType.NOUN));
+            } else {
+                int nestedId = SentenceTemplate.intern(nestedStructures.get());
+                buffer.add(nestedId);
+                encodeSlots(SentenceTemplate.getInterned(nestedId), depth + 1, maxRecursionLevel, nestedStructures, vocabulary, buffer);
+            }
+        }
+    }
+
+    /**
+     * Renders the text of the sentence, with its first letter capitalized as in generated sentences.
+     *
+     * @return the text of the sentence.
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder(SentenceTemplate.getInterned(templateId).estimateRenderedLength() + codes.length * 8);
+        decode(text, null, null);
+        return text.toString();
+    }
+
+    /**
+     * Renders the resolved structure of the sentence, with its nested sentences expanded.
+     *
+     * @return the structure, e.g. "[noun] [verb] the [adjective] [noun]".
+     */
+    public String getStructure() {
+        StringBuilder structure = new StringBuilder();
+        decode(null, structure, null);
+        return structure.toString();
+    }
+
+    /**
+     * Decodes the sentence into a full {@link Sentence}, with its text, structure and word lists,
+     * e.g. to show or moderate it.
+     *
+     * @return a new Sentence equivalent to this one.
+     */
+    public Sentence toSentence() {
+        StringBuilder text = new StringBuilder();
+        StringBuilder structure = new StringBuilder();
+        Sentence sentence = new Sentence();
+        decode(text, structure, sentence);
+        sentence.setSentence(text);
+        sentence.setStructure(structure);
+        return sentence;
+    }
+
+    /**
+     * Decodes the sentence into the requested outputs, capitalizing the first letter of the text.
+     *
+     * @param text      receives the text, or null.
+     * @param structure receives the resolved structure, or null.
+     * @param words     receives the words in its lists, or null.
+     */
+    private void decode(StringBuilder text, StringBuilder structure, Sentence words) {
+        int position = decodeSlots(SentenceTemplate.getInterned(templateId), 0, text, structure, words);
+        if (position != codes.length) {
+            throw new IllegalStateException("Corrupted encoded sentence: " + (codes.length - position) + " codes left.");
+        }
+        if (text != null && !text.isEmpty()) {
+            text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        }
+    }
+
+    /**
+     * Decodes the slots of a template, starting from a position of the codes.
+     *
+     * @param template  the template whose slots are decoded.
+     * @param position  the position of the code of the first slot.
+     * @param text      receives the text, or null.
+     * @param structure receives the resolved structure, or null.
+     * @param words     receives the words in its lists, or null.
+     * @return the position following the codes of the template.
+     */
+    private int decodeSlots(SentenceTemplate template, int position, StringBuilder text, StringBuilder structure, Sentence words) {
+        appendLiteral(template.getLiteral(0), text, structure);
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            SentenceTemplate.SlotType slot = template.getSlot(i);
+            int code = codes[position++];
+            if (slot == SentenceTemplate.SlotType.SENTENCE && code != NOUN_FALLBACK) {
+                position = decodeSlots(SentenceTemplate.getInterned(code), position, text, structure, words);
+            } else {
+                if (slot == SentenceTemplate.SlotType.SENTENCE) {
+                    slot = SentenceTemplate.SlotType.NOUN;
+                    code = codes[position++];
+                }
+                appendWord(slot, code, text, structure, words);
+            }
+            appendLiteral(template.getLiteral(i + 1), text, structure);
+        }
+        return position;
+    }
+
+    /**
+     * Appends a literal segment of a template to the requested outputs.
+     *
+     * @param literal   the literal segment.
+     * @param text      receives the text, or null.
+     * @param structure receives the resolved structure, or null.
+     */
+    private static void appendLiteral(String literal, StringBuilder text, StringBuilder structure) {
+        if (text != null) {
+            text.append(literal);
+        }
+        if (structure != null) {
+            structure.append(literal);
+        }
+    }
+
+    /**
+     * Appends a word to the requested outputs.
+     *
+     * @param slot      the noun, verb or adjective slot of the word.
+     * @param code      the id of the word.
+     * @param text      receives the word, or null.
+     * @param structure receives the tag of the slot, or null.
+     * @param words     receives the word in the list of its type, or null.
+     */
+    private void appendWord(SentenceTemplate.SlotType slot, int code, StringBuilder text, StringBuilder structure, Sentence words) {
+        if (structure != null) {
+            structure.append(slot.getTag());
+        }
+        if (text == null && words == null) {
+            return;
+        }
+        String word = vocabulary.word(slot, code);
+        if (text != null) {
+            text.append(word);
+        }
+        if (words != null) {
+            switch (slot) {
+                case NOUN -> words.getNouns().add(word);
+                case VERB -> words.getVerbs().add(word);
+                case ADJECTIVE -> words.getAdjectives().add(word);
+                default -> throw new IllegalStateException("Unexpected slot: " + slot);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the id of the top-level template.
+     *
+     * @return the id, to pass to {@link SentenceTemplate#getInterned(int)}.
+     */
+    public int getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Retrieves a copy of the codes of the sentence.
+     *
+     * @return the word ids and nested template ids, in slot order.
+     */
+    public int[] getCodes() {
+        return codes.clone();
+    }
+
+    /**
+     * Retrieves the vocabulary the word ids refer to.
+     *
+     * @return the vocabulary.
+     */
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Returns the rendered text of the sentence.
+     *
+     * @return the text of the sentence.
+     */
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    /**
+     * Growable buffer of the codes of a sentence being encoded.
+     */
+    private static final class CodeBuffer {
+        /**
+         * The codes appended so far, followed by free space.
+         */
+        private int[] codes;
+
+        /**
+         * Number of codes appended so far.
+         */
+        private int length;
+
+        /**
+         * Creates a buffer.
+         *
+         * @param capacity the expected number of codes.
+         */
+        private CodeBuffer(int capacity) {
+            codes = new int[Math.max(capacity, 4)];
+        }
+
+        /**
+         * Appends a code, growing the buffer if it is full.
+         *
+         * @param code the code to append.
+         */
+        private void add(int code) {
+            if (length == codes.length) {
+                codes = Arrays.copyOf(codes, length * 2);
+            }
+            codes[length++] = code;
+        }
+
+        /**
+         * Retrieves the appended codes.
+         *
+         * @return an array holding exactly the appended codes.
+         */
+        private int[] toArray() {
+            return Arrays.copyOf(codes, length);
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class Noun extends Word implements ConfigObserver {
     /**
      * Singleton instance of the Noun class shared across the application.
      */
-    private static Noun instance;
+    private static volatile Noun instance;
 
     /**
      * Private constructor for the Noun class.
@@ -41,7 +41,11 @@ public class Noun extends Word implements ConfigObserver {
      */
     public static Noun getInstance() {
         if (instance == null) {
-            instance = new Noun();
+            synchronized (Noun.class) {
+                if (instance == null) {
+                    instance = new Noun();
+                }
+            }
         }
         return instance;
     }
@@ -55,8 +59,7 @@ public class Noun extends Word implements ConfigObserver {
     @Override
     public void onConfigChange(String key, String value) {
         if ("noun.file".equals(key)) {
-            this.filePath = value;
-            loadWords(this.filePath);
+            reloadFrom(value);
         }
     }
 }
\ No newline at end of file
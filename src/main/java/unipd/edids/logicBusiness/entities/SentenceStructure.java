@@ -2,11 +2,11 @@ package unipd.edids.logicBusiness.entities;
 
 import unipd.edids.logicBusiness.managers.ConfigManager;
 import unipd.edids.logicBusiness.managers.FileManager;
+import unipd.edids.logicBusiness.managers.RandomManager;
 import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+import unipd.edids.logicBusiness.observers.fileObserver.FileObserver;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Manages sentence structures for generating sentences and observes configuration changes.
@@ -15,12 +15,13 @@ import java.util.Random;
  * - Stores and manages a collection of sentence structures.
  * - Provides a random sentence structure.
  * - Observes configuration changes and reloads sentence structures dynamically.
+ * - Observes changes to the structures file and reloads it.
  *
  * <p>Design Pattern:
  * - Singleton Pattern: Ensures only one instance of the class exists.
- * - Observer Pattern: Implements ConfigObserver to listen for configuration updates.
+ * - Observer Pattern: Implements ConfigObserver and FileObserver to listen for configuration and file updates.
  */
-public class SentenceStructure implements ConfigObserver {
+public class SentenceStructure implements ConfigObserver, FileObserver {
     /**
      * Default sentence structure used when no custom structures are provided or available.
      * <p> <p> <p>
@@ -31,11 +32,12 @@ public class SentenceStructure implements ConfigObserver {
      * Single instance of the SentenceStructure class.
      * Implements a Singleton design pattern to ensure one global access point.
      */
-    private static SentenceStructure instance; // Single instance of the class
+    private static volatile SentenceStructure instance; // Single instance of the class
     /**
-     * List of sentence structures used for generating sentences.
+     * Immutable snapshot of the sentence structures used for generating sentences,
+     * replaced as a whole on every reload so that readers never lock.
      */
-    private List<String> structures;
+    private volatile List<String> structures = List.of();
 
 
     /**
@@ -52,8 +54,8 @@ public class SentenceStructure implements ConfigObserver {
      */
     // Private constructor to prevent direct instantiation
     private SentenceStructure() {
-        structures = new ArrayList<>();
         ConfigManager.getInstance().addObserver(this);
+        FileManager.addObserver(this);
         loadStructures();
     }
 
@@ -66,7 +68,11 @@ public class SentenceStructure implements ConfigObserver {
     // Public static method to get the unique instance
     public static SentenceStructure getInstance() {
         if (instance == null) {
-            instance = new SentenceStructure();
+            synchronized (SentenceStructure.class) {
+                if (instance == null) {
+                    instance = new SentenceStructure();
+                }
+            }
         }
         return instance;
     }
@@ -78,8 +84,8 @@ public class SentenceStructure implements ConfigObserver {
      * retrieved using ConfigManager. Updates the internal list of sentence structures
      * with the file's contents.
      */
-    private void loadStructures() {
-        structures = FileManager.readFile(ConfigManager.getInstance().getProperty("sentence.structures"));
+    private synchronized void loadStructures() {
+        structures = List.copyOf(FileManager.readFile(ConfigManager.getInstance().getProperty("sentence.structures")));
     }
 
     /**
@@ -90,9 +96,9 @@ public class SentenceStructure implements ConfigObserver {
      * or the default structure if the list is empty.
      */
     public String getRandomStructure() {
-        if (structures.isEmpty()) return DEFAULT_STRUCTURE;
-        Random random = new Random();
-        return structures.get(random.nextInt(structures.size()));
+        List<String> snapshot = structures;
+        if (snapshot.isEmpty()) return DEFAULT_STRUCTURE;
+        return snapshot.get(RandomManager.nextIndex(snapshot.size()));
     }
 
     /**
@@ -108,10 +114,22 @@ public class SentenceStructure implements ConfigObserver {
         }
     }
 
+    /**
+     * Reloads the sentence structures when the configured structures file changes.
+     *
+     * @param filePath The path of the file that has been changed.
+     */
+    @Override
+    public void onFileChanged(String filePath) {
+        if (ConfigManager.getInstance().getProperty("sentence.structures").equals(filePath)) {
+            loadStructures();
+        }
+    }
+
     /**
      * Retrieves the list of structures.
      *
-     * @return A list of strings representing the structures.
+     * @return An immutable snapshot of the structures.
      */
     public List<String> getStructures() {
         return structures;
@@ -0,0 +1,344 @@
+package unipd.edids.logicBusiness.entities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SentenceTemplate class is the compiled form of a sentence structure such as
+ * "[noun] [verb] the [adjective] [noun]".
+ *
+ * <p>Responsibilities:
+ * - Parses a structure once into literal segments and typed placeholder slots.
+ * - Renders the structure in a single pass, filling the slots in order from word iterators.
+ * - Exposes the slots so that callers can expand or count them without rescanning the structure.
+ * - Assigns stable int ids to interned structures, so that encoded sentences can refer to their template by id.
+ *
+ * <p>Design Pattern:
+ * - Flyweight: compiled templates are immutable and shared through a cache keyed by their structure.
+ */
+public final class SentenceTemplate {
+
+    /**
+     * Types of placeholder slots recognized inside a sentence structure.
+     */
+    public enum SlotType {
+        NOUN("[noun]"),
+        VERB("[verb]"),
+        ADJECTIVE("[adjective]"),
+        SENTENCE("[sentence]");
+
+        /**
+         * The placeholder tag that identifies the slot inside a structure.
+         */
+        private final String tag;
+
+        SlotType(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * Retrieves the placeholder tag of the slot type.
+         *
+         * @return the tag, e.g. "[noun]".
+         */
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * Maximum number of structures kept in the cache before it is cleared.
+     */
+    private static final int CACHE_LIMIT = 512;
+
+    /**
+     * Cache of compiled templates keyed by their source structure.
+     */
+    private static final Map<String, SentenceTemplate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the interned templates, keyed by their source structure.
+     */
+    private static final Map<String, Integer> internedIds = new ConcurrentHashMap<>();
+
+    /**
+     * Interned templates, indexed by id; slots are only ever added, so an id stays valid for the life of the process.
+     * Written under the class lock and republished after every write, so readers see the filled slots.
+     */
+    private static volatile SentenceTemplate[] interned = new SentenceTemplate[64];
+
+    /**
+     * Number of interned templates; guarded by the class lock.
+     */
+    private static int internedCount;
+
+    /**
+     * Slot types in the order they are tried while parsing.
+     */
+    private static final SlotType[] SLOT_TYPES = SlotType.values();
+
+    /**
+     * The source structure this template was compiled from.
+     */
+    private final String structure;
+
+    /**
+     * Literal segments surrounding the slots; always one element longer than {@code slots}.
+     */
+    private final String[] literals;
+
+    /**
+     * Placeholder slots in order of appearance.
+     */
+    private final SlotType[] slots;
+
+    /**
+     * Number of slots for each slot type, indexed by ordinal.
+     */
+    private final int[] slotCounts;
+
+    /**
+     * Total length of all literal segments.
+     */
+    private final int literalLength;
+
+    /**
+     * Private constructor, templates are obtained via {@link #of(String)} or {@link #compile(String)}.
+     */
+    private SentenceTemplate(String structure, String[] literals, SlotType[] slots) {
+        this.structure = structure;
+        this.literals = literals;
+        this.slots = slots;
+        this.slotCounts = new int[SLOT_TYPES.length];
+        for (SlotType slot : slots) {
+            slotCounts[slot.ordinal()]++;
+        }
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Retrieves the compiled template of a structure, compiling and caching it on first use.
+     *
+     * @param structure the sentence structure to compile; must not be null.
+     * @return the shared compiled template of the structure.
+     * @throws IllegalArgumentException if the structure is null.
+     */
+    public static SentenceTemplate of(String structure) {
+        if (structure == null) {
+            throw new IllegalArgumentException("The structure cannot be null.");
+        }
+        SentenceTemplate template = cache.get(structure);
+        if (template == null) {
+            template = compile(structure);
+            if (cache.size() >= CACHE_LIMIT) {
+                cache.clear();
+            }
+            cache.putIfAbsent(structure, template);
+        }
+        return template;
+    }
+
+    /**
+     * Interns a structure, assigning it a stable id on first use.
+     * Unlike the cache of {@link #of(String)}, interned templates are never evicted,
+     * so only structures from a bounded set, such as the structures file, should be interned.
+     *
+     * @param structure the sentence structure to intern; must not be null.
+     * @return the id of the interned template, to pass to {@link #getInterned(int)}.
+     * @throws IllegalArgumentException if the structure is null.
+     */
+    public static int intern(String structure) {
+        if (structure == null) {
+            throw new IllegalArgumentException("The structure cannot be null.");
+        }
+        Integer id = internedIds.get(structure);
+        if (id != null) {
+            return id;
+        }
+        synchronized (SentenceTemplate.class) {
+            id = internedIds.get(structure);
+            if (id != null) {
+                return id;
+            }
+            SentenceTemplate[] templates = interned;
+            if (internedCount == templates.length) {
+                templates = Arrays.copyOf(templates, templates.length * 2);
+            }
+            templates[internedCount] = of(structure);
+            interned = templates;
+            internedIds.put(structure, internedCount);
+            return internedCount++;
+        }
+    }
+
+    /**
+     * Retrieves an interned template by id.
+     *
+     * @param id the id returned by {@link #intern(String)}.
+     * @return the interned template.
+     * @throws IllegalArgumentException if no template was interned with that id.
+     */
+    public static SentenceTemplate getInterned(int id) {
+        SentenceTemplate[] templates = interned;
+        if (id < 0 || id >= templates.length || templates[id] == null) {
+            throw new IllegalArgumentException("Unknown template id: " + id);
+        }
+        return templates[id];
+    }
+
+    /**
+     * Compiles a structure into a new template without using the cache.
+     * Used for one-off structures, such as the result of a recursive expansion.
+     *
+     * @param structure the sentence structure to compile; must not be null.
+     * @return the compiled template.
+     * @throws IllegalArgumentException if the structure is null.
+     */
+    public static SentenceTemplate compile(CharSequence structure) {
+        if (structure == null) {
+            throw new IllegalArgumentException("The structure cannot be null.");
+        }
+        String source = structure.toString();
+        List<String> literals = new ArrayList<>();
+        List<SlotType> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = source.indexOf('[');
+        while (index >= 0) {
+            SlotType slot = matchSlot(source, index);
+            if (slot == null) {
+                index = source.indexOf('[', index + 1);
+                continue;
+            }
+            literals.add(source.substring(literalStart, index));
+            slots.add(slot);
+            literalStart = index + slot.tag.length();
+            index = source.indexOf('[', literalStart);
+        }
+        literals.add(source.substring(literalStart));
+
+        return new SentenceTemplate(source, literals.toArray(new String[0]), slots.toArray(new SlotType[0]));
+    }
+
+    /**
+     * Finds the slot type whose tag starts at the given position.
+     *
+     * @param source the structure being parsed.
+     * @param index  the position of an opening bracket.
+     * @return the matching slot type, or null if the bracket does not start a known tag.
+     */
+    private static SlotType matchSlot(String source, int index) {
+        for (SlotType type : SLOT_TYPES) {
+            if (source.startsWith(type.tag, index)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Renders the template into the target buffer, replacing each noun, verb and adjective slot
+     * with the next word of the matching iterator. Slots whose iterator is exhausted, and
+     * sentence slots, are written back as their tag.
+     *
+     * @param target     the buffer the rendered text is appended to; may be reused across calls.
+     * @param nouns      the words used for the noun slots, in order.
+     * @param verbs      the words used for the verb slots, in order.
+     * @param adjectives the words used for the adjective slots, in order.
+     * @return the target buffer.
+     */
+    public StringBuilder render(StringBuilder target, Iterator<String> nouns, Iterator<String> verbs, Iterator<String> adjectives) {
+        target.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            Iterator<String> words = switch (slots[i]) {
+                case NOUN -> nouns;
+                case VERB -> verbs;
+                case ADJECTIVE -> adjectives;
+                case SENTENCE -> null;
+            };
+            if (words != null && words.hasNext()) {
+                target.append(words.next());
+            } else {
+                target.append(slots[i].tag);
+            }
+            target.append(literals[i + 1]);
+        }
+        return target;
+    }
+
+    /**
+     * Estimates the length of a rendered sentence, to presize the render buffer.
+     *
+     * @return the literal length plus an average word length for each slot.
+     */
+    public int estimateRenderedLength() {
+        return literalLength + slots.length * 8;
+    }
+
+    /**
+     * Retrieves the number of slots of the given type.
+     *
+     * @param type the slot type to count.
+     * @return how many slots of that type the template contains.
+     */
+    public int countSlots(SlotType type) {
+        return slotCounts[type.ordinal()];
+    }
+
+    /**
+     * Retrieves the total number of slots in the template.
+     *
+     * @return the number of slots.
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * Retrieves the slot at the given position.
+     *
+     * @param index the slot position, from 0 to {@link #getSlotCount()} - 1.
+     * @return the slot type at that position.
+     */
+    public SlotType getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Retrieves the literal segment preceding the slot at the given position.
+     * The segment at {@link #getSlotCount()} is the trailing literal.
+     *
+     * @param index the literal position, from 0 to {@link #getSlotCount()}.
+     * @return the literal text.
+     */
+    public String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Retrieves the source structure of the template.
+     *
+     * @return the structure this template was compiled from.
+     */
+    public String getStructure() {
+        return structure;
+    }
+
+    /**
+     * Returns the source structure of the template.
+     *
+     * @return the structure this template was compiled from.
+     */
+    @Override
+    public String toString() {
+        return structure;
+    }
+}
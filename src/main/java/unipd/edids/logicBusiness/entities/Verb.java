@@ -2,12 +2,13 @@ package unipd.edids.logicBusiness.entities;
 
 import unipd.edids.logicBusiness.managers.ConfigManager;
 import unipd.edids.logicBusiness.managers.FileManager;
+import unipd.edids.logicBusiness.managers.RandomManager;
 import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
 import unipd.edids.logicBusiness.strategies.tenseStrategies.FutureTenseStrategy;
 import unipd.edids.logicBusiness.strategies.tenseStrategies.PresentTenseStrategy;
 import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
 
-import java.util.Random;
+import java.util.List;
 
 /**
  * The Verb class is responsible for managing and accessing a list of verbs
@@ -31,12 +32,12 @@ public class Verb extends Word implements ConfigObserver {
     /**
      * Singleton instance of the Verb class shared across the application.
      */
-    private static Verb instance;
+    private static volatile Verb instance;
     /**
      * Strategy interface for verb conjugation logic.
      * Allows dynamic changes to the conjugation process.
      */
-    private TenseStrategy tenseStrategy;
+    private volatile TenseStrategy tenseStrategy;
 
     /**
      * Private constructor for the Verb class.
@@ -55,7 +56,11 @@ public class Verb extends Word implements ConfigObserver {
      */
     public static Verb getInstance() {
         if (instance == null) {
-            instance = new Verb();
+            synchronized (Verb.class) {
+                if (instance == null) {
+                    instance = new Verb();
+                }
+            }
         }
         return instance;
     }
@@ -70,8 +75,7 @@ public class Verb extends Word implements ConfigObserver {
     @Override
     public void onConfigChange(String key, String value) {
         if ("verb.file".equals(key)) {
-            this.filePath = value;
-            loadWords(this.filePath);
+            reloadFrom(value);
         }
     }
 
@@ -83,9 +87,26 @@ public class Verb extends Word implements ConfigObserver {
      * or "undefined" if the list is empty.
      */
     public String getRandomWord() {
-        if (words.isEmpty()) return "undefined";
-        Random random = new Random();
-        return conjugate(words.get(random.nextInt(words.size())));
+        List<String> snapshot = words;
+        if (snapshot.isEmpty()) return "undefined";
+        return conjugate(snapshot.get(RandomManager.nextIndex(snapshot.size())));
+    }
+
+    /**
+     * Returns a random verb from the list of verbs conjugated with the given strategy,
+     * without changing the strategy shared by the application.
+     *
+     * @param tenseStrategy The strategy conjugating the verb; null uses the currently set strategy.
+     * @return A conjugated verb chosen randomly from the list,
+     * or "undefined" if the list is empty.
+     */
+    public String getRandomWord(TenseStrategy tenseStrategy) {
+        if (tenseStrategy == null) {
+            return getRandomWord();
+        }
+        List<String> snapshot = words;
+        if (snapshot.isEmpty()) return "undefined";
+        return tenseStrategy.conjugate(snapshot.get(RandomManager.nextIndex(snapshot.size())));
     }
 
     /**
@@ -95,10 +116,12 @@ public class Verb extends Word implements ConfigObserver {
      * @return The conjugated form of the provided verb.
      */
     public String conjugate(String verb) {
-        if (this.tenseStrategy == null) {
+        TenseStrategy strategy = this.tenseStrategy;
+        if (strategy == null) {
             configureVerbTense(false);
+            strategy = this.tenseStrategy;
         }
-        return this.tenseStrategy.conjugate(verb);
+        return strategy.conjugate(verb);
     }
 
     /**
@@ -119,11 +142,17 @@ public class Verb extends Word implements ConfigObserver {
      *                    should be applied (true for future, false for present).
      */
     public void configureVerbTense(boolean futureTense) {
-        if (futureTense) {
-            this.tenseStrategy = new FutureTenseStrategy();
-        } else {
-            this.tenseStrategy = new PresentTenseStrategy();
-        }
+        this.tenseStrategy = createTenseStrategy(futureTense);
+    }
+
+    /**
+     * Creates the conjugation strategy of a tense, without setting it as the strategy shared by the application.
+     *
+     * @param futureTense true for the future tense, false for the present tense.
+     * @return a new TenseStrategy of the requested tense.
+     */
+    public static TenseStrategy createTenseStrategy(boolean futureTense) {
+        return futureTense ? new FutureTenseStrategy() : new PresentTenseStrategy();
     }
 }
 
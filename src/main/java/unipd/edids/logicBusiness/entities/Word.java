@@ -1,35 +1,45 @@
 package unipd.edids.logicBusiness.entities;
 
 import unipd.edids.logicBusiness.managers.FileManager;
+import unipd.edids.logicBusiness.managers.RandomManager;
 import unipd.edids.logicBusiness.observers.fileObserver.FileObserver;
+import unipd.edids.logicBusiness.vocabulary.MappedVocabulary;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Random;
 
 /**
  * The Word class is an abstract representation of a word list
  * that is dynamically loaded from a file and observed for changes.
  *
  * <p>Responsibilities:
- * - Manages a list of words loaded from a file.
- * - Observes changes in the associated file and updates the word list accordingly.
+ * - Manages a list of words loaded from a file: a text file, one word per line, or a binary
+ *   {@value MappedVocabulary#EXTENSION} file built by the VocabularyImporter, which is memory-mapped
+ *   instead of being loaded on the heap.
+ * - Observes changes in the associated file and updates the word list accordingly: lines appended by the
+ *   application are added to the current list, a full reload happens only for other changes.
  * - Provides functionality to retrieve a random word from the list.
  *
+ * <p>Thread safety:
+ * - The word list is an immutable snapshot published through a volatile reference.
+ *   Reloads build a new snapshot and swap it in atomically, so readers never lock
+ *   and always see either the old or the new vocabulary, never a partial one.
+ *
  * <p>Design Pattern:
  * - Observer Pattern: Listens to file change events to automatically reload the word list.
  */
 public abstract class Word implements FileObserver {
 
     /**
-     * A protected list holding the words that are dynamically managed within the class.
+     * Immutable snapshot of the words currently loaded, replaced as a whole on every reload.
      */
-    protected List<String> words;
+    protected volatile List<String> words = List.of();
 
     /**
      * The file path to the source file containing words for this Word instance.
      */
-    protected String filePath;
+    protected volatile String filePath;
 
 
     /**
@@ -42,20 +52,63 @@ public abstract class Word implements FileObserver {
             throw new IllegalArgumentException("The file path for " + this.getClass().getSimpleName() +" cannot be null.");
         }
         this.filePath = filePath;
-        words = new ArrayList<>();
         loadWords(filePath);
     }
 
     /**
-     * Loads a list of words from a specified file into the 'words' attribute.
+     * Loads a list of words from a specified file and publishes it as the new 'words' snapshot.
+     * Concurrent reloads are serialized, readers are never blocked.
      *
      * @param filePath the path of the file containing the words to load
+     * @throws RuntimeException if the file cannot be read
      */
-    protected void loadWords(String filePath) {
+    protected synchronized void loadWords(String filePath) {
         if (filePath == null) {
             throw new IllegalArgumentException("The file path for " + this.getClass().getSimpleName() +" cannot be null.");
         }
-        words = FileManager.readFile(filePath);
+        if (MappedVocabulary.isVocabularyFile(filePath)) {
+            try {
+                words = MappedVocabulary.open(Paths.get(filePath));
+            } catch (IOException e) {
+                throw new RuntimeException("Error while reading vocabulary: " + filePath, e);
+            }
+        } else {
+            words = List.copyOf(FileManager.readFile(filePath));
+        }
+    }
+
+    /**
+     * Changes the file path of the word list and reloads the words from the new file.
+     *
+     * @param filePath the path of the new file containing the words
+     */
+    protected synchronized void reloadFrom(String filePath) {
+        loadWords(filePath);
+        this.filePath = filePath;
+    }
+
+    /**
+     * Appends words to the current snapshot without reading the file again.
+     * Binary vocabularies are read-only, so they are reloaded instead.
+     *
+     * @param newWords the words appended to the file
+     */
+    protected synchronized void appendWords(List<String> newWords) {
+        List<String> snapshot = words;
+        if (snapshot instanceof MappedVocabulary) {
+            loadWords(filePath);
+        } else if (!newWords.isEmpty()) {
+            words = AppendOnlyWordList.append(snapshot, newWords);
+        }
+    }
+
+    /**
+     * Retrieves the current snapshot of the word list.
+     *
+     * @return an immutable list of the loaded words
+     */
+    public List<String> getWords() {
+        return words;
     }
 
     /**
@@ -74,9 +127,9 @@ public abstract class Word implements FileObserver {
      * @return A randomly selected word from the list of words, or "undefined" if the list is empty.
      */
     public String getRandomWord() {
-        if (words.isEmpty()) return "undefined";
-        Random random = new Random();
-        return words.get(random.nextInt(words.size()));
+        List<String> snapshot = words;
+        if (snapshot.isEmpty()) return "undefined";
+        return snapshot.get(RandomManager.nextIndex(snapshot.size()));
     }
 
     /**
@@ -87,8 +140,24 @@ public abstract class Word implements FileObserver {
      */
     @Override
     public void onFileChanged(String fileChanged) {
-        if (this.filePath.equals(fileChanged)) {
-            loadWords(this.filePath);
+        String path = this.filePath;
+        if (path.equals(fileChanged)) {
+            loadWords(path);
+        }
+    }
+
+    /**
+     * Handles lines appended to the managed file by the application, adding them to the word list
+     * instead of reloading the whole file.
+     *
+     * @param fileChanged The path of the file that has been changed.
+     * @param lines       The lines appended to the file.
+     */
+    @Override
+    public void onLinesAppended(String fileChanged, List<String> lines) {
+        String path = this.filePath;
+        if (path.equals(fileChanged)) {
+            appendWords(lines);
         }
     }
 
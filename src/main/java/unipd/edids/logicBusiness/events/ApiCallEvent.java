@@ -0,0 +1,49 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a request to the Google Natural Language API.
+ *
+ * <p>The duration of the event is the latency of the request, from the availability check to the response;
+ * for asynchronous requests it includes the wait for a free in-flight permit.
+ */
+@Name("unipd.edids.ApiCall")
+@Label("API Call")
+@Category({"NONSENSE Generator", "API"})
+@Description("A request to the Google Natural Language API")
+public class ApiCallEvent extends Event {
+    /**
+     * Outcome of a request that returned a response.
+     */
+    public static final String SUCCESS = "success";
+
+    /**
+     * The type of request: SYNTAX or MODERATION.
+     */
+    @Label("Request Type")
+    public String requestType;
+
+    /**
+     * Number of characters of the analyzed text.
+     */
+    @Label("Payload Length")
+    @Description("Number of characters of the analyzed text")
+    public int payloadLength;
+
+    /**
+     * Whether the request was sent without blocking the caller.
+     */
+    @Label("Asynchronous")
+    public boolean asynchronous;
+
+    /**
+     * {@link #SUCCESS}, or the simple name of the exception the request failed with.
+     */
+    @Label("Outcome")
+    public String outcome;
+}
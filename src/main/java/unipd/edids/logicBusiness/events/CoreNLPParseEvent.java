@@ -0,0 +1,46 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of the annotation of a text by a shared StanfordCoreNLP pipeline.
+ *
+ * <p>The duration of the event includes the wait for a permit of the pipeline pool, which is also
+ * reported on its own, so that contention on the pool can be told apart from the parsing time.
+ */
+@Name("unipd.edids.CoreNLPParse")
+@Label("CoreNLP Parse")
+@Category({"NONSENSE Generator", "Analysis"})
+@Description("The annotation of a text by a StanfordCoreNLP pipeline")
+public class CoreNLPParseEvent extends Event {
+    /**
+     * The parser setting of the pipeline: pcfg, sr or none.
+     */
+    @Label("Parser")
+    public String parser;
+
+    /**
+     * Number of characters of the annotated text.
+     */
+    @Label("Text Length")
+    public int textLength;
+
+    /**
+     * Number of sentences found in the text.
+     */
+    @Label("Sentences")
+    public int sentences;
+
+    /**
+     * Time spent waiting for a permit of the pipeline pool.
+     */
+    @Label("Wait Time")
+    @Description("Time spent waiting for a permit of the pipeline pool")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitTime;
+}
@@ -0,0 +1,56 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a write of the application to a vocabulary or save file.
+ */
+@Name("unipd.edids.FileWrite")
+@Label("File Write")
+@Category({"NONSENSE Generator", "I/O"})
+@Description("A write to a vocabulary or save file")
+public class FileWriteEvent extends Event {
+    /**
+     * Operation appending a word to a vocabulary file.
+     */
+    public static final String VOCABULARY_APPEND = "vocabularyAppend";
+
+    /**
+     * Operation appending a line to a save file, opening and closing it.
+     */
+    public static final String SAVING_FILE_APPEND = "savingFileAppend";
+
+    /**
+     * Operation committing the buffered lines of a saving channel.
+     */
+    public static final String SAVING_CHANNEL_FLUSH = "savingChannelFlush";
+
+    /**
+     * The path of the written file.
+     */
+    @Label("Path")
+    public String path;
+
+    /**
+     * The kind of write: {@link #VOCABULARY_APPEND}, {@link #SAVING_FILE_APPEND} or {@link #SAVING_CHANNEL_FLUSH}.
+     */
+    @Label("Operation")
+    public String operation;
+
+    /**
+     * Number of written lines.
+     */
+    @Label("Lines")
+    public int lines;
+
+    /**
+     * Number of written characters, line separators included.
+     */
+    @Label("Characters")
+    @Description("Number of written characters, line separators included")
+    public long characters;
+}
@@ -0,0 +1,35 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a phase of the generation of a sentence: structure resolution,
+ * word population or placeholder replacement.
+ */
+@Name("unipd.edids.GenerationPhase")
+@Label("Generation Phase")
+@Category({"NONSENSE Generator", "Generation"})
+@Description("A phase of the generation of a sentence")
+public class GenerationPhaseEvent extends Event {
+    /**
+     * The name of the phase, as in the metrics stages.
+     */
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * The simple name of the structure strategy of the generation.
+     */
+    @Label("Structure Strategy")
+    public String strategy;
+
+    /**
+     * Number of characters of the sentence structure at the end of the phase.
+     */
+    @Label("Structure Length")
+    public int structureLength;
+}
@@ -7,9 +7,18 @@ import unipd.edids.logicBusiness.exceptions.MissingApiKeyException;
 import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 /**
@@ -19,6 +28,15 @@ import java.util.Properties;
  * - Provides methods to load, save, and manage application configuration properties.
  * - Ensures configuration files exist and handles default file generation if needed.
  * - Observes and notifies registered observers about configuration changes.
+ * - Publishes the properties as an immutable {@link ConfigSnapshot}, swapped atomically on every change,
+ *   so that reads never lock and typed values are parsed only once per snapshot.
+ *
+ * <p>Thread safety:
+ * - Reads go through the current snapshot and are safe from any thread.
+ * - Changes are serialized on the instance and grouped in transactions through {@link #update(Map)}:
+ *   a transaction publishes a single snapshot and each observer receives its changes in one call.
+ * - Observers are notified on a dedicated thread, in commit order; changes committed while a notification
+ *   is still pending are coalesced into it, keeping the last value of each key.
  *
  * <p>Design Pattern:
  * - Singleton Pattern: Ensures only one instance of ConfigManager is used throughout the application.
@@ -45,7 +63,7 @@ public class ConfigManager {
      * Singleton instance of the ConfigManager class.
      * Ensures a single, globally accessible ConfigManager throughout the application's lifecycle.
      */
-    private static ConfigManager instance;
+    private static volatile ConfigManager instance;
     /**
      * List of registered ConfigObserver instances monitoring configuration changes.
      * <p>
@@ -56,7 +74,7 @@ public class ConfigManager {
      * Design Pattern:
      * - Observer Pattern: Acts as the Subject, notifying observers of configuration changes.
      */
-    private final List<ConfigObserver> observers = new ArrayList<>();
+    private final List<ConfigObserver> observers = new CopyOnWriteArrayList<>();
     /**
      * Provides access to environment variables using the Dotenv library.
      *
@@ -67,8 +85,34 @@ public class ConfigManager {
     private final Dotenv dotenv;
     /**
      * Maintains configuration properties for the application, enabling configuration management and dynamic updates.
+     * Mutable store of the properties, written to the configuration file; guarded by {@code this}.
      */
     private final Properties properties = new Properties();
+    /**
+     * Immutable snapshot of the properties, replaced as a whole after every change.
+     */
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+    /**
+     * Changes committed but not delivered to the observers yet, in change order; guarded by {@code this}.
+     */
+    private final Map<String, String> pendingChanges = new LinkedHashMap<>();
+    /**
+     * Futures of the transactions whose changes are pending; guarded by {@code this}.
+     */
+    private final List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+    /**
+     * Thread delivering the notifications to the observers.
+     */
+    private volatile Thread notifierThread;
+    /**
+     * Single-threaded executor delivering the notifications, so that observers see the changes in commit order.
+     */
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-notifier");
+        thread.setDaemon(true);
+        notifierThread = thread;
+        return thread;
+    });
     /**
      * Path to the configuration file used for storing and retrieving application settings.
      */
@@ -92,8 +136,12 @@ public class ConfigManager {
      */
     public static ConfigManager getInstance() {
         if (instance == null) {
-            logger.debug("Creating new ConfigManager instance");
-            instance = new ConfigManager();
+            synchronized (ConfigManager.class) {
+                if (instance == null) {
+                    logger.debug("Creating new ConfigManager instance");
+                    instance = new ConfigManager();
+                }
+            }
         }
         return instance;
     }
@@ -141,10 +189,11 @@ public class ConfigManager {
      * <p>Attempts to read the specified configuration file defined within the class's context.
      * Throws a {@link RuntimeException} if any I/O errors occur during the process.
      */
-    public void loadProperties() {
+    public synchronized void loadProperties() {
         try (InputStream input = new FileInputStream(configFilePath)) {
             logger.debug("Loading properties from file: {}", configFilePath);
             properties.load(input);
+            snapshot = ConfigSnapshot.of(properties);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load properties from file: " + configFilePath, e);
         }
@@ -160,18 +209,69 @@ public class ConfigManager {
     }
 
     /**
-     * Notifies registered observers of a configuration change if the new value differs from the previous value.
+     * Removes an observer from the list of observers.
+     *
+     * @param observer The ConfigObserver to unregister.
+     */
+    public void removeObserver(ConfigObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Delivers the pending changes to every observer, in a single call per observer,
+     * and completes the futures of the transactions they belong to.
+     * An observer failing does not prevent the others from being notified.
+     */
+    private void deliverPendingChanges() {
+        Map<String, String> changes;
+        List<CompletableFuture<Void>> futures;
+        synchronized (this) {
+            changes = Collections.unmodifiableMap(new LinkedHashMap<>(pendingChanges));
+            futures = List.copyOf(pendingFutures);
+            pendingChanges.clear();
+            pendingFutures.clear();
+        }
+        logger.debug("Notifying {} observers of changed properties {}", observers.size(), changes.keySet());
+        RuntimeException failure = null;
+        for (ConfigObserver observer : observers) {
+            try {
+                observer.onConfigChange(changes);
+            } catch (RuntimeException e) {
+                logger.error("{} failed to apply the changed properties {}", observer.getClass().getSimpleName(), changes.keySet(), e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        for (CompletableFuture<Void> future : futures) {
+            if (failure == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Waits until the observers have been notified of a transaction, rethrowing the failure of an observer.
+     * Does not wait when called by an observer, whose own notification is still in progress.
      *
-     * @param key      The identifier for the property that has been modified.
-     * @param oldValue The previous value of the property.
-     * @param newValue The updated value of the property.
-     */
-    private void notifyObserversIfNeeded(String key, String oldValue,String newValue) {
-        if (!newValue.equals(oldValue)) {
-            logger.debug("Property '{}' changed from '{}' to '{}', notifying observers", key, oldValue, newValue);
-            for (ConfigObserver observer : observers) {
-                observer.onConfigChange(key, newValue);
+     * @param notification the future returned by {@link #update(Map)}.
+     * @throws RuntimeException if an observer failed to apply the changes.
+     */
+    private void awaitNotification(CompletableFuture<Void> notification) {
+        if (Thread.currentThread() == notifierThread) {
+            return;
+        }
+        try {
+            notification.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
         }
     }
 
@@ -205,8 +305,8 @@ public class ConfigManager {
             logger.error("Property key {} is not defined.", key);
             throw new IllegalArgumentException("Property key " + key + " is not defined.");
         }
-        String value = properties.getProperty(key);
-        if (value == null || value.isBlank()) {
+        String value = snapshot.get(key);
+        if (value == null) {
             logger.error("Property {} is missing or empty in configuration.", key);
             if (API_KEY_PROPERTY.equals(key)) {
                 throw new MissingApiKeyException();
@@ -217,17 +317,149 @@ public class ConfigManager {
         return value;
     }
 
+    /**
+     * Retrieves the value of a property associated with the specified key, falling back to a default value.
+     * Used for optional settings that configuration files created by older versions may not define.
+     *
+     * @param key          the key for which the property value is to be retrieved
+     * @param defaultValue the value returned if the property is not defined or has a blank value
+     * @return the value of the property, or the default value if it is not defined
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = snapshot.get(key);
+        if (value == null) {
+            logger.debug("Property {} is not defined, using default value '{}'", key, defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves a property as an integer, parsed once per configuration snapshot.
+     *
+     * @param key the key of the property.
+     * @return the value of the property.
+     * @throws IllegalArgumentException if the property is not defined or is not a valid integer.
+     */
+    public int getInt(String key) {
+        return snapshot.getInt(key);
+    }
+
+    /**
+     * Retrieves a property as an integer, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined or has a blank value.
+     * @return the value of the property, or the default value.
+     * @throws IllegalArgumentException if the property is not a valid integer.
+     */
+    public int getInt(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    /**
+     * Retrieves a property as a long, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined or has a blank value.
+     * @return the value of the property, or the default value.
+     * @throws IllegalArgumentException if the property is not a valid long.
+     */
+    public long getLong(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    /**
+     * Retrieves a property as a boolean, parsed once per configuration snapshot.
+     *
+     * @param key the key of the property.
+     * @return true if the property is "true", in any case.
+     * @throws IllegalArgumentException if the property is not defined.
+     */
+    public boolean getBoolean(String key) {
+        return snapshot.getBoolean(key);
+    }
+
+    /**
+     * Retrieves a property as a boolean, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined or has a blank value.
+     * @return the value of the property, or the default value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    /**
+     * Retrieves a property as a file system path, parsed once per configuration snapshot.
+     *
+     * @param key the key of the property.
+     * @return the path named by the property.
+     * @throws IllegalArgumentException if the property is not defined or is not a valid path.
+     */
+    public Path getPath(String key) {
+        return snapshot.getPath(key);
+    }
+
+    /**
+     * Retrieves the current configuration snapshot, to read several properties consistently.
+     *
+     * @return the immutable snapshot of the properties.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Updates or adds a property identified by the specified key and notifies observers if the value changes.
+     * Returns once the observers have been notified.
      *
      * @param key   The unique identifier for the property being set.
      * @param newValue The new value to assign to the specified property.
+     * @throws RuntimeException if an observer failed to apply the change.
      */
     public void setProperty(String key, String newValue) {
         logger.debug("Setting property '{}' to '{}'", key, newValue);
-        String oldValue = properties.getProperty(key);
-        properties.setProperty(key, newValue);
-        notifyObserversIfNeeded(key, oldValue, newValue);
+        awaitNotification(update(Map.of(key, newValue)));
+    }
+
+    /**
+     * Updates or adds several properties in a single transaction. The new values are visible to readers
+     * as soon as this method returns, all together; observers are notified asynchronously, once,
+     * of the properties whose value has changed.
+     *
+     * @param changes The properties to set, with their new values.
+     * @return A future completed when every observer has been notified, or completed exceptionally
+     * with the failure of an observer.
+     * @throws NullPointerException if a key or a value is null.
+     */
+    public CompletableFuture<Void> update(Map<String, String> changes) {
+        Map<String, String> changed = new LinkedHashMap<>();
+        CompletableFuture<Void> notification = new CompletableFuture<>();
+        synchronized (this) {
+            for (Map.Entry<String, String> change : changes.entrySet()) {
+                String oldValue = (String) properties.setProperty(change.getKey(), change.getValue());
+                if (!change.getValue().equals(oldValue)) {
+                    changed.put(change.getKey(), change.getValue());
+                }
+            }
+            if (changed.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            snapshot = ConfigSnapshot.of(properties);
+            for (Map.Entry<String, String> change : changed.entrySet()) {
+                // L'ultima modifica di una chiave la sposta in fondo all'ordine di notifica
+                pendingChanges.remove(change.getKey());
+                pendingChanges.put(change.getKey(), change.getValue());
+            }
+            pendingFutures.add(notification);
+            if (pendingFutures.size() == 1) {
+                notifier.execute(this::deliverPendingChanges);
+            }
+        }
+        logger.debug("Properties {} changed, notifying observers", changed.keySet());
+        return notification;
     }
 
     /**
@@ -238,7 +470,7 @@ public class ConfigManager {
      * successful, a log entry is created. In case of an error during
      * the file saving process, the issue is logged.
      */
-    public void saveProperties() {
+    public synchronized void saveProperties() {
         try (OutputStream output = new FileOutputStream(configFilePath)) {
             properties.store(output, null);
             logger.info("Configuration saved to {}", configFilePath);
@@ -286,24 +518,25 @@ public class ConfigManager {
         logger.info("Resetting configuration from default path: {}", defaultConfigPath);
         List<String> lines = FileManager.readFile(defaultConfigPath);
 
-        // Update properties one at a time
+        // Collect every property, so that observers are notified once
+        Map<String, String> changes = new LinkedHashMap<>();
         for (String line : lines) {
             if (!line.isBlank() && line.contains("=")) {
                 String[] keyValue = line.split("=", 2);
                 String key = keyValue[0].trim();
                 String value = keyValue[1].trim();
-
-                // Use setProperty to update each property
-                setProperty(key, value);
+                changes.put(key, value);
             }
         }
 
         // Update the specific property for an API key
         if (newApiKey != null && !newApiKey.isBlank()) {
-            setProperty(API_KEY_PROPERTY, newApiKey);
+            changes.put(API_KEY_PROPERTY, newApiKey);
         }
 
+        CompletableFuture<Void> notification = update(changes);
         // Save property changes to a configuration file
         saveProperties();
+        awaitNotification(notification);
     }
 }
\ No newline at end of file
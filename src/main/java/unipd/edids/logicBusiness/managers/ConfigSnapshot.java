@@ -0,0 +1,239 @@
+package unipd.edids.logicBusiness.managers;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the configuration properties at a point in time, with typed accessors.
+ *
+ * <p>Responsibilities:
+ * - Holds a copy of the properties that never changes, so it can be read by any thread without locking.
+ * - Parses the numeric, boolean and path values once, on their first read, and caches them:
+ *   since the values cannot change, the cached results stay valid for the whole life of the snapshot.
+ * - Treats blank values as missing, as {@link ConfigManager#getProperty(String)} does.
+ *
+ * <p>{@link ConfigManager} publishes a new snapshot after every change; readers that need several
+ * consistent values take the snapshot once through {@link ConfigManager#getSnapshot()}.
+ */
+public final class ConfigSnapshot {
+    /**
+     * The snapshot without any property.
+     */
+    static final ConfigSnapshot EMPTY = new ConfigSnapshot(Map.of());
+
+    /**
+     * The property values, without the blank ones.
+     */
+    private final Map<String, String> values;
+
+    /**
+     * Integer values already parsed, by key.
+     */
+    private final Map<String, Integer> ints = new ConcurrentHashMap<>();
+
+    /**
+     * Long values already parsed, by key.
+     */
+    private final Map<String, Long> longs = new ConcurrentHashMap<>();
+
+    /**
+     * Boolean values already parsed, by key.
+     */
+    private final Map<String, Boolean> booleans = new ConcurrentHashMap<>();
+
+    /**
+     * Path values already parsed, by key.
+     */
+    private final Map<String, Path> paths = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a snapshot of the given values.
+     *
+     * @param values the property values; blank ones are treated as missing.
+     */
+    private ConfigSnapshot(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Creates a snapshot of a set of properties.
+     *
+     * @param properties the properties to copy.
+     * @return the snapshot.
+     */
+    static ConfigSnapshot of(Properties properties) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (!value.isBlank()) {
+                values.put(key, value);
+            }
+        }
+        return new ConfigSnapshot(Map.copyOf(values));
+    }
+
+    /**
+     * Retrieves the value of a property.
+     *
+     * @param key the key of the property.
+     * @return the value, or null if the property is not defined or is blank.
+     */
+    public String get(String key) {
+        return key == null ? null : values.get(key);
+    }
+
+    /**
+     * Retrieves the value of a property, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined or is blank.
+     * @return the value of the property, or the default value.
+     */
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Indicates whether a property is defined with a non-blank value.
+     *
+     * @param key the key of the property.
+     * @return true if the property is defined.
+     */
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Retrieves a property as an integer.
+     *
+     * @param key the key of the property.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the property is not defined or is not a valid integer.
+     */
+    public int getInt(String key) {
+        return parse(ints, require(key), "integer", Integer::valueOf);
+    }
+
+    /**
+     * Retrieves a property as an integer, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined.
+     * @return the parsed value, or the default value.
+     * @throws IllegalArgumentException if the property is not a valid integer.
+     */
+    public int getInt(String key, int defaultValue) {
+        return contains(key) ? parse(ints, key, "integer", Integer::valueOf) : defaultValue;
+    }
+
+    /**
+     * Retrieves a property as a long.
+     *
+     * @param key the key of the property.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the property is not defined or is not a valid long.
+     */
+    public long getLong(String key) {
+        return parse(longs, require(key), "long", Long::valueOf);
+    }
+
+    /**
+     * Retrieves a property as a long, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined.
+     * @return the parsed value, or the default value.
+     * @throws IllegalArgumentException if the property is not a valid long.
+     */
+    public long getLong(String key, long defaultValue) {
+        return contains(key) ? parse(longs, key, "long", Long::valueOf) : defaultValue;
+    }
+
+    /**
+     * Retrieves a property as a boolean: "true", in any case, is true and any other value is false.
+     *
+     * @param key the key of the property.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the property is not defined.
+     */
+    public boolean getBoolean(String key) {
+        return parse(booleans, require(key), "boolean", Boolean::valueOf);
+    }
+
+    /**
+     * Retrieves a property as a boolean, falling back to a default value.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value returned if the property is not defined.
+     * @return the parsed value, or the default value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return contains(key) ? parse(booleans, key, "boolean", Boolean::valueOf) : defaultValue;
+    }
+
+    /**
+     * Retrieves a property as a file system path.
+     *
+     * @param key the key of the property.
+     * @return the parsed path.
+     * @throws IllegalArgumentException if the property is not defined or is not a valid path.
+     */
+    public Path getPath(String key) {
+        return parse(paths, require(key), "path", Paths::get);
+    }
+
+    /**
+     * Retrieves the number of defined properties.
+     *
+     * @return the number of properties with a non-blank value.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Checks that a property is defined.
+     *
+     * @param key the key of the property.
+     * @return the key.
+     * @throws IllegalArgumentException if the property is not defined or is blank.
+     */
+    private String require(String key) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException("Property " + key + " is not defined.");
+        }
+        return key;
+    }
+
+    /**
+     * Retrieves the parsed value of a defined property, parsing and caching it on the first read.
+     *
+     * @param cache  the cache of the parsed values of the type.
+     * @param key    the key of the property.
+     * @param type   the name of the type, for the error message.
+     * @param parser the function parsing the trimmed value.
+     * @param <T>    the type of the value.
+     * @return the parsed value.
+     * @throws IllegalArgumentException if the value cannot be parsed.
+     */
+    private <T> T parse(Map<String, T> cache, String key, String type, Function<String, T> parser) {
+        T parsed = cache.get(key);
+        if (parsed != null) {
+            return parsed;
+        }
+        String value = values.get(key);
+        try {
+            parsed = parser.apply(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Property " + key + " is not a valid " + type + ": " + value, e);
+        }
+        cache.put(key, parsed);
+        return parsed;
+    }
+}
@@ -1,6 +1,10 @@
 package unipd.edids.logicBusiness.managers;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.events.FileWriteEvent;
 import unipd.edids.logicBusiness.observers.fileObserver.FileObserver;
+import unipd.edids.logicBusiness.vocabulary.MappedVocabulary;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
@@ -8,8 +12,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides utility methods for working with files and managing file observers.
@@ -17,7 +26,10 @@ import java.util.List;
  * <p>Responsibilities:
  * - Provide methods for file manipulation: reading, writing, appending, and deleting files.
  * - Maintain and manage a list of FileObserver objects to monitor file-related events.
- * - Notify observers whenever specific file operations are performed.
+ * - Notify observers whenever specific file operations are performed, or when {@link FileWatcher}
+ *   detects a change made outside the application.
+ * - Share one buffered {@link SavingChannel} per save file, flushed every {@code save.flush.records} lines,
+ *   every {@code save.flush.interval.ms} milliseconds and when the JVM shuts down.
  *
  * <p>Design Pattern:
  * - Observer Pattern: Serves as the Subject component, managing observer registration and notifying them upon file changes.
@@ -36,7 +48,22 @@ public class FileManager {
      * - Observer Pattern: Acts as the Subject component, notifying observers of file changes.
      */
     // List of registered observers (static)
-    private static final List<FileObserver> observers = new ArrayList<>();
+    private static final List<FileObserver> observers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Logger instance for logging FileManager operations.
+     */
+    private static final Logger logger = LogManager.getLogger(FileManager.class);
+
+    /**
+     * Open saving channels, by absolute path of their file.
+     */
+    private static final Map<Path, SavingChannel> savingChannels = new ConcurrentHashMap<>();
+
+    /**
+     * Daemon thread flushing the saving channels periodically; created with the first channel.
+     */
+    private static ScheduledExecutorService flusher;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -46,25 +73,35 @@ public class FileManager {
 
     /**
      * Appends a new line to a vocabulary file. If the file does not exist, it is created.
-     * Notifies observers of the file change after appending the line.
+     * Notifies observers of the appended lines, so they can update without reading the whole file.
      *
      * @param filePath the path of the vocabulary file
      * @param newLine  the line to append to the file
-     * @throws IOException if an I/O error occurs while writing to the file
+     * @throws IOException if an I/O error occurs while writing to the file, or if the file is a binary vocabulary
      */
     public static void appendLineToVocabularyFile(String filePath, String newLine) throws IOException {
+        if (MappedVocabulary.isVocabularyFile(filePath)) {
+            throw new IOException("Binary vocabulary " + filePath + " is read-only: add the words to its text file and import it again.");
+        }
+        // Stato del file prima della scrittura, per riconoscere le modifiche esterne non ancora ricaricate
+        FileWatcher.FileState before = FileWatcher.stateOf(filePath);
         // Check if a file doesn't exist and if so, create it
         Path path = Paths.get(filePath);
         if (Files.notExists(path)) {
             Files.createFile(path);
         }
 
+        FileWriteEvent event = new FileWriteEvent();
+        event.begin();
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
             writer.newLine(); // Ensure a new line is always added
             writer.write(newLine);
         }
-        // Notify observers of the change
-        notifyObservers(filePath);
+        commitWriteEvent(event, filePath, FileWriteEvent.VOCABULARY_APPEND, newLine);
+        // Notify observers of the appended lines, skipping blank ones as readFile does
+        List<String> appended = newLine.lines().filter(line -> !line.trim().isEmpty()).toList();
+        notifyLinesAppended(filePath, appended);
+        FileWatcher.markUpToDate(filePath, before);
     }
 
     /**
@@ -81,15 +118,153 @@ public class FileManager {
                 Files.createFile(path);
             }
 
+            FileWriteEvent event = new FileWriteEvent();
+            event.begin();
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
                 writer.newLine(); // Ensure a new line is always added
                 writer.write(newLine);
             }
+            commitWriteEvent(event, filePath, FileWriteEvent.SAVING_FILE_APPEND, newLine);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Completes the Flight Recorder event of the write of a single line, if it is recorded.
+     *
+     * @param event     the event started before the write.
+     * @param filePath  the path of the written file.
+     * @param operation the kind of write.
+     * @param newLine   the written line, preceded by a line separator.
+     */
+    private static void commitWriteEvent(FileWriteEvent event, String filePath, String operation, String newLine) {
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.operation = operation;
+            event.lines = 1;
+            event.characters = System.lineSeparator().length() + newLine.length();
+            event.commit();
+        }
+    }
+
+    /**
+     * Appends a new line of text to a save file through its shared, buffered channel.
+     * The line reaches the file when the channel is flushed: after {@code save.flush.records} lines,
+     * after {@code save.flush.interval.ms} milliseconds, on {@link #flushSavingChannels()} or at shutdown.
+     *
+     * @param filePath The path of the save file; created if it does not exist.
+     * @param newLine  The line of text to append to the file.
+     * @throws RuntimeException If the file cannot be opened or written.
+     */
+    public static void appendLineToSavingChannel(String filePath, String newLine) {
+        try {
+            getSavingChannel(filePath).append(newLine);
+        } catch (IllegalStateException e) {
+            // Il canale è stato chiuso nel frattempo: se ne apre uno nuovo.
+            getSavingChannel(filePath).append(newLine);
+        }
+    }
+
+    /**
+     * Retrieves the shared channel of a save file, opening it on first use.
+     *
+     * @param filePath The path of the save file.
+     * @return The channel appending to the file.
+     * @throws RuntimeException If the file cannot be opened.
+     */
+    public static SavingChannel getSavingChannel(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        SavingChannel channel = savingChannels.get(path);
+        if (channel != null && channel.isOpen()) {
+            return channel;
+        }
+        synchronized (savingChannels) {
+            channel = savingChannels.get(path);
+            if (channel == null || !channel.isOpen()) {
+                ConfigManager config = ConfigManager.getInstance();
+                int flushRecords = config.getInt("save.flush.records", 32);
+                try {
+                    channel = new SavingChannel(path, flushRecords);
+                } catch (IOException e) {
+                    throw new RuntimeException("Error while opening file: " + filePath, e);
+                }
+                savingChannels.put(path, channel);
+                startFlusher(config.getLong("save.flush.interval.ms", 1000));
+            }
+            return channel;
+        }
+    }
+
+    /**
+     * Starts the periodic flush of the saving channels and registers the shutdown flush, once.
+     * The caller holds the lock on the channels.
+     *
+     * @param intervalMillis The flush period in milliseconds; 0 or negative disables the periodic flush.
+     */
+    private static void startFlusher(long intervalMillis) {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saving-channel-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMillis > 0) {
+            flusher.scheduleWithFixedDelay(FileManager::flushSavingChannelsQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(FileManager::closeSavingChannels, "saving-channel-shutdown"));
+        logger.info("Saving channels flushed every {} ms", intervalMillis);
+    }
+
+    /**
+     * Commits the buffered lines of every saving channel to their files.
+     *
+     * @throws RuntimeException If a file cannot be written.
+     */
+    public static void flushSavingChannels() {
+        savingChannels.values().forEach(SavingChannel::flush);
+    }
+
+    /**
+     * Commits the buffered lines of every saving channel, logging the failures instead of throwing them.
+     */
+    private static void flushSavingChannelsQuietly() {
+        for (SavingChannel channel : savingChannels.values()) {
+            try {
+                channel.flush();
+            } catch (RuntimeException e) {
+                logger.error("Periodic flush of {} failed", channel.getPath(), e);
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the saving channel of a file, if one is open, e.g. before the file is rewritten.
+     * Later appends open a new channel.
+     *
+     * @param filePath The path of the save file.
+     */
+    public static void closeSavingChannel(String filePath) {
+        synchronized (savingChannels) {
+            SavingChannel channel = savingChannels.remove(Paths.get(filePath).toAbsolutePath().normalize());
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes every saving channel. Later appends open new channels.
+     */
+    public static void closeSavingChannels() {
+        synchronized (savingChannels) {
+            savingChannels.values().forEach(SavingChannel::close);
+            savingChannels.clear();
+        }
+    }
+
     /**
      * Reads the contents of a file and returns a list of non-empty lines.
      *
@@ -117,16 +292,37 @@ public class FileManager {
     }
 
     /**
-     * Notifies all registered observers about a change in the specified file.
+     * Removes a FileObserver instance from the list of observers.
+     *
+     * @param observer The FileObserver instance to be removed.
+     */
+    public static void removeObserver(FileObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Notifies all registered observers about a change in the specified file, made outside the application.
      *
      * @param filePath The file path of the modified file to notify observers about.
      */
-    private static void notifyObservers(String filePath) {
+    public static void notifyFileChanged(String filePath) {
         for (FileObserver observer : observers) {
             observer.onFileChanged(filePath);
         }
     }
 
+    /**
+     * Notifies all registered observers about lines appended to the specified file.
+     *
+     * @param filePath The file path of the modified file to notify observers about.
+     * @param lines    The non-blank lines appended to the file.
+     */
+    private static void notifyLinesAppended(String filePath, List<String> lines) {
+        for (FileObserver observer : observers) {
+            observer.onLinesAppended(filePath, lines);
+        }
+    }
+
     /**
      * Deletes a file at the specified path if it exists.
      * Throws an exception if deletion fails or the file does not exist.
@@ -0,0 +1,470 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects changes made outside the application to the word and structure files and reloads them.
+ *
+ * <p>Responsibilities:
+ * - Registers a {@link WatchService} on the directories of the watched files and follows the configuration,
+ *   so that the files named by {@code noun.file}, {@code verb.file}, {@code adjective.file} and
+ *   {@code sentence.structures} are always the ones watched.
+ * - Debounces the events: a file is reloaded once it has not changed for {@code watch.debounce.ms}
+ *   milliseconds, so an external tool rewriting it in several steps triggers a single reload.
+ * - Skips the changes made by the application itself, recorded through {@link #markUpToDate(String, FileState)},
+ *   which the observers have already applied, unless the file had also changed outside the application before the write.
+ * - Notifies the {@link FileManager} observers, that reload their snapshots.
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single watcher, and watcher thread, is shared by the application.
+ * - Observer Pattern: observes the configuration and triggers the file observers.
+ */
+public class FileWatcher implements ConfigObserver {
+    /**
+     * Logger instance for logging FileWatcher operations.
+     */
+    private static final Logger logger = LogManager.getLogger(FileWatcher.class);
+
+    /**
+     * Configuration keys naming the files watched by the shared instance.
+     */
+    static final List<String> WATCHED_KEYS = List.of("noun.file", "verb.file", "adjective.file", "sentence.structures");
+
+    /**
+     * Singleton instance of the FileWatcher.
+     */
+    private static FileWatcher instance;
+
+    /**
+     * Size and modification time of a file, used to recognise a file that has not changed since it was last read.
+     *
+     * @param size         the size of the file in bytes.
+     * @param lastModified the modification time of the file, in milliseconds.
+     */
+    record FileState(long size, long lastModified) {
+    }
+
+    /**
+     * Quiet period after the last event of a file before it is reloaded, in nanoseconds.
+     */
+    private final long debounceNanos;
+
+    /**
+     * The watch service of the default file system.
+     */
+    private final WatchService watchService;
+
+    /**
+     * Watched files, by absolute path, with the path the observers know them by.
+     */
+    private final Map<Path, String> watchedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Last known state of the watched files, by absolute path.
+     */
+    private final Map<Path, FileState> knownStates = new ConcurrentHashMap<>();
+
+    /**
+     * Registered directories, by absolute path; guarded by {@code this}.
+     */
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+
+    /**
+     * Files waiting for their quiet period to end, with its deadline in nanoseconds; used by the watcher thread only.
+     */
+    private final Map<Path, Long> pending = new HashMap<>();
+
+    /**
+     * Thread waiting for the events and reloading the files.
+     */
+    private final Thread watcher;
+
+    /**
+     * Whether the watcher is still running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a watcher and starts its thread. No file is watched until {@link #watch(String)} is called.
+     *
+     * @param debounceMillis the quiet period before a changed file is reloaded; must not be negative.
+     * @throws IllegalArgumentException if the quiet period is negative.
+     * @throws RuntimeException         if the watch service cannot be created.
+     */
+    public FileWatcher(long debounceMillis) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce time cannot be negative: " + debounceMillis);
+        }
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while creating the watch service", e);
+        }
+        this.watcher = new Thread(this::watchLoop, "file-watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+        logger.info("FileWatcher started with debounce {} ms", debounceMillis);
+    }
+
+    /**
+     * Retrieves the shared watcher, watching the configured word and structure files
+     * with the quiet period set by {@code watch.debounce.ms}.
+     *
+     * @return the shared FileWatcher.
+     */
+    public static synchronized FileWatcher getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            instance = new FileWatcher(config.getLong("watch.debounce.ms", 500));
+            instance.syncWithConfig();
+            config.addObserver(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the shared watcher, if it was created.
+     */
+    public static synchronized void shutdownInstance() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Reads the state of a file before the application writes it, to pass to {@link #markUpToDate(String, FileState)}.
+     *
+     * @param filePath the path of the file.
+     * @return the state, or null if the file does not exist.
+     */
+    static FileState stateOf(String filePath) {
+        return readState(toAbsolute(filePath));
+    }
+
+    /**
+     * Records that a file has been written by the application, whose observers have already been notified,
+     * so that the resulting watch event does not reload it again. Does nothing if the shared watcher is not running.
+     *
+     * @param filePath the path of the written file.
+     * @param before   the state of the file read with {@link #stateOf(String)} before the write.
+     */
+    static void markUpToDate(String filePath, FileState before) {
+        FileWatcher current;
+        synchronized (FileWatcher.class) {
+            current = instance;
+        }
+        if (current != null) {
+            current.markWritten(filePath, before);
+        }
+    }
+
+    /**
+     * Starts watching a file. The file does not need to exist: it is picked up when it is created.
+     *
+     * @param filePath the path of the file, as known by the observers.
+     * @throws RuntimeException if the directory of the file cannot be watched.
+     */
+    public synchronized void watch(String filePath) {
+        Path path = toAbsolute(filePath);
+        Path directory = path.getParent();
+        if (!directories.containsKey(directory)) {
+            try {
+                directories.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+            } catch (IOException e) {
+                throw new RuntimeException("Error while watching directory: " + directory, e);
+            }
+        }
+        watchedFiles.put(path, filePath);
+        recordState(path);
+        logger.debug("Watching {}", path);
+    }
+
+    /**
+     * Stops watching a file, and its directory when no other watched file is in it.
+     *
+     * @param filePath the path of the file.
+     */
+    public synchronized void unwatch(String filePath) {
+        Path path = toAbsolute(filePath);
+        if (watchedFiles.remove(path) == null) {
+            return;
+        }
+        knownStates.remove(path);
+        Path directory = path.getParent();
+        if (watchedFiles.keySet().stream().noneMatch(file -> file.getParent().equals(directory))) {
+            WatchKey key = directories.remove(directory);
+            if (key != null) {
+                key.cancel();
+            }
+        }
+        logger.debug("Stopped watching {}", path);
+    }
+
+    /**
+     * Indicates whether a file is watched.
+     *
+     * @param filePath the path of the file.
+     * @return true if changes to the file are detected.
+     */
+    public boolean isWatched(String filePath) {
+        return watchedFiles.containsKey(toAbsolute(filePath));
+    }
+
+    /**
+     * Records the current state of a watched file as already known by the observers.
+     *
+     * @param filePath the path of the file.
+     */
+    public void markRead(String filePath) {
+        Path path = toAbsolute(filePath);
+        if (watchedFiles.containsKey(path)) {
+            recordState(path);
+        }
+    }
+
+    /**
+     * Records the current state of a watched file written by the application, only if its state before the write
+     * was the known one. Otherwise the file also changed outside the application, and the pending reload must happen.
+     *
+     * @param filePath the path of the file.
+     * @param before   the state of the file before the write, or null if it did not exist.
+     */
+    void markWritten(String filePath, FileState before) {
+        Path path = toAbsolute(filePath);
+        if (!watchedFiles.containsKey(path)) {
+            return;
+        }
+        FileState after = readState(path);
+        knownStates.compute(path, (file, known) -> {
+            if (Objects.equals(known, before)) {
+                return after;
+            }
+            logger.debug("{} changed outside the application before the write, keeping the reload", path);
+            return known;
+        });
+    }
+
+    /**
+     * Records the current state of a file, or forgets it if the file does not exist.
+     *
+     * @param path the absolute path of the file.
+     */
+    private void recordState(Path path) {
+        FileState state = readState(path);
+        if (state == null) {
+            knownStates.remove(path);
+        } else {
+            knownStates.put(path, state);
+        }
+    }
+
+    /**
+     * Follows the configuration: when a watched file is replaced by another one, the new file is watched instead.
+     *
+     * @param key   The configuration property that has been updated.
+     * @param value The new value of the configuration property.
+     */
+    @Override
+    public void onConfigChange(String key, String value) {
+        if (WATCHED_KEYS.contains(key)) {
+            syncWithConfig();
+        }
+    }
+
+    /**
+     * Follows the configuration once for all the changes of a configuration update.
+     *
+     * @param changes The changed configuration keys with their new values.
+     */
+    @Override
+    public void onConfigChange(Map<String, String> changes) {
+        if (WATCHED_KEYS.stream().anyMatch(changes::containsKey)) {
+            syncWithConfig();
+        }
+    }
+
+    /**
+     * Watches the files currently named by the configuration and stops watching the others.
+     */
+    private synchronized void syncWithConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        List<String> configured = WATCHED_KEYS.stream().map(k -> config.getProperty(k, "")).filter(p -> !p.isEmpty()).toList();
+        // Si smette di osservare i file non più configurati
+        for (String filePath : List.copyOf(watchedFiles.values())) {
+            if (!configured.contains(filePath)) {
+                unwatch(filePath);
+            }
+        }
+        for (String filePath : configured) {
+            if (isWatched(filePath)) {
+                continue;
+            }
+            try {
+                watch(filePath);
+            } catch (RuntimeException e) {
+                logger.warn("Cannot watch {} for external changes", filePath, e);
+            }
+        }
+    }
+
+    /**
+     * Stops the watcher thread and closes the watch service.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the watch service", e);
+        }
+        watcher.interrupt();
+        logger.info("FileWatcher stopped");
+    }
+
+    /**
+     * Waits for the events, postpones the reload of each changed file until its quiet period has elapsed,
+     * then reloads the files whose content differs from the last known state.
+     */
+    private void watchLoop() {
+        while (running) {
+            try {
+                WatchKey key = pending.isEmpty() ? watchService.take()
+                        : watchService.poll(nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    collectEvents(key);
+                }
+                reloadExpired();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Error while processing file changes", e);
+            }
+        }
+    }
+
+    /**
+     * Postpones the reload of the watched files named by the events of a key.
+     *
+     * @param key the signalled key.
+     */
+    private void collectEvents(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        long deadline = System.nanoTime() + debounceNanos;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Eventi persi: si ricontrollano tutti i file della cartella
+                watchedFiles.keySet().stream()
+                        .filter(file -> file.getParent().equals(directory))
+                        .forEach(file -> pending.put(file, deadline));
+            } else {
+                Path file = directory.resolve((Path) event.context());
+                if (watchedFiles.containsKey(file)) {
+                    pending.put(file, deadline);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Retrieves the earliest deadline of the pending files.
+     *
+     * @return the deadline, in nanoseconds.
+     */
+    private long nextDeadline() {
+        return pending.values().stream().mapToLong(Long::longValue).min().orElse(System.nanoTime());
+    }
+
+    /**
+     * Reloads the pending files whose quiet period has elapsed.
+     */
+    private void reloadExpired() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, Long> entry = iterator.next();
+            if (entry.getValue() - now <= 0) {
+                iterator.remove();
+                reload(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Notifies the observers of a changed file, unless its state is the one they already know.
+     *
+     * @param path the absolute path of the file.
+     */
+    private void reload(Path path) {
+        String filePath = watchedFiles.get(path);
+        if (filePath == null) {
+            return;
+        }
+        FileState state = readState(path);
+        if (Objects.equals(state, knownStates.get(path))) {
+            logger.debug("Ignoring change to {}: already up to date", path);
+            return;
+        }
+        if (state == null) {
+            // File rimosso o in fase di sostituzione: si attende che ricompaia
+            logger.warn("Watched file {} is missing, keeping the loaded content", path);
+            return;
+        }
+        knownStates.put(path, state);
+        logger.info("External change detected in {}, reloading", path);
+        try {
+            FileManager.notifyFileChanged(filePath);
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload {}", path, e);
+        }
+    }
+
+    /**
+     * Reads the size and modification time of a file.
+     *
+     * @param path the file.
+     * @return the state, or null if the file does not exist.
+     */
+    private static FileState readState(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a file path to the absolute, normalized form used as a key.
+     *
+     * @param filePath the path of the file.
+     * @return the absolute path.
+     */
+    private static Path toAbsolute(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+}
@@ -8,12 +8,20 @@ import org.apache.logging.log4j.Logger;
  * <p>Responsibilities:</p>
  * - Provides a centralized mechanism for getting logger instances.
  * - Ensures only one instance of the logger manager exists throughout the application's lifecycle.
+ * - Provides the "hot path" loggers, for the events logged once or more per sentence: they belong to the
+ *   {@value #HOT_PATH_CATEGORY} category, rate-limited in log4j2.properties so that batch runs do not
+ *   spend more time logging than generating.
  *
  * <p>Design Pattern:</p>
  * - Implements the Singleton design pattern to maintain a single, globally accessible LoggerManager instance.
  */
 public class LoggerManager {
 
+    /**
+     * Logger category of the hot path events, configured with a BurstFilter in log4j2.properties.
+     */
+    public static final String HOT_PATH_CATEGORY = "hotpath";
+
     /**
      * Singleton instance of the LoggerManager.
      * Ensures a single, globally accessible logger manager throughout the application's lifecycle.
@@ -53,4 +61,16 @@ public class LoggerManager {
     public Logger getLogger(Class<?> clazz) {
         return LogManager.getLogger(clazz);
     }
+
+    /**
+     * Retrieves the hot path logger of the provided class, named after the class within the
+     * {@value #HOT_PATH_CATEGORY} category. Its INFO and lower events are dropped beyond the configured rate,
+     * warnings and errors are always logged.
+     *
+     * @param clazz The class object for which the logger is being requested.
+     * @return A rate-limited logger instance associated with the specified class.
+     */
+    public Logger getHotPathLogger(Class<?> clazz) {
+        return LogManager.getLogger(HOT_PATH_CATEGORY + "." + clazz.getName());
+    }
 }
@@ -0,0 +1,346 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the latency metrics of the stages of sentence analysis and generation.
+ *
+ * <p>Responsibilities:
+ * - Keeps a call counter and a latency histogram for every {@link Stage}.
+ * - Exposes the metrics of every stage as an MXBean named {@code unipd.edids:type=Metrics,stage=<name>}.
+ * - Writes a snapshot of the stages with recorded calls to the log every {@code metrics.log.interval.ms}
+ *   milliseconds; 0 disables the periodic snapshot.
+ * - Lets other components publish their own metrics through {@link #registerSource(String, Object, Supplier)}:
+ *   an MXBean named {@code unipd.edids:type=<name>} and a line of the periodic snapshot.
+ * - Records nothing while {@code metrics.enabled} is false: timing a stage then costs a single volatile read.
+ *
+ * <p>Usage, around the code of a stage:
+ * <pre>{@code
+ * long start = MetricsManager.getInstance().start();
+ * try {
+ *     ...
+ * } finally {
+ *     MetricsManager.getInstance().record(MetricsManager.Stage.SAVE, start);
+ * }
+ * }</pre>
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single registry is shared by the whole process.
+ * - Observer: implements ConfigObserver to react to configuration changes.
+ */
+public class MetricsManager implements ConfigObserver {
+    /**
+     * Logger instance for logging MetricsManager operations.
+     */
+    private static final Logger logger = LogManager.getLogger(MetricsManager.class);
+
+    /**
+     * Prefix shared by the configuration keys of the metrics.
+     */
+    private static final String CONFIG_PREFIX = "metrics.";
+
+    /**
+     * JMX domain of the registered MXBeans.
+     */
+    static final String JMX_DOMAIN = "unipd.edids";
+
+    /**
+     * Start time returned by {@link #start()} when the metrics are disabled: a call started with it is not recorded.
+     */
+    public static final long NOT_TIMED = 0L;
+
+    /**
+     * Singleton instance of the MetricsManager.
+     */
+    private static volatile MetricsManager instance;
+
+    /**
+     * The measured processing stages.
+     */
+    public enum Stage {
+        /**
+         * Validation of the analyzed text or of the generation input.
+         */
+        VALIDATION("validation"),
+        /**
+         * Syntax analysis by the Google Natural Language API, cache hits included.
+         */
+        API_SYNTAX("apiSyntax"),
+        /**
+         * Annotation of a text by the StanfordCoreNLP pipeline.
+         */
+        CORENLP_PARSE("corenlpParse"),
+        /**
+         * Choice of the sentence structure and resolution of its recursive slots.
+         */
+        STRUCTURE_RESOLUTION("structureResolution"),
+        /**
+         * Selection of the words of a generated sentence.
+         */
+        WORD_POPULATION("wordPopulation"),
+        /**
+         * Rendering of the structure with the selected words.
+         */
+        PLACEHOLDER_REPLACEMENT("placeholderReplacement"),
+        /**
+         * Moderation of a generated sentence, cache hits included.
+         */
+        MODERATION("moderation"),
+        /**
+         * Saving of an analyzed or generated sentence.
+         */
+        SAVE("save");
+
+        /**
+         * The name of the stage in the log and in JMX.
+         */
+        private final String name;
+
+        /**
+         * Creates a stage.
+         *
+         * @param name the name of the stage in the log and in JMX.
+         */
+        Stage(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Retrieves the name of the stage in the log and in JMX.
+         *
+         * @return the stage name.
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * The metrics of every stage, by ordinal.
+     */
+    private final StageMetrics[] stages = new StageMetrics[Stage.values().length];
+
+    /**
+     * Summaries of the registered metric sources, by name, written with every snapshot.
+     */
+    private final Map<String, Supplier<String>> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Whether calls are recorded.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * Executor writing the periodic snapshots, created on first use.
+     */
+    private ScheduledExecutorService reporter;
+
+    /**
+     * The scheduled periodic snapshot, or null if it is disabled.
+     */
+    private ScheduledFuture<?> reportTask;
+
+    /**
+     * Private constructor, creates the metrics of every stage, registers them over JMX,
+     * applies the current configuration and observes its changes.
+     */
+    private MetricsManager() {
+        for (Stage stage : Stage.values()) {
+            stages[stage.ordinal()] = new StageMetrics(stage.getName());
+        }
+        registerMBeans();
+        configure();
+        ConfigManager.getInstance().addObserver(this);
+    }
+
+    /**
+     * Retrieves the singleton instance of the MetricsManager.
+     *
+     * @return the shared MetricsManager.
+     */
+    public static MetricsManager getInstance() {
+        if (instance == null) {
+            synchronized (MetricsManager.class) {
+                if (instance == null) {
+                    instance = new MetricsManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts timing a call.
+     *
+     * @return the start time to pass to {@link #record(Stage, long)}, or {@link #NOT_TIMED} if the metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records a call started with {@link #start()}, whether it succeeded or failed.
+     *
+     * @param stage the stage of the call.
+     * @param start the start time returned by {@link #start()}; calls started while the metrics were disabled are ignored.
+     */
+    public void record(Stage stage, long start) {
+        if (start != NOT_TIMED) {
+            stages[stage.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retrieves the metrics of a stage.
+     *
+     * @param stage the stage.
+     * @return the metrics of the stage.
+     */
+    public StageMetrics getStage(Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    /**
+     * Indicates whether calls are recorded.
+     *
+     * @return true if the metrics are enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Discards the recorded calls of every stage.
+     */
+    public void reset() {
+        for (StageMetrics metrics : stages) {
+            metrics.reset();
+        }
+        logger.info("Metrics reset.");
+    }
+
+    /**
+     * Writes the metrics of every stage with recorded calls and the summary of every registered source to the log.
+     */
+    public void logSnapshot() {
+        for (StageMetrics metrics : stages) {
+            StageMetrics.Snapshot snapshot = metrics.snapshot();
+            if (snapshot.count() > 0) {
+                logger.info(String.format("Metrics %s: count=%d, mean=%.3f ms, p50=%.3f ms, p95=%.3f ms, p99=%.3f ms, max=%.3f ms",
+                        snapshot.stage(), snapshot.count(), snapshot.meanMillis(), snapshot.p50Millis(),
+                        snapshot.p95Millis(), snapshot.p99Millis(), snapshot.maxMillis()));
+            }
+        }
+        sources.forEach((name, summary) -> logger.info("Metrics {}: {}", name, summary.get()));
+    }
+
+    /**
+     * Publishes the metrics of another component: registers its MXBean as {@code unipd.edids:type=<name>},
+     * replacing a previous registration, and adds its summary to every snapshot written to the log.
+     * A JMX failure is logged and does not prevent the summary from being logged.
+     *
+     * @param name    the name of the source, e.g. "Tasks".
+     * @param mxBean  the MXBean exposing the metrics of the source.
+     * @param summary produces the one-line summary of the metrics written with each snapshot.
+     */
+    public void registerSource(String name, Object mxBean, Supplier<String> summary) {
+        sources.put(name, summary);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mxBean, objectName);
+            logger.info("Metrics of {} registered over JMX as {}", name, objectName);
+        } catch (JMException e) {
+            logger.warn("Unable to register the metrics of {} over JMX", name, e);
+        }
+    }
+
+    /**
+     * Registers the MXBean of every stage on the platform MBean server, replacing a previous registration.
+     * A failure is logged and does not prevent the metrics from being recorded.
+     */
+    private void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (StageMetrics metrics : stages) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Metrics,stage=" + metrics.getStage());
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(metrics, name);
+            } catch (JMException e) {
+                logger.warn("Unable to register the metrics of stage {} over JMX", metrics.getStage(), e);
+            }
+        }
+        logger.info("Metrics of {} stages registered over JMX in domain {}", stages.length, JMX_DOMAIN);
+    }
+
+    /**
+     * Applies the current configuration: enables or disables the recording and (re)schedules the periodic snapshot.
+     */
+    private synchronized void configure() {
+        ConfigManager config = ConfigManager.getInstance();
+        enabled = config.getBoolean(CONFIG_PREFIX + "enabled", true);
+        long intervalMillis = config.getLong(CONFIG_PREFIX + "log.interval.ms", 60000);
+
+        if (reportTask != null) {
+            reportTask.cancel(false);
+            reportTask = null;
+        }
+        if (enabled && intervalMillis > 0) {
+            if (reporter == null) {
+                reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "metrics-reporter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            reportTask = reporter.scheduleWithFixedDelay(this::logSnapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Metrics {}, snapshot logged every {} ms", enabled ? "enabled" : "disabled", enabled ? intervalMillis : 0);
+    }
+
+    /**
+     * Applies the configuration when one of the metrics keys changes.
+     *
+     * @param key   the configuration key that has changed.
+     * @param value the new value of the key.
+     */
+    @Override
+    public void onConfigChange(String key, String value) {
+        if (key.startsWith(CONFIG_PREFIX)) {
+            logger.info("Metrics configuration changed: {} = {}", key, value);
+            configure();
+        }
+    }
+
+    /**
+     * Applies the configuration once when any of the metrics keys changes in a configuration update.
+     *
+     * @param changes the changed configuration keys with their new values.
+     */
+    @Override
+    public void onConfigChange(Map<String, String> changes) {
+        if (changes.keySet().stream().anyMatch(key -> key.startsWith(CONFIG_PREFIX))) {
+            logger.info("Metrics configuration changed: {}", changes.keySet());
+            configure();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package unipd.edids.logicBusiness.managers;
+
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.events.CoreNLPParseEvent;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide registry of the StanfordCoreNLP pipelines used for tagging and parsing.
+ *
+ * <p>Responsibilities:
+ * - Loads at most one pipeline per parser setting, in the background, and shares it with every service,
+ *   so that the models are never loaded twice.
+ * - Serves concurrent annotation requests from a bounded pool of permits, configured by {@code corenlp.pool.size}:
+ *   the annotators are thread-safe, so requests run in parallel up to the pool size and wait beyond it.
+ * - Forgets pipelines that failed to load, so that a later request can retry.
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single registry is shared by the whole process.
+ * - Registry: pipelines are looked up by their parser setting.
+ */
+public class PipelineManager {
+    /**
+     * Logger instance for logging PipelineManager operations.
+     */
+    private static final Logger logger = LogManager.getLogger(PipelineManager.class);
+
+    /**
+     * Classpath location of the English shift-reduce parser model.
+     */
+    private static final String SHIFT_REDUCE_MODEL = "edu/stanford/nlp/models/srparser/englishSR.ser.gz";
+
+    /**
+     * Parser setting of the pipeline that tags the words without parsing them.
+     */
+    public static final String NO_PARSER = "none";
+
+    /**
+     * Registry key of the pipeline that only tokenizes the text and splits it into sentences.
+     */
+    private static final String SENTENCE_SPLITTER = "ssplit";
+
+    /**
+     * Parser settings accepted by {@link #load(String)}.
+     */
+    private static final Set<String> SUPPORTED_PARSERS = Set.of("pcfg", "sr", NO_PARSER);
+
+    /**
+     * Singleton instance of the PipelineManager.
+     */
+    private static volatile PipelineManager instance;
+
+    /**
+     * Pipelines loaded or loading, by parser setting.
+     */
+    private final Map<String, CompletableFuture<StanfordCoreNLP>> pipelines = new ConcurrentHashMap<>();
+
+    /**
+     * Permits bounding the number of concurrent annotation requests.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Number of permits of the pool.
+     */
+    private final int poolSize;
+
+    /**
+     * Creates a registry serving at most the given number of concurrent requests.
+     *
+     * @param poolSize the maximum number of concurrent annotation requests; must be positive.
+     * @throws IllegalArgumentException if the pool size is not positive.
+     */
+    PipelineManager(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pipeline pool size must be positive: " + poolSize);
+        }
+        this.poolSize = poolSize;
+        this.permits = new Semaphore(poolSize);
+        logger.info("PipelineManager created with a pool of {} concurrent requests", poolSize);
+    }
+
+    /**
+     * Retrieves the singleton instance of the PipelineManager. The pool size is read from
+     * {@code corenlp.pool.size}; 0 or a missing value means the number of available processors.
+     *
+     * @return the shared PipelineManager.
+     */
+    public static PipelineManager getInstance() {
+        if (instance == null) {
+            synchronized (PipelineManager.class) {
+                if (instance == null) {
+                    int poolSize = ConfigManager.getInstance().getInt("corenlp.pool.size", 0);
+                    instance = new PipelineManager(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts loading the pipeline for a parser setting, unless it is already loaded or loading.
+     *
+     * @param parser the parser setting: pcfg, sr or none.
+     * @return a future completed with the shared pipeline once it is ready.
+     * @throws IllegalArgumentException if the parser setting is invalid.
+     */
+    public CompletableFuture<StanfordCoreNLP> load(String parser) {
+        if (!SUPPORTED_PARSERS.contains(parser)) {
+            throw new IllegalArgumentException("Invalid CoreNLP parser: " + parser + ". Expected pcfg, sr or none.");
+        }
+        return loadPipeline(parser);
+    }
+
+    /**
+     * Starts loading the pipeline registered under a key, unless it is already loaded or loading.
+     *
+     * @param parser the registry key: a parser setting or {@value #SENTENCE_SPLITTER}.
+     * @return a future completed with the shared pipeline once it is ready.
+     */
+    private CompletableFuture<StanfordCoreNLP> loadPipeline(String parser) {
+        CompletableFuture<StanfordCoreNLP> future = pipelines.computeIfAbsent(parser, key ->
+                CompletableFuture.supplyAsync(() -> createPipeline(key), runnable -> {
+                    Thread loader = new Thread(runnable, "corenlp-loader-" + key);
+                    loader.setDaemon(true);
+                    loader.start();
+                }));
+        // Un caricamento fallito viene dimenticato, così la richiesta successiva può riprovare.
+        future.whenComplete((pipeline, failure) -> {
+            if (failure != null) {
+                pipelines.remove(parser, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Retrieves the pipeline for a parser setting, waiting for it to finish loading if needed.
+     *
+     * @param parser the parser setting: pcfg, sr or none.
+     * @return the shared pipeline.
+     * @throws IllegalArgumentException if the parser setting is invalid.
+     * @throws RuntimeException         if the pipeline could not be loaded.
+     */
+    public StanfordCoreNLP getPipeline(String parser) {
+        return join(load(parser));
+    }
+
+    /**
+     * Waits for a pipeline to finish loading.
+     *
+     * @param future the loading pipeline.
+     * @return the loaded pipeline.
+     * @throws RuntimeException if the pipeline could not be loaded.
+     */
+    private static StanfordCoreNLP join(CompletableFuture<StanfordCoreNLP> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to load the StanfordCoreNLP pipeline: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Annotates a text with the shared pipeline of a parser setting, waiting for a free permit of the pool.
+     *
+     * @param parser the parser setting: pcfg, sr or none.
+     * @param text   the text to annotate.
+     * @return the annotated document.
+     * @throws RuntimeException if the pipeline could not be loaded or the thread was interrupted while waiting.
+     */
+    public CoreDocument process(String parser, String text) {
+        return annotate(parser, getPipeline(parser), text);
+    }
+
+    /**
+     * Splits a text into sentences with a dedicated tokenize and ssplit pipeline, without tagging or parsing it,
+     * waiting for a free permit of the pool.
+     *
+     * @param text the text to split.
+     * @return the document holding the tokens and sentences of the text.
+     * @throws RuntimeException if the pipeline could not be loaded or the thread was interrupted while waiting.
+     */
+    public CoreDocument splitSentences(String text) {
+        return annotate(SENTENCE_SPLITTER, join(loadPipeline(SENTENCE_SPLITTER)), text);
+    }
+
+    /**
+     * Annotates a text with a pipeline, waiting for a free permit of the pool.
+     *
+     * @param parser   the registry key of the pipeline, recorded in the Flight Recorder event.
+     * @param pipeline the pipeline.
+     * @param text     the text to annotate.
+     * @return the annotated document.
+     * @throws RuntimeException if the thread was interrupted while waiting.
+     */
+    private CoreDocument annotate(String parser, StanfordCoreNLP pipeline, String text) {
+        CoreNLPParseEvent event = new CoreNLPParseEvent();
+        event.begin();
+        long waitStart = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a StanfordCoreNLP pipeline.", e);
+        }
+        event.waitTime = System.nanoTime() - waitStart;
+        CoreDocument document = null;
+        try {
+            document = pipeline.processToCoreDocument(text);
+            return document;
+        } finally {
+            permits.release();
+            if (event.shouldCommit()) {
+                event.parser = parser;
+                event.textLength = text.length();
+                event.sentences = document == null ? 0 : document.sentences().size();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the pipeline of a parser setting has finished loading successfully.
+     *
+     * @param parser the parser setting.
+     * @return true if the pipeline is ready.
+     */
+    public boolean isLoaded(String parser) {
+        CompletableFuture<StanfordCoreNLP> future = pipelines.get(parser);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * Retrieves the number of permits of the pool.
+     *
+     * @return the maximum number of concurrent annotation requests.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Retrieves the number of permits not currently in use.
+     *
+     * @return the number of requests that can start without waiting.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Builds a pipeline with the annotators and parser model required by the given parser setting.
+     * If the shift-reduce model is not on the classpath, the PCFG parser is used instead.
+     *
+     * @param parser the parser setting: pcfg, sr or none, or {@value #SENTENCE_SPLITTER} for the sentence splitter.
+     * @return the new pipeline.
+     * @throws IllegalArgumentException if the parser setting is invalid.
+     */
+    static StanfordCoreNLP createPipeline(String parser) {
+        long start = System.nanoTime();
+        Properties props = new Properties();
+        switch (parser) {
+            case SENTENCE_SPLITTER -> props.setProperty("annotators", "tokenize,ssplit");
+            case NO_PARSER -> props.setProperty("annotators", "tokenize,ssplit,pos");
+            case "pcfg" -> props.setProperty("annotators", "tokenize,ssplit,pos,parse");
+            case "sr" -> {
+                props.setProperty("annotators", "tokenize,ssplit,pos,parse");
+                if (PipelineManager.class.getClassLoader().getResource(SHIFT_REDUCE_MODEL) != null) {
+                    props.setProperty("parse.model", SHIFT_REDUCE_MODEL);
+                } else {
+                    logger.warn("Shift-reduce model {} not found on the classpath, using the PCFG parser.", SHIFT_REDUCE_MODEL);
+                }
+            }
+            default -> throw new IllegalArgumentException("Invalid CoreNLP parser: " + parser + ". Expected pcfg, sr or none.");
+        }
+        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
+        logger.info("StanfordCoreNLP pipeline initialized in {} ms with properties: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), props);
+        return pipeline;
+    }
+}
@@ -0,0 +1,245 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Provides the random number generators used by every random choice of the sentence generation.
+ *
+ * <p>Responsibilities:
+ * - Hands out one generator per thread, so random choices neither allocate nor contend on a shared seed.
+ * - Lets the generator algorithm be replaced, defaulting to {@value #DEFAULT_ALGORITHM}.
+ * - Supports an explicit seed for reproducible runs, and per-task reseeding so that parallel jobs
+ *   stay deterministic regardless of which thread runs which task; a task restores the generator of its thread
+ *   when it ends, so that later unseeded work on the same thread stays unpredictable.
+ *
+ * <p>The algorithm and the process-wide seed are set programmatically only, e.g. by tests, benchmarks or
+ * headless tools: they are neither read from the configuration nor exposed in the UI.
+ *
+ * <p>Design Pattern:
+ * - Static utility, like {@link FileManager}: the generators are reached from hot paths without an instance lookup.
+ */
+public class RandomManager {
+    /**
+     * Logger instance for logging RandomManager operations.
+     */
+    private static final Logger logger = LogManager.getLogger(RandomManager.class);
+
+    /**
+     * Name of the generator algorithm used when none is configured.
+     */
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * Odd constant used to spread consecutive seeds over the whole seed space.
+     */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Current settings; replaced as a whole so that threads always see a consistent algorithm, seed and epoch.
+     */
+    private static volatile Settings settings = new Settings(RandomGeneratorFactory.of(DEFAULT_ALGORITHM), null, 0);
+
+    /**
+     * Counter used to give each thread a distinct stream when a seed is set.
+     */
+    private static final AtomicLong streamCounter = new AtomicLong();
+
+    /**
+     * Generator owned by the current thread, tagged with the epoch of the settings it was created from.
+     */
+    private static final ThreadLocal<ThreadGenerator> threadGenerator = new ThreadLocal<>();
+
+    /**
+     * Immutable snapshot of the generator settings.
+     *
+     * @param factory the factory creating new generators.
+     * @param seed    the base seed, or null for non-deterministic generators.
+     * @param epoch   incremented on every change, to invalidate the generators created before it.
+     */
+    private record Settings(RandomGeneratorFactory<RandomGenerator> factory, Long seed, long epoch) {
+    }
+
+    /**
+     * A thread's generator along with the settings epoch it was created in.
+     */
+    private record ThreadGenerator(RandomGenerator generator, long epoch) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private RandomManager() {
+    }
+
+    /**
+     * Retrieves the generator of the current thread, creating it on first use or after the settings changed.
+     * The returned generator must not be shared with other threads.
+     *
+     * @return the random generator of the current thread.
+     */
+    public static RandomGenerator current() {
+        Settings current = settings;
+        ThreadGenerator local = threadGenerator.get();
+        if (local == null || local.epoch() != current.epoch()) {
+            RandomGenerator generator = current.seed() == null
+                    ? current.factory().create()
+                    : current.factory().create(mixSeed(current.seed(), streamCounter.getAndIncrement()));
+            local = new ThreadGenerator(generator, current.epoch());
+            threadGenerator.set(local);
+        }
+        return local.generator();
+    }
+
+    /**
+     * Returns a random index between 0 (inclusive) and the given bound (exclusive),
+     * drawn from the generator of the current thread.
+     *
+     * @param bound the upper bound; must be positive.
+     * @return a random index.
+     */
+    public static int nextIndex(int bound) {
+        return current().nextInt(bound);
+    }
+
+    /**
+     * Sets a base seed, making the generators created from now on reproducible.
+     * Each thread derives its own stream from the seed in the order threads first draw a number.
+     * Programmatic only: the seed is not read from the configuration.
+     *
+     * @param seed the base seed.
+     */
+    public static synchronized void setSeed(long seed) {
+        streamCounter.set(0);
+        settings = new Settings(settings.factory(), seed, settings.epoch() + 1);
+        logger.info("Random generators seeded with {}", seed);
+    }
+
+    /**
+     * Removes the base seed, so that new generators are seeded non-deterministically.
+     */
+    public static synchronized void clearSeed() {
+        settings = new Settings(settings.factory(), null, settings.epoch() + 1);
+        logger.info("Random generators seed cleared.");
+    }
+
+    /**
+     * Replaces the generator algorithm used by all threads.
+     * Programmatic only: the algorithm is not read from the configuration.
+     *
+     * @param algorithm the name of a {@link RandomGeneratorFactory} algorithm, e.g. "SplittableRandom".
+     * @throws IllegalArgumentException if the algorithm is null or not available.
+     */
+    public static synchronized void setAlgorithm(String algorithm) {
+        if (algorithm == null || algorithm.isBlank()) {
+            throw new IllegalArgumentException("The random algorithm cannot be null or empty.");
+        }
+        settings = new Settings(RandomGeneratorFactory.of(algorithm), settings.seed(), settings.epoch() + 1);
+        logger.info("Random generator algorithm set to {}", algorithm);
+    }
+
+    /**
+     * Retrieves the name of the generator algorithm in use.
+     *
+     * @return the algorithm name.
+     */
+    public static String getAlgorithm() {
+        return settings.factory().name();
+    }
+
+    /**
+     * Replaces the generator of the current thread with one created from the given seed, until the returned scope
+     * is closed. Used by parallel jobs to make each task reproducible independently of the thread running it:
+     * <pre>{@code
+     * RandomManager.SeedScope scope = RandomManager.reseedCurrentThread(seed);
+     * try {
+     *     ...
+     * } finally {
+     *     scope.close();
+     * }
+     * }</pre>
+     *
+     * @param seed the seed of the current task.
+     * @return the scope restoring the previous generator of the thread when closed.
+     */
+    public static SeedScope reseedCurrentThread(long seed) {
+        Settings current = settings;
+        ThreadGenerator previous = threadGenerator.get();
+        threadGenerator.set(new ThreadGenerator(current.factory().create(seed), current.epoch()));
+        return new SeedScope(previous, true);
+    }
+
+    /**
+     * Retrieves a scope that leaves the generator of the current thread unchanged, for the tasks that are not seeded.
+     *
+     * @return a scope whose {@link SeedScope#close()} does nothing.
+     */
+    public static SeedScope keepCurrentThread() {
+        return SeedScope.UNCHANGED;
+    }
+
+    /**
+     * Scope of a generator installed by {@link #reseedCurrentThread(long)}; closing it restores the generator
+     * the thread had before. It must be closed on the thread that created it.
+     */
+    public static final class SeedScope implements AutoCloseable {
+        /**
+         * Scope of the tasks that keep the generator of their thread.
+         */
+        private static final SeedScope UNCHANGED = new SeedScope(null, false);
+
+        /**
+         * The generator of the thread before the reseed, or null if it had none.
+         */
+        private final ThreadGenerator previous;
+
+        /**
+         * Whether the thread was reseeded, so that closing the scope restores its previous generator.
+         */
+        private final boolean reseeded;
+
+        /**
+         * Creates the scope of a reseed.
+         *
+         * @param previous the generator of the thread before the reseed, or null if it had none.
+         * @param reseeded whether the thread was reseeded.
+         */
+        private SeedScope(ThreadGenerator previous, boolean reseeded) {
+            this.previous = previous;
+            this.reseeded = reseeded;
+        }
+
+        /**
+         * Restores the generator the thread had before the reseed; does nothing if the thread was not reseeded.
+         */
+        @Override
+        public void close() {
+            if (!reseeded) {
+                return;
+            }
+            if (previous == null) {
+                threadGenerator.remove();
+            } else {
+                threadGenerator.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Derives a well-distributed seed for the given stream from a base seed.
+     *
+     * @param seed   the base seed.
+     * @param stream the index of the stream, e.g. a thread or task number.
+     * @return the derived seed.
+     */
+    public static long mixSeed(long seed, long stream) {
+        long z = seed + (stream + 1) * SEED_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,197 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.events.FileWriteEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Long-lived, buffered output channel appending saved sentences to a single file.
+ *
+ * <p>Responsibilities:
+ * - Keeps the save file open between writes, so that saving a sentence does not open and close the file.
+ * - Groups the writes in memory and commits them to the file every {@code flushRecords} lines;
+ *   the owner also flushes it periodically and on shutdown.
+ * - Writes the lines in the same format as {@link FileManager#appendLineToSavingFile(String, String)}.
+ *
+ * <p>Channels are created and shared by {@link FileManager}; one channel exists per save file.
+ */
+public class SavingChannel {
+    /**
+     * Logger instance for logging SavingChannel operations.
+     */
+    private static final Logger logger = LogManager.getLogger(SavingChannel.class);
+
+    /**
+     * The file the lines are appended to.
+     */
+    private final Path path;
+
+    /**
+     * Number of buffered lines that triggers a flush.
+     */
+    private final int flushRecords;
+
+    /**
+     * Writer kept open on the file; guarded by {@code this}.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Number of lines written but not flushed yet; guarded by {@code this}.
+     */
+    private int pending;
+
+    /**
+     * Number of characters written but not flushed yet, line separators included; guarded by {@code this}.
+     */
+    private long pendingCharacters;
+
+    /**
+     * Number of lines written since the channel was opened; guarded by {@code this}.
+     */
+    private long written;
+
+    /**
+     * Opens a channel appending to the given file, creating the file if it does not exist.
+     *
+     * @param path         the file to append to.
+     * @param flushRecords the number of buffered lines that triggers a flush; 1 flushes every line.
+     * @throws IllegalArgumentException if the flush threshold is not positive.
+     * @throws IOException              if the file cannot be opened.
+     */
+    SavingChannel(Path path, int flushRecords) throws IOException {
+        if (flushRecords <= 0) {
+            throw new IllegalArgumentException("Flush threshold must be positive: " + flushRecords);
+        }
+        this.path = path;
+        this.flushRecords = flushRecords;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        logger.debug("Saving channel opened on {} with flush threshold {}", path, flushRecords);
+    }
+
+    /**
+     * Appends a line to the file, flushing the buffer when the flush threshold is reached.
+     *
+     * @param line the line to append.
+     * @throws IllegalStateException if the channel has been closed.
+     * @throws RuntimeException      if an I/O error occurs.
+     */
+    public synchronized void append(String line) {
+        if (writer == null) {
+            throw new IllegalStateException("Saving channel on " + path + " is closed.");
+        }
+        try {
+            writer.newLine(); // Ensure a new line is always added
+            writer.write(line);
+            written++;
+            pendingCharacters += System.lineSeparator().length() + line.length();
+            if (++pending >= flushRecords) {
+                flushBuffer();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing to file: " + path, e);
+        }
+    }
+
+    /**
+     * Commits the buffered lines to the file. Does nothing if nothing is buffered or the channel is closed.
+     *
+     * @throws RuntimeException if an I/O error occurs.
+     */
+    public synchronized void flush() {
+        if (writer == null || pending == 0) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while flushing file: " + path, e);
+        }
+    }
+
+    /**
+     * Flushes the writer and resets the pending counters, recording a {@link FileWriteEvent}; the caller holds the lock.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void flushBuffer() throws IOException {
+        FileWriteEvent event = new FileWriteEvent();
+        event.begin();
+        writer.flush();
+        logger.debug("Flushed {} lines to {}", pending, path);
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.operation = FileWriteEvent.SAVING_CHANNEL_FLUSH;
+            event.lines = pending;
+            event.characters = pendingCharacters;
+            event.commit();
+        }
+        pending = 0;
+        pendingCharacters = 0;
+    }
+
+    /**
+     * Flushes the buffered lines and closes the file. Later appends fail.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (pending > 0) {
+                flushBuffer();
+            }
+            writer.close();
+            logger.debug("Saving channel on {} closed after {} lines", path, written);
+        } catch (IOException e) {
+            logger.error("Failed to close saving channel on {}", path, e);
+        } finally {
+            writer = null;
+            pending = 0;
+            pendingCharacters = 0;
+        }
+    }
+
+    /**
+     * Indicates whether the channel is still open.
+     *
+     * @return true if lines can be appended.
+     */
+    public synchronized boolean isOpen() {
+        return writer != null;
+    }
+
+    /**
+     * Retrieves the number of lines written but not flushed yet.
+     *
+     * @return the number of buffered lines.
+     */
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    /**
+     * Retrieves the number of lines written since the channel was opened.
+     *
+     * @return the number of written lines.
+     */
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    /**
+     * Retrieves the file the channel appends to.
+     *
+     * @return the file path.
+     */
+    public Path getPath() {
+        return path;
+    }
+}
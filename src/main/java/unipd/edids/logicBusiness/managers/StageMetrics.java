@@ -0,0 +1,265 @@
+package unipd.edids.logicBusiness.managers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counter and latency histogram of a single processing stage.
+ *
+ * <p>Responsibilities:
+ * - Records the latency of every call with a few lock-free increments, so concurrent workers never contend on a lock.
+ * - Keeps the latencies in a fixed log-linear histogram of microseconds: every power of two is split into
+ *   {@value #SUB_BUCKETS} buckets, so the percentiles are accurate within 25% whatever the range of the latencies,
+ *   in constant memory.
+ * - Exposes the count, mean, maximum and percentiles over JMX through {@link StageMetricsMXBean}.
+ *
+ * <p>The values are read without stopping the writers: a snapshot taken while calls are being recorded
+ * may miss the latest ones, but is never inconsistent enough to matter for monitoring.
+ */
+public class StageMetrics implements StageMetricsMXBean {
+    /**
+     * Number of bits of a latency used to choose its bucket within its power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 2;
+
+    /**
+     * Number of buckets every power of two is split into.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Highest power of two of microseconds with its own buckets (about 12 days); longer latencies share the last bucket.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Total number of buckets of the histogram.
+     */
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * Name of the stage.
+     */
+    private final String stage;
+
+    /**
+     * Number of recorded calls.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of the recorded latencies, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Highest recorded latency, in nanoseconds.
+     */
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Number of recorded calls per latency bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Point-in-time view of the metrics of a stage, as written in the periodic log snapshot.
+     *
+     * @param stage      the name of the stage.
+     * @param count      the number of recorded calls.
+     * @param meanMillis the mean latency in milliseconds.
+     * @param p50Millis  the median latency in milliseconds.
+     * @param p95Millis  the 95th percentile in milliseconds.
+     * @param p99Millis  the 99th percentile in milliseconds.
+     * @param maxMillis  the maximum latency in milliseconds.
+     */
+    public record Snapshot(String stage, long count, double meanMillis, double p50Millis, double p95Millis,
+                           double p99Millis, double maxMillis) {
+    }
+
+    /**
+     * Creates the metrics of a stage, without any recorded call.
+     *
+     * @param stage the name of the stage.
+     */
+    public StageMetrics(String stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Records a call.
+     *
+     * @param nanos the latency of the call in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        count.increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+        buckets.incrementAndGet(bucketOf(latency / 1000));
+    }
+
+    /**
+     * Retrieves the bucket of a latency.
+     *
+     * @param micros the latency in microseconds, not negative.
+     * @return the index of the bucket.
+     */
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return Math.min(SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    /**
+     * Retrieves the exclusive upper bound of the latencies of a bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the upper bound in microseconds.
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket + 1;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Estimates a percentile of the recorded latencies as the upper bound of its bucket,
+     * capped by the maximum latency.
+     *
+     * @param quantile the percentile as a fraction, between 0 and 1.
+     * @return the percentile in milliseconds, or 0 if no call was recorded.
+     * @throws IllegalArgumentException if the quantile is out of range.
+     */
+    public double getPercentileMillis(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < BUCKETS - 1 && (seen += counts[bucket]) < rank) {
+            bucket++;
+        }
+        return Math.min(upperBoundOf(bucket) * 1000, maxNanos.get()) / 1_000_000.0;
+    }
+
+    /**
+     * Takes a view of the current metrics.
+     *
+     * @return the snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(stage, getCount(), getMeanMillis(), getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+    }
+
+    /**
+     * Retrieves the name of the stage.
+     *
+     * @return the stage name.
+     */
+    @Override
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * Retrieves the number of recorded calls.
+     *
+     * @return the call count.
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Retrieves the total time spent in the stage.
+     *
+     * @return the total latency in milliseconds.
+     */
+    @Override
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * Retrieves the mean latency.
+     *
+     * @return the mean latency in milliseconds, or 0 if no call was recorded.
+     */
+    @Override
+    public double getMeanMillis() {
+        long calls = count.sum();
+        return calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+    }
+
+    /**
+     * Retrieves the highest latency.
+     *
+     * @return the maximum latency in milliseconds, or 0 if no call was recorded.
+     */
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Retrieves the median latency.
+     *
+     * @return the 50th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    @Override
+    public double getP50Millis() {
+        return getPercentileMillis(0.50);
+    }
+
+    /**
+     * Retrieves the 95th percentile of the latency.
+     *
+     * @return the 95th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    @Override
+    public double getP95Millis() {
+        return getPercentileMillis(0.95);
+    }
+
+    /**
+     * Retrieves the 99th percentile of the latency.
+     *
+     * @return the 99th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    @Override
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    /**
+     * Discards every recorded call. Calls recorded while the reset is in progress may be partially kept.
+     */
+    @Override
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package unipd.edids.logicBusiness.managers;
+
+/**
+ * Management interface of the latency metrics of a processing stage, exposed over JMX by {@link MetricsManager}.
+ *
+ * <p>Every stage is registered as {@code unipd.edids:type=Metrics,stage=<name>}, so the values can be read
+ * with JConsole or VisualVM while the application runs. Latencies are in milliseconds and cover
+ * every call recorded since the start of the application or the last reset.
+ */
+public interface StageMetricsMXBean {
+    /**
+     * Retrieves the name of the stage.
+     *
+     * @return the stage name.
+     */
+    String getStage();
+
+    /**
+     * Retrieves the number of recorded calls.
+     *
+     * @return the call count.
+     */
+    long getCount();
+
+    /**
+     * Retrieves the total time spent in the stage.
+     *
+     * @return the total latency in milliseconds.
+     */
+    double getTotalMillis();
+
+    /**
+     * Retrieves the mean latency.
+     *
+     * @return the mean latency in milliseconds, or 0 if no call was recorded.
+     */
+    double getMeanMillis();
+
+    /**
+     * Retrieves the highest latency.
+     *
+     * @return the maximum latency in milliseconds, or 0 if no call was recorded.
+     */
+    double getMaxMillis();
+
+    /**
+     * Retrieves the median latency.
+     *
+     * @return the 50th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    double getP50Millis();
+
+    /**
+     * Retrieves the 95th percentile of the latency.
+     *
+     * @return the 95th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    double getP95Millis();
+
+    /**
+     * Retrieves the 99th percentile of the latency.
+     *
+     * @return the 99th percentile in milliseconds, or 0 if no call was recorded.
+     */
+    double getP99Millis();
+
+    /**
+     * Discards every recorded call.
+     */
+    void reset();
+}
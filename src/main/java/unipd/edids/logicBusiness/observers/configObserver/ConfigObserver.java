@@ -1,11 +1,14 @@
 package unipd.edids.logicBusiness.observers.configObserver;
 
+import java.util.Map;
+
 /**
  * The ConfigObserver interface defines the contract for observing and responding to configuration changes.
  *
  * <p>Responsibilities:
  * - Defines a standardized method to handle configuration changes dynamically.
  * - Allows implementing classes to respond to updates in configuration properties, facilitating adaptability.
+ * - Optionally receives all the changes of a configuration update at once, to react only once to related keys.
  *
  * <p>Design Pattern:
  * - Observer Pattern: Provides a mechanism for implementing objects to observe and react to changes in configuration.
@@ -18,4 +21,14 @@ public interface ConfigObserver {
      * @param value The new value of the configuration property.
      */
     void onConfigChange(String key, String value);
+
+    /**
+     * Reacts to the changes of a configuration update, delivered together once the update is committed.
+     * By default each change is handled on its own, in the order the keys were changed.
+     *
+     * @param changes The changed configuration keys with their new values, in change order.
+     */
+    default void onConfigChange(Map<String, String> changes) {
+        changes.forEach(this::onConfigChange);
+    }
 }
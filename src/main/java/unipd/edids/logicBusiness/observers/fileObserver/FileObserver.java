@@ -1,11 +1,14 @@
 package unipd.edids.logicBusiness.observers.fileObserver;
 
+import java.util.List;
+
 /**
  * Observes changes in a specified file and triggers notifications for these events.
  *
  * <p>Responsibilities:
  * - Define a contract for observing and reacting to file changes.
  * - Enable the implementation of custom behavior when a file is modified.
+ * - Optionally receive the lines appended by the application, to update incrementally.
  *
  * <p>Design Pattern:
  * - Observer Pattern: Acts as the Observer component, monitoring file changes and notifying implementers.
@@ -18,4 +21,16 @@ public interface FileObserver {
      * @param filePath The file path of the modified file being observed.
      */
     void onFileChanged(String filePath);
+
+    /**
+     * Invoked when lines have been appended to a monitored file by the application, with the appended lines,
+     * so that observers can apply the change without reading the whole file again.
+     * By default the change is handled as any other file change.
+     *
+     * @param filePath The file path of the modified file being observed.
+     * @param lines    The non-blank lines appended to the file, in order.
+     */
+    default void onLinesAppended(String filePath, List<String> lines) {
+        onFileChanged(filePath);
+    }
 }
\ No newline at end of file
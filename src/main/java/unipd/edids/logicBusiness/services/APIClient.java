@@ -1,15 +1,28 @@
 package unipd.edids.logicBusiness.services;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.api.gax.rpc.UnavailableException;
 import com.google.auth.oauth2.ServiceAccountCredentials;
 import com.google.cloud.language.v1.*;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.events.ApiCallEvent;
 import unipd.edids.logicBusiness.exceptions.MissingApiKeyException;
 import unipd.edids.logicBusiness.managers.ConfigManager;
 import unipd.edids.logicBusiness.managers.LoggerManager;
 import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
 
 import java.io.FileInputStream;
-import java.net.InetAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * * Represents a client for handling API interactions with flexible request types, maintaining configurations,
@@ -19,12 +32,14 @@ import java.net.InetAddress;
  * - Handles communication with an external language-processing API.
  * - Abstracts the logic for service setup, request execution, and managing configurations.
  * - Monitors configuration changes dynamically.
+ * - Offers non-blocking execution with a bounded number of requests in flight and a bounded number waiting.
+ * - Checks the service availability through a shared circuit breaker instead of before every request.
  *
  * <p>Design Patterns Used:
  * - Singleton: Ensures a single instance of the LanguageServiceClient.
- * - Observer: Implements ConfigObserver to respond to configuration changes.
+ * - Observer: A single shared ConfigObserver responds to configuration changes for every client.
  */
-public class APIClient<T> implements ConfigObserver {
+public class APIClient<T> {
 
     /**
      * Static logger instance specific to the APIClient class.
@@ -45,6 +60,36 @@ public class APIClient<T> implements ConfigObserver {
      */
     private static volatile LanguageServiceClient instance;
 
+    /**
+     * Shared availability tracker of the service endpoint, created on first use.
+     */
+    private static volatile ServiceAvailability availability;
+
+    /**
+     * Asynchronous requests waiting for an in-flight permit, in arrival order, created on first use.
+     */
+    private static volatile BlockingQueue<Runnable> waitingRequests;
+
+    /**
+     * Single-threaded executor sending the waiting requests, so that they never run on the thread
+     * completing a previous request (usually a gRPC callback thread).
+     */
+    private static final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Observer of the credentials shared by every client, registered once by the first client created.
+     */
+    private static volatile CredentialsObserver credentialsObserver;
+
+    /**
+     * Permits bounding the number of asynchronous requests in flight, created on first use.
+     */
+    private static volatile Semaphore inFlightPermits;
+
     /**
      * Represents the sentence to interact with the API. Used for storing or processing API-related input text.
      */
@@ -58,10 +103,11 @@ public class APIClient<T> implements ConfigObserver {
 
     /**
      * Creates a new instance of the APIClient class.
-     * Subscribes to configuration changes via the ConfigObserver interface.
+     * The first client registers the shared observer of the configuration changes; clients are created
+     * per request, so they do not register themselves.
      */
     public APIClient() {
-        ConfigManager.getInstance().addObserver(this);
+        registerCredentialsObserver();
         try {
             credentialsFilePath = ConfigManager.getInstance().getProperty("api.key.file");
         } catch (MissingApiKeyException e) {
@@ -143,21 +189,42 @@ public class APIClient<T> implements ConfigObserver {
     }
 
     /**
-     * Handles configuration changes by updating the specified key-value pair and performing related
-     * operations if necessary.
-     *
-     * @param key   the configuration key that has changed
-     * @param value the new value assigned to the configuration key
-     */
-    @Override
-    public void onConfigChange(String key, String value) {
-        logger.debug("Configuration change detected for key: {}", key);
-        if ("api.key.file".equals(key)) {
-            logger.info("API credentials file path changed to: {}", value);
+     * Registers the shared observer of the credentials with the ConfigManager, if it is not registered yet.
+     */
+    private static void registerCredentialsObserver() {
+        if (credentialsObserver == null) {
             synchronized (APIClient.class) {
-                credentialsFilePath = value;
-                closeClient();
-                logger.debug("Client closed due to credentials path change");
+                if (credentialsObserver == null) {
+                    CredentialsObserver observer = new CredentialsObserver();
+                    ConfigManager.getInstance().addObserver(observer);
+                    credentialsObserver = observer;
+                }
+            }
+        }
+    }
+
+    /**
+     * Observer of the configuration shared by every client: closes the shared LanguageServiceClient
+     * when the credentials file changes, so that the next request uses the new credentials.
+     */
+    private static final class CredentialsObserver implements ConfigObserver {
+        /**
+         * Handles configuration changes by updating the credentials file path and closing the shared client
+         * when the path changes.
+         *
+         * @param key   the configuration key that has changed
+         * @param value the new value assigned to the configuration key
+         */
+        @Override
+        public void onConfigChange(String key, String value) {
+            logger.debug("Configuration change detected for key: {}", key);
+            if ("api.key.file".equals(key)) {
+                logger.info("API credentials file path changed to: {}", value);
+                synchronized (APIClient.class) {
+                    credentialsFilePath = value;
+                    closeClient();
+                    logger.debug("Client closed due to credentials path change");
+                }
             }
         }
     }
@@ -194,39 +261,277 @@ public class APIClient<T> implements ConfigObserver {
     @SuppressWarnings("unchecked")
     public T execute() {
         logger.debug("Executing API request of type: {}", requestType);
-        isServiceAvailable();
-        LanguageServiceClient client = getInstance();
-        Document document = Document.newBuilder()
-                .setContent(sentence)
-                .setType(Document.Type.PLAIN_TEXT)
-                .build();
+        ApiCallEvent event = beginCallEvent(false);
+        RuntimeException failure = null;
+        try {
+            isServiceAvailable();
+            LanguageServiceClient client = getInstance();
+            Document document = buildDocument();
 
-        logger.debug("Created document with content length: {}", sentence.length());
+            logger.debug("Created document with content length: {}", sentence.length());
 
-        // Delegate logic to execute method  
-        T result = (T) requestType.execute(client, document);
-        logger.debug("API request executed successfully");
+            // Delegate logic to execute method  
+            T result;
+            try {
+                result = (T) requestType.execute(client, document);
+            } catch (RuntimeException e) {
+                recordOutcome(e);
+                throw e;
+            }
+            getAvailability().recordSuccess();
+            logger.debug("API request executed successfully");
+            return result;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            endCallEvent(event, failure);
+        }
+    }
+
+    /**
+     * Executes an API request without blocking on the network round trip, using the future-based
+     * callables of the {@code LanguageServiceClient}. When the maximum number of requests is already
+     * in flight ({@code api.max.inflight}), the request is queued and sent as soon as one of them completes:
+     * the caller never waits for a permit. When {@code api.max.queued} requests are already waiting,
+     * the request is rejected, so a producer faster than the service is pushed back instead of piling up work.
+     *
+     * @return a future completed with the result of the request, or exceptionally if it fails
+     * (with a {@link RejectedExecutionException} if too many requests are waiting).
+     */
+    public CompletableFuture<T> executeAsync() {
+        logger.debug("Executing asynchronous API request of type: {}", requestType);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        RequestType type = requestType;
+        ApiCallEvent event = beginCallEvent(true);
+        LanguageServiceClient client;
+        Document document;
+        try {
+            isServiceAvailable();
+            client = getInstance();
+            document = buildDocument();
+        } catch (RuntimeException e) {
+            endCallEvent(event, e);
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (!runWithPermit(() -> issueAsync(type, client, document, event, result))) {
+            RejectedExecutionException rejected = new RejectedExecutionException(
+                    "Too many API requests waiting: the request of type " + type + " was rejected.");
+            logger.warn(rejected.getMessage());
+            endCallEvent(event, rejected);
+            result.completeExceptionally(rejected);
+        }
         return result;
     }
 
+    /**
+     * Sends an asynchronous request holding an in-flight permit, and releases the permit when it completes.
+     *
+     * @param type     the type of the request.
+     * @param client   the client sending the request.
+     * @param document the document sent to the API.
+     * @param event    the Flight Recorder event of the request.
+     * @param result   the future completed with the result of the request.
+     */
+    @SuppressWarnings("unchecked")
+    private void issueAsync(RequestType type, LanguageServiceClient client, Document document,
+                            ApiCallEvent event, CompletableFuture<T> result) {
+        ApiFuture<Object> call;
+        try {
+            call = (ApiFuture<Object>) type.executeAsync(client, document);
+        } catch (RuntimeException e) {
+            releasePermit();
+            endCallEvent(event, e);
+            result.completeExceptionally(e);
+            return;
+        }
+
+        ApiFutures.addCallback(call, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(Object response) {
+                releasePermit();
+                getAvailability().recordSuccess();
+                endCallEvent(event, null);
+                result.complete((T) response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                releasePermit();
+                recordOutcome(t);
+                endCallEvent(event, t);
+                logger.error("Asynchronous API request of type {} failed: {}", type, t.getMessage());
+                result.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Runs a request as soon as an in-flight permit is available: immediately if one is free,
+     * otherwise on the dispatcher once a permit is released.
+     *
+     * @param request the request to run; it must release its permit with {@link #releasePermit()} when it completes.
+     * @return false if the request was rejected because the queue of waiting requests is full.
+     */
+    private static boolean runWithPermit(Runnable request) {
+        if (getInFlightPermits().tryAcquire()) {
+            request.run();
+            return true;
+        }
+        if (!getWaitingRequests().offer(request)) {
+            return false;
+        }
+        // Un permesso può essere stato rilasciato dopo il tentativo fallito.
+        dispatchWaitingRequests();
+        return true;
+    }
+
+    /**
+     * Releases an in-flight permit and hands the free permits to the waiting requests.
+     */
+    private static void releasePermit() {
+        getInFlightPermits().release();
+        dispatchWaitingRequests();
+    }
+
+    /**
+     * Hands the waiting requests to the dispatcher while both a waiting request and a free permit are available.
+     * The requests run on the dispatcher, never on the calling thread: a request failing immediately releases
+     * its permit from the dispatcher without nesting the hand-off of the next one.
+     */
+    private static void dispatchWaitingRequests() {
+        Semaphore permits = getInFlightPermits();
+        BlockingQueue<Runnable> queue = getWaitingRequests();
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            Runnable next = queue.poll();
+            if (next == null) {
+                permits.release();
+            } else {
+                dispatcher.execute(next);
+            }
+        }
+    }
 
     /**
-     * Checks connectivity to the configured service endpoint by performing DNS resolution.
-     * Throws an exception if the DNS resolution fails.
+     * Starts the Flight Recorder event of a request, capturing the request type and payload length when the
+     * request is issued: the client may be reused for other texts before an asynchronous request completes.
+     *
+     * @param asynchronous whether the request is sent without blocking the caller.
+     * @return the started event.
+     */
+    private ApiCallEvent beginCallEvent(boolean asynchronous) {
+        ApiCallEvent event = new ApiCallEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.asynchronous = asynchronous;
+            event.requestType = String.valueOf(requestType);
+            event.payloadLength = sentence == null ? 0 : sentence.length();
+        }
+        return event;
+    }
+
+    /**
+     * Completes the Flight Recorder event of a request, if it is recorded.
+     *
+     * @param event   the event started when the request was issued.
+     * @param failure the failure of the request, or null if it succeeded.
+     */
+    private static void endCallEvent(ApiCallEvent event, Throwable failure) {
+        if (event.shouldCommit()) {
+            event.outcome = failure == null ? ApiCallEvent.SUCCESS : failure.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Builds the document sent to the API from the current sentence.
+     *
+     * @return the plain text document.
+     */
+    private Document buildDocument() {
+        return Document.newBuilder()
+                .setContent(sentence)
+                .setType(Document.Type.PLAIN_TEXT)
+                .build();
+    }
+
+    /**
+     * Reports a failed request to the circuit breaker when it failed because the service was unreachable.
+     *
+     * @param failure the failure of the request.
+     */
+    private static void recordOutcome(Throwable failure) {
+        if (failure instanceof UnavailableException || failure instanceof DeadlineExceededException) {
+            getAvailability().recordFailure();
+        }
+    }
+
+    /**
+     * Checks that the configured service endpoint is reachable. The result of a DNS resolution is
+     * cached and shared by all clients, and repeated failures open a circuit breaker that fails fast.
+     *
+     * @throws RuntimeException if the service is unreachable.
      */
     public void isServiceAvailable() {
-        try {
-            logger.debug("Checking connectivity to service endpoint: {}", SERVICE_ENDPOINT);
-            InetAddress address = InetAddress.getByName(SERVICE_ENDPOINT);
-            logger.debug("Resolved address: {}", address.getHostAddress());
+        getAvailability().check();
+    }
 
-        } catch (Exception e) {
-            String errorMsg = "DNS resolution failed for the hostname: " + SERVICE_ENDPOINT + ". Please check if the hostname is correct and verify your network connection.";
-            logger.error(errorMsg, e);
-            throw new RuntimeException(errorMsg, e);
+    /**
+     * Retrieves the shared availability tracker, configured by {@code api.availability.interval.seconds},
+     * {@code api.breaker.failures} and {@code api.breaker.cooldown.seconds}.
+     *
+     * @return the shared ServiceAvailability.
+     */
+    static ServiceAvailability getAvailability() {
+        if (availability == null) {
+            synchronized (APIClient.class) {
+                if (availability == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    availability = new ServiceAvailability(SERVICE_ENDPOINT,
+                            config.getLong("api.availability.interval.seconds", 30) * 1000,
+                            config.getInt("api.breaker.failures", 5),
+                            config.getLong("api.breaker.cooldown.seconds", 30) * 1000);
+                }
+            }
+        }
+        return availability;
+    }
 
+    /**
+     * Retrieves the permits bounding the asynchronous requests in flight, sized by {@code api.max.inflight}.
+     *
+     * @return the shared semaphore.
+     */
+    private static Semaphore getInFlightPermits() {
+        if (inFlightPermits == null) {
+            synchronized (APIClient.class) {
+                if (inFlightPermits == null) {
+                    int maxInFlight = ConfigManager.getInstance().getInt("api.max.inflight", 32);
+                    inFlightPermits = new Semaphore(maxInFlight);
+                    logger.info("Asynchronous API requests limited to {} in flight", maxInFlight);
+                }
+            }
         }
+        return inFlightPermits;
+    }
 
+    /**
+     * Retrieves the queue of the requests waiting for a permit, bounded by {@code api.max.queued}.
+     *
+     * @return the shared queue.
+     */
+    private static BlockingQueue<Runnable> getWaitingRequests() {
+        if (waitingRequests == null) {
+            synchronized (APIClient.class) {
+                if (waitingRequests == null) {
+                    int maxQueued = ConfigManager.getInstance().getInt("api.max.queued", 1024);
+                    waitingRequests = new ArrayBlockingQueue<>(maxQueued);
+                    logger.info("Asynchronous API requests limited to {} waiting", maxQueued);
+                }
+            }
+        }
+        return waitingRequests;
     }
 
     /**
@@ -246,6 +551,13 @@ public class APIClient<T> implements ConfigObserver {
                         ModerateTextRequest.newBuilder().setDocument(document).build()
                 );
             }
+
+            @Override
+            public ApiFuture<?> executeAsync(LanguageServiceClient client, Document document) {
+                return client.moderateTextCallable().futureCall(
+                        ModerateTextRequest.newBuilder().setDocument(document).build()
+                );
+            }
         },
         SYNTAX {
             @Override
@@ -257,6 +569,16 @@ public class APIClient<T> implements ConfigObserver {
                                 .build()
                 );
             }
+
+            @Override
+            public ApiFuture<?> executeAsync(LanguageServiceClient client, Document document) {
+                return client.analyzeSyntaxCallable().futureCall(
+                        AnalyzeSyntaxRequest.newBuilder()
+                                .setDocument(document)
+                                .setEncodingType(EncodingType.UTF16)
+                                .build()
+                );
+            }
         };
 
         /**
@@ -267,5 +589,14 @@ public class APIClient<T> implements ConfigObserver {
          * @return the result object of the operation, specific to the executed request type.
          */
         public abstract Object execute(LanguageServiceClient client, Document document);
+
+        /**
+         * Starts the action corresponding to the specific request type without waiting for its result.
+         *
+         * @param client   the LanguageServiceClient used to perform the operation.
+         * @param document the Document instance representing the input data for the operation.
+         * @return a future completed with the result object of the operation.
+         */
+        public abstract ApiFuture<?> executeAsync(LanguageServiceClient client, Document document);
     }
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package unipd.edids.logicBusiness.services;
 
-import com.google.cloud.language.v1.AnalyzeSyntaxResponse;
-import com.google.cloud.language.v1.PartOfSpeech;
-import com.google.cloud.language.v1.Token;
 import edu.stanford.nlp.pipeline.CoreDocument;
 import edu.stanford.nlp.pipeline.CoreSentence;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
@@ -11,22 +8,34 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import unipd.edids.logicBusiness.entities.Sentence;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
+import unipd.edids.logicBusiness.managers.PipelineManager;
+import unipd.edids.logicBusiness.strategies.analyzerStrategies.AnalyzerBackend;
+import unipd.edids.logicBusiness.strategies.analyzerStrategies.AnalyzerBackendType;
+import unipd.edids.logicBusiness.strategies.analyzerStrategies.CoreNLPAnalyzerBackend;
+import unipd.edids.logicBusiness.strategies.analyzerStrategies.GoogleAnalyzerBackend;
 
-import java.util.List;
-import java.util.Properties;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class for analyzing sentence syntax and structure.
  *
  * <p> Responsibilities:
  * - Perform syntax analysis on a given text, identifying grammatical structures such as nouns, verbs, and adjectives.
- * - Use the StanfordCoreNLP pipeline to process and analyze text.
+ * - Delegate part-of-speech tagging to the backend selected by {@code analyzer.backend} (google or corenlp).
+ * - Use the StanfordCoreNLP pipeline shared by {@link PipelineManager} to process and analyze text, loading it
+ *   in the background so that creating the service does not block the application startup.
+ * - Select the parser with {@code corenlp.parser}: pcfg, sr (shift-reduce) or none.
  * - Validate input text and handle various constraints like length, format, and content.
  * - Organize extracted data (e.g., tokens) into categories (e.g., nouns, verbs, adjectives) and maintain a sentence structure.
  * - Generate syntax trees based on the parsed input text.
  *
  * <p> Design Pattern:
- * - a Singleton design pattern is employed for the StanfordCoreNLP pipeline initialization to ensure efficient resource usage.
+ * - Lazy Initialization: the StanfordCoreNLP pipeline is built once per parser setting, on a background thread,
+ *   and shared by every service instance.
+ * - Strategy Pattern: tagging is delegated to an interchangeable AnalyzerBackend.
  */
 public class AnalyzeSentenceService {
     /**
@@ -35,36 +44,73 @@ public class AnalyzeSentenceService {
     private static final Logger logger = LogManager.getLogger(AnalyzeSentenceService.class);
 
     /**
-     * Represents the tagging label used to identify noun elements in the sentence being processed.
+     * Backend used when {@code analyzer.backend} is not configured.
      */
-    private static final String NOUN_TAG = "[noun] ";
+    private static final String DEFAULT_BACKEND = "google";
+
     /**
-     * Represents the tagging label used to identify verb elements in the sentence being processed.
+     * Parser used when {@code corenlp.parser} is not configured.
      */
-    private static final String VERB_TAG = "[verb] ";
+    private static final String DEFAULT_PARSER = "pcfg";
+
     /**
-     * Represents the tagging label used to identify adjective elements in the sentence being processed.
+     * Analyzer backends created so far, by type.
      */
-    private static final String ADJECTIVE_TAG = "[adjective] ";
+    private final Map<AnalyzerBackendType, AnalyzerBackend> backends = new EnumMap<>(AnalyzerBackendType.class);
+
+
     /**
-     * Error message indicating that the provided token does not align with the expected grammatical type.
+     * Creates the service and, unless {@code corenlp.preload} is false, starts loading the
+     * StanfordCoreNLP pipeline in the background. The constructor returns immediately.
      */
-    private static final String ERROR_INVALID_TOKEN = "Invalid token for grammatical type";
+    public AnalyzeSentenceService() {
+        if (ConfigManager.getInstance().getBoolean("corenlp.preload", true)) {
+            warmUp();
+        }
+    }
 
     /**
-     * Represents the StanfordCoreNLP pipeline instance used for natural language processing tasks within the service.
+     * Starts loading the shared StanfordCoreNLP pipeline for the configured parser in the background,
+     * if it is not loaded or loading yet. Calling it again returns the same future until {@code corenlp.parser} changes.
+     *
+     * @return a future completed with the pipeline once it is ready.
+     * @throws IllegalArgumentException if the configured parser is invalid.
      */
-    private final StanfordCoreNLP pipeline;
+    public CompletableFuture<StanfordCoreNLP> warmUp() {
+        return PipelineManager.getInstance().load(getParser());
+    }
 
+    /**
+     * Indicates whether the pipeline for the configured parser has finished loading.
+     *
+     * @return true if analysis can start without waiting for the models.
+     */
+    public boolean isReady() {
+        return PipelineManager.getInstance().isLoaded(getParser());
+    }
 
     /**
-     * Initializes the StanfordCoreNLP pipeline with the required annotators.
+     * Retrieves the parser selected by the {@code corenlp.parser} configuration key.
+     *
+     * @return the parser setting, in lower case.
      */
-    public AnalyzeSentenceService() {
-        Properties props = new Properties();
-        props.setProperty("annotators", "tokenize,ssplit,pos,parse");
-        this.pipeline = new StanfordCoreNLP(props);
-        logger.info("StanfordCoreNLP pipeline initialized with properties: {}", props);
+    private String getParser() {
+        return ConfigManager.getInstance().getProperty("corenlp.parser", DEFAULT_PARSER).trim().toLowerCase();
+    }
+
+    /**
+     * Annotates a text with the shared pipeline of the configured parser.
+     *
+     * @param text the text to annotate.
+     * @return the annotated document.
+     */
+    private CoreDocument annotate(String text) {
+        long start = MetricsManager.getInstance().start();
+        try {
+            return PipelineManager.getInstance().process(getParser(), text);
+        } finally {
+            MetricsManager.getInstance().record(MetricsManager.Stage.CORENLP_PARSE, start);
+        }
     }
 
     /**
@@ -80,47 +126,44 @@ public class AnalyzeSentenceService {
         logger.info("Starting syntax analysis for text: {}", text);
 
         // Validazione iniziale del testo.
-        validateText(text);
+        long validationStart = MetricsManager.getInstance().start();
+        try {
+            validateText(text);
+        } finally {
+            MetricsManager.getInstance().record(MetricsManager.Stage.VALIDATION, validationStart);
+        }
         logger.debug("Text validation successful.");
 
         // Inizializzazione della frase.
         Sentence sentence = initializeSentence(text);
         logger.debug("Sentence object initialized: {}", sentence);
 
-        // Recupero dei token dall'API.
-        List<Token> tokens = fetchTokensFromAPI(text);
-        logger.info("Fetched {} tokens from API.", tokens.size());
-
-        // Elaborazione dei token.
-        logger.debug("Processing tokens...");
-        for (Token token : tokens) {
-            logger.debug("Processing token: {}", token);
-            processToken(sentence, token);
-        }
-        logger.info("Token processing completed.");
+        // Etichettatura delle parole con il backend configurato.
+        AnalyzerBackend backend = getAnalyzerBackend();
+        logger.info("Tagging words with backend: {}", backend.getClass().getSimpleName());
+        Tree syntaxTree = backend.analyze(text, sentence);
 
         // Finalizzazione della frase.
-        finalizeSentence(sentence);
+        finalizeSentence(sentence, syntaxTree, backend.providesSyntaxTree());
         logger.info("Syntax analysis completed. Final structure: {}", sentence.getStructure());
 
         return sentence;
     }
 
     /**
-     * Fetches a list of tokens from an external API by analyzing the syntax of the provided text.
+     * Retrieves the analyzer backend selected by the {@code analyzer.backend} configuration key,
+     * creating it on first use. The key is read on every analysis, so changes apply immediately.
      *
-     * @param text The input text to be sent to the API for syntax analysis.
-     * @return A list of tokens extracted from the input text.
+     * @return the configured analyzer backend.
+     * @throws IllegalArgumentException if the configured backend is invalid.
      */
-    private List<Token> fetchTokensFromAPI(String text) {
-        logger.debug("Fetching tokens via API for text: {}", text);
-        List<Token> tokens = new APIClient<AnalyzeSyntaxResponse>()
-                .setSentenceToAPI(text)
-                .setAPIType(APIClient.RequestType.SYNTAX)
-                .execute()
-                .getTokensList();
-        logger.debug("Tokens fetched successfully.");
-        return tokens;
+    private synchronized AnalyzerBackend getAnalyzerBackend() {
+        AnalyzerBackendType type = AnalyzerBackendType.fromConfig(
+                ConfigManager.getInstance().getProperty("analyzer.backend", DEFAULT_BACKEND));
+        return backends.computeIfAbsent(type, t -> switch (t) {
+            case GOOGLE -> new GoogleAnalyzerBackend();
+            case CORENLP -> new CoreNLPAnalyzerBackend(this::annotate);
+        });
     }
 
     /**
@@ -138,76 +181,38 @@ public class AnalyzeSentenceService {
      * Analyzes and performs the necessary finalization on a {@code Sentence} object.
      * This includes trimming the {@code structure} and applying the syntax tree.
      *
-     * @param sentence The {@code Sentence} object to be finalized, containing
-     *                 its textual structure and syntax tree.
+     * @param sentence   The {@code Sentence} object to be finalized, containing
+     *                   its textual structure and syntax tree.
+     * @param syntaxTree The syntax tree already computed by the analyzer backend, or null.
+     * @param treeIsFinal Whether the backend already annotated the text with the configured pipeline,
+     *                    so that a null tree is not parsed again.
      */
-    private void finalizeSentence(Sentence sentence) {
+    private void finalizeSentence(Sentence sentence, Tree syntaxTree, boolean treeIsFinal) {
         logger.debug("Finalizing Sentence object...");
         // Rimuove spazi in eccesso e imposta l'albero sintattico.
         sentence.setStructure(new StringBuilder(sentence.getStructure().toString().trim()));
-        sentence.setSyntaxTree(getSyntaxTree(sentence.getSentence().toString()));
-        logger.debug("Sentence finalized with structure: {}", sentence.getStructure());
-    }
-
-    /**
-     * Processes a single token by analyzing its part of speech and adding it to the appropriate components
-     * of a Sentence object. Updates the sentence structure and logs relevant information.
-     *
-     * @param sentence The Sentence object where the token's details are added.
-     * @param token    The Token object containing the text and part of speech to be processed.
-     */
-    private void processToken(Sentence sentence, Token token) {
-        String word = token.getText().getContent();
-        PartOfSpeech.Tag pos = token.getPartOfSpeech().getTag();
-        logger.debug("Processing token with word: '{}' and tag: '{}'", word, pos);
-
-        switch (pos) {
-            case NOUN:
-                addTaggedWord(sentence.getNouns(), sentence.getStructure(), word, NOUN_TAG);
-                logger.debug("Token '{}' added as NOUN with tag", word);
-                break;
-            case VERB:
-                addTaggedWord(sentence.getVerbs(), sentence.getStructure(), word, VERB_TAG);
-                logger.debug("Token '{}' added as VERB with tag", word);
-                break;
-            case ADJ:
-                addTaggedWord(sentence.getAdjectives(), sentence.getStructure(), word, ADJECTIVE_TAG);
-                logger.debug("Token '{}' added as ADJECTIVE with tag", word);
-                break;
-            case X:
-            case UNKNOWN:
-                String errorMessage = ERROR_INVALID_TOKEN + ": " + pos + ", word: " + word;
-                logger.error(errorMessage);
-                throw new IllegalArgumentException(errorMessage);
-            default:
-                sentence.getStructure().append(word).append(" ");
-                logger.debug("Token '{}' added without specific tag", word);
+        // Il backend locale fornisce già l'albero sintattico dalle stesse annotazioni; senza parser non serve annotare.
+        Tree tree = syntaxTree;
+        if (tree == null && !treeIsFinal && !PipelineManager.NO_PARSER.equals(getParser())) {
+            tree = getSyntaxTree(sentence.getSentence().toString());
         }
-    }
-
-    /**
-     * Adds a word along with its associated tag to given data structures and logs the operation.
-     *
-     * @param wordList The list to which the word is added.
-     * @param structure The StringBuilder used to append the tag.
-     * @param word The word to be added.
-     * @param tag The tag to be associated with the word.
-     */
-    private void addTaggedWord(List<String> wordList, StringBuilder structure, String word, String tag) {
-        wordList.add(word);
-        structure.append(tag);
-        logger.debug("Word '{}' added to list with tag: {}", word, tag);
+        // Senza parser l'albero resta quello vuoto di default.
+        if (tree != null) {
+            sentence.setSyntaxTree(tree);
+        }
+        logger.debug("Sentence finalized with structure: {}", sentence.getStructure());
     }
 
     /**
      * Generates a syntax tree for the first sentence in the given text.
      *
      * @param text the input text to be analyzed for syntax tree generation.
-     * @return the syntax tree of the first sentence if available, otherwise null.
+     * @return the syntax tree of the first sentence if available, otherwise null
+     *         (also when parsing is disabled by {@code corenlp.parser=none}).
      */
     public Tree getSyntaxTree(String text) {
         logger.debug("Generating syntax tree for text: {}", text);
-        CoreDocument document = pipeline.processToCoreDocument(text);
+        CoreDocument document = annotate(text);
 
         if (!document.sentences().isEmpty()) {
             CoreSentence coreSentence = document.sentences().getFirst();
@@ -221,54 +226,20 @@ public class AnalyzeSentenceService {
 
     /**
      * Validates the input text based on various constraints, ensuring it adheres to predefined structure and content rules.
+     * The rules are checked in a single pass by {@link TextValidator}.
      *
      * @param text the input string to validate; cannot be null, empty, or non-compliant with the specified validation criteria.
+     * @throws IllegalArgumentException if the text fails a rule, with the message of the failed rule.
      */
     private void validateText(String text) {
         logger.debug("Validating text: {}", text);
 
-        if (text == null || text.isEmpty()) {
-            String errorMessage = "Input text cannot be null or empty.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        int maxLength = Integer.parseInt(ConfigManager.getInstance().getProperty("max.sentence.length"));
-        if (text.length() > maxLength) {
-            String errorMessage = "Input text cannot exceed " + maxLength + " characters.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (text.trim().isEmpty()) {
-            String errorMessage = "Input text cannot be empty or whitespace only.";
+        int maxLength = ConfigManager.getInstance().getInt("max.sentence.length");
+        TextValidator.Result result = TextValidator.validate(text, maxLength);
+        if (!result.isValid()) {
+            String errorMessage = result.message();
             logger.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
-
-        if (!text.matches(".*[a-zA-Z]+.*")) {
-            String errorMessage = "Input text must contain at least one alphabetical character.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (text.matches("^[^a-zA-Z0-9\\s].*")) {
-            String errorMessage = "Input text contains invalid characters at the start of the text.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (text.matches(".*[^a-zA-Z0-9.\\s]$")) {
-            String errorMessage = "Input text contains invalid characters at the end of the text.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (text.matches(".*[^a-zA-Z0-9.,:'\"\\s-].*")) {
-            String errorMessage = "Input text contains invalid characters.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
     }
-}
\ No newline at end of file
+}
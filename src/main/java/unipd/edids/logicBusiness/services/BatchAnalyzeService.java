@@ -0,0 +1,313 @@
+package unipd.edids.logicBusiness.services;
+
+import edu.stanford.nlp.pipeline.CoreSentence;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.managers.PipelineManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Analyzes a whole text file in a single streaming pass.
+ *
+ * <p>Responsibilities:
+ * - Reads the input file lazily, one line at a time, or splits each paragraph into sentences with a
+ *   CoreNLP pipeline limited to the {@code tokenize} and {@code ssplit} annotators.
+ * - Pre-filters the units with {@link TextValidator} on the reading thread, so invalid lines never reach the workers.
+ * - Validates, tags and parses the units on a fixed pool of workers through {@link AnalyzeSentenceService}.
+ * - Writes each analyzed sentence to the output file as soon as it and all the units before it are done,
+ *   so the output keeps the input order.
+ * - Applies backpressure: at most a fixed number of units are in flight, and the reader waits for the oldest
+ *   one to be written before reading more. Memory use does not grow with the size of the input.
+ * - Counts the units read, analyzed and rejected; rejected units are logged with their line number and skipped.
+ *
+ * <p>Design Pattern:
+ * - Pipeline: read, analyze and write stages connected by a bounded queue of pending results.
+ */
+public class BatchAnalyzeService {
+    /**
+     * Logger instance for logging BatchAnalyzeService operations.
+     */
+    private static final Logger logger = LogManager.getLogger(BatchAnalyzeService.class);
+
+    /**
+     * Maximum length of a paragraph buffered before it is split into sentences.
+     */
+    private static final int MAX_PARAGRAPH_LENGTH = 10_000;
+
+    /**
+     * How the input file is divided into the units to analyze.
+     */
+    public enum SplitMode {
+        /**
+         * Every non-blank line is a unit.
+         */
+        LINES,
+        /**
+         * Paragraphs, separated by blank lines, are split into sentences by CoreNLP.
+         */
+        SENTENCES
+    }
+
+    /**
+     * Summary of a batch analysis.
+     *
+     * @param read          the number of units read from the input.
+     * @param analyzed      the number of units analyzed and written.
+     * @param failed        the number of units rejected or failed.
+     * @param elapsedMillis the duration of the analysis in milliseconds.
+     */
+    public record Report(long read, long analyzed, long failed, long elapsedMillis) {
+    }
+
+    /**
+     * A unit of text to analyze.
+     *
+     * @param lineNumber the line of the input file where the unit starts.
+     * @param text       the text to analyze.
+     */
+    private record Unit(long lineNumber, String text) {
+    }
+
+    /**
+     * A unit waiting to be written.
+     *
+     * @param lineNumber the line of the input file where the unit starts.
+     * @param result     the future analysis of the unit.
+     */
+    private record Pending(long lineNumber, Future<Sentence> result) {
+    }
+
+    /**
+     * Wraps an I/O error of the write stage, so it can cross the reading callbacks.
+     */
+    private static class UncheckedWriteException extends RuntimeException {
+        UncheckedWriteException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * Service performing the analysis of a single unit.
+     */
+    private final AnalyzeSentenceService analyzeService;
+
+    /**
+     * Number of worker threads.
+     */
+    private final int workers;
+
+    /**
+     * Maximum number of units read but not yet written.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Creates a batch analyzer.
+     *
+     * @param analyzeService the service analyzing each unit; must be safe to call from several threads.
+     * @param workers        the number of worker threads; must be positive.
+     * @param maxInFlight    the maximum number of units read but not yet written; must be positive.
+     * @throws IllegalArgumentException if a parameter is null or out of range.
+     */
+    public BatchAnalyzeService(AnalyzeSentenceService analyzeService, int workers, int maxInFlight) {
+        if (analyzeService == null) {
+            throw new IllegalArgumentException("Analyze service cannot be null.");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Number of workers must be positive: " + workers);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum in-flight units must be positive: " + maxInFlight);
+        }
+        this.analyzeService = analyzeService;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Analyzes every unit of an input file and writes the analyzed sentences to an output file in the input order,
+     * with the same format as the analyzed save file. The output file is created or overwritten.
+     *
+     * @param input  the file to analyze.
+     * @param output the file receiving the analyzed sentences.
+     * @param mode   how the input is divided into units.
+     * @return the summary of the analysis.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    public Report analyzeFile(Path input, Path output, SplitMode mode) throws IOException {
+        logger.info("Starting batch analysis of {} into {} [mode: {}, workers: {}, maxInFlight: {}]", input, output, mode, workers, maxInFlight);
+        long start = System.nanoTime();
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread worker = new Thread(runnable, "batch-analyzer");
+            worker.setDaemon(true);
+            return worker;
+        });
+        Deque<Pending> pending = new ArrayDeque<>(maxInFlight);
+        long[] counters = new long[3];
+        int maxLength = ConfigManager.getInstance().getInt("max.sentence.length", 0);
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            Consumer<Unit> submit = unit -> {
+                counters[0]++;
+                TextValidator.Result validation = TextValidator.validate(unit.text(), maxLength);
+                if (!validation.isValid()) {
+                    counters[2]++;
+                    logger.warn("Line {} skipped: {}", unit.lineNumber(), validation.message());
+                    return;
+                }
+                // Backpressure: si scrive il risultato più vecchio prima di leggere oltre.
+                if (pending.size() >= maxInFlight) {
+                    writeNext(pending, writer, counters);
+                }
+                pending.add(new Pending(unit.lineNumber(), executor.submit(() -> analyzeService.analyzeSyntax(unit.text()))));
+            };
+            if (mode == SplitMode.SENTENCES) {
+                readSentences(reader, submit);
+            } else {
+                readLines(reader, submit);
+            }
+            while (!pending.isEmpty()) {
+                writeNext(pending, writer, counters);
+            }
+        } catch (UncheckedWriteException e) {
+            throw e.getCause();
+        } finally {
+            pending.forEach(p -> p.result().cancel(true));
+            executor.shutdownNow();
+        }
+
+        Report report = new Report(counters[0], counters[1], counters[2], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Batch analysis completed: {}", report);
+        return report;
+    }
+
+    /**
+     * Emits every non-blank line as a unit.
+     *
+     * @param reader the input reader.
+     * @param submit the consumer of the units.
+     * @throws IOException if the input cannot be read.
+     */
+    private void readLines(BufferedReader reader, Consumer<Unit> submit) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                submit.accept(new Unit(lineNumber, line.strip()));
+            }
+        }
+    }
+
+    /**
+     * Buffers the lines of each paragraph and emits its sentences, split by CoreNLP, as units.
+     * Paragraphs end at a blank line; a paragraph longer than {@value #MAX_PARAGRAPH_LENGTH} characters
+     * is emitted in chunks, each one keeping its last, possibly incomplete, sentence for the next chunk.
+     *
+     * @param reader the input reader.
+     * @param submit the consumer of the units.
+     * @throws IOException if the input cannot be read.
+     */
+    private void readSentences(BufferedReader reader, Consumer<Unit> submit) throws IOException {
+        StringBuilder paragraph = new StringBuilder();
+        long lineNumber = 0;
+        long paragraphStart = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                emitSentences(paragraph, paragraphStart, submit, true);
+                continue;
+            }
+            if (paragraph.isEmpty()) {
+                paragraphStart = lineNumber;
+            }
+            paragraph.append(line.strip()).append(' ');
+            if (paragraph.length() > MAX_PARAGRAPH_LENGTH) {
+                emitSentences(paragraph, paragraphStart, submit, false);
+                // La frase rimasta nel buffer prosegue dalla riga corrente.
+                paragraphStart = lineNumber;
+            }
+        }
+        emitSentences(paragraph, paragraphStart, submit, true);
+    }
+
+    /**
+     * Splits a paragraph into sentences and emits them as units, removing them from the paragraph.
+     * When the paragraph is cut before its end, its last sentence may continue in the next lines:
+     * it stays in the paragraph, unless it is the only sentence.
+     *
+     * @param paragraph      the buffered paragraph.
+     * @param paragraphStart the line where the paragraph starts.
+     * @param submit         the consumer of the units.
+     * @param complete       whether the paragraph ends here.
+     */
+    private void emitSentences(StringBuilder paragraph, long paragraphStart, Consumer<Unit> submit, boolean complete) {
+        if (paragraph.isEmpty()) {
+            return;
+        }
+        // La divisione in frasi non richiede etichette né parser: solo tokenize e ssplit.
+        List<CoreSentence> sentences = PipelineManager.getInstance().splitSentences(paragraph.toString()).sentences();
+        int emitted = complete || sentences.size() < 2 ? sentences.size() : sentences.size() - 1;
+        for (CoreSentence sentence : sentences.subList(0, emitted)) {
+            submit.accept(new Unit(paragraphStart, sentence.text()));
+        }
+        if (emitted < sentences.size()) {
+            paragraph.delete(0, sentences.get(emitted).charOffsets().first());
+        } else {
+            paragraph.setLength(0);
+        }
+    }
+
+    /**
+     * Waits for the oldest pending unit and writes its result, or logs its failure.
+     *
+     * @param pending  the pending units, in input order.
+     * @param writer   the output writer.
+     * @param counters the read, analyzed and failed counters.
+     * @throws UncheckedWriteException if the output cannot be written.
+     */
+    private void writeNext(Deque<Pending> pending, BufferedWriter writer, long[] counters) {
+        Pending next = pending.poll();
+        try {
+            Sentence sentence = next.result().get();
+            writer.write(sentence.toString());
+            writer.newLine();
+            counters[1]++;
+        } catch (ExecutionException e) {
+            counters[2]++;
+            logger.warn("Line {} skipped: {}", next.lineNumber(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch analysis interrupted at line " + next.lineNumber(), e);
+        } catch (IOException e) {
+            throw new UncheckedWriteException(e);
+        }
+    }
+}
@@ -2,16 +2,20 @@ package unipd.edids.logicBusiness.services;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.entities.EncodedSentence;
 import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceTemplate;
+import unipd.edids.logicBusiness.events.GenerationPhaseEvent;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.managers.ConfigSnapshot;
+import unipd.edids.logicBusiness.managers.LoggerManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
 import unipd.edids.logicBusiness.strategies.structureStrategies.*;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
 import unipd.edids.logicBusiness.strategies.wordSelectionStrategies.NewWordStrategy;
 import unipd.edids.logicBusiness.strategies.wordSelectionStrategies.OriginalWordStrategy;
 import unipd.edids.logicBusiness.strategies.wordSelectionStrategies.WordSelectionStrategy;
 
-import java.util.Iterator;
-import java.util.regex.Pattern;
-
 
 /**
  * Service responsible for generating sentences based on configurable strategies for structure and word selection.
@@ -30,22 +34,19 @@ public class GenerateSentenceService {
      * Uses the LogManager to facilitate logging operations.
      */
     private static final Logger logger = LogManager.getLogger(GenerateSentenceService.class);
+
     /**
-     * Represents the tagging label used to identify sentence elements in the sentence being generated.
+     * Rate-limited logger for the events logged for every sentence.
      */
-    private static final String SENTENCE_TAG = "[sentence]";
+    private static final Logger hotPathLogger = LoggerManager.getInstance().getHotPathLogger(GenerateSentenceService.class);
     /**
-     * Represents the tagging label used to identify noun elements in the sentence being generated.
-     */
-    private static final String NOUN_TAG = "[noun]";
-    /**
-     * Represents the tagging label used to identify verb elements in the sentence being generated.
+     * Represents the tagging label used to identify sentence elements in the sentence being generated.
      */
-    private static final String VERB_TAG = "[verb]";
+    private static final String SENTENCE_TAG = SentenceTemplate.SlotType.SENTENCE.getTag();
     /**
-     * Represents the tagging label used to identify adjective elements in the sentence being generated.
+     * Represents the tagging label used to identify noun elements in the sentence being generated.
      */
-    private static final String ADJECTIVE_TAG = "[adjective]";
+    private static final String NOUN_TAG = SentenceTemplate.SlotType.NOUN.getTag();
     /**
      * Represents the sentence structure strategy used by the service.
      */
@@ -58,6 +59,14 @@ public class GenerateSentenceService {
      * Represents the current sentence being processed or generated by the GenerateSentenceService.
      */
     private Sentence currentSentence = new Sentence(); // Inizializzato direttamente qui
+    /**
+     * Compiled template of the current sentence structure, used to render the final sentence.
+     */
+    private SentenceTemplate currentTemplate;
+    /**
+     * Strategy conjugating the verbs of this service, or null to use the tense shared by the application.
+     */
+    private TenseStrategy tenseStrategy;
 
     /**
      * Generates a new sentence based on the configured strategies,
@@ -72,87 +81,126 @@ public class GenerateSentenceService {
      * @return A fully constructed `Sentence` object with text and structure.
      */
     public Sentence generateSentence() {
-        logger.info("Starting sentence generation process.");
+        hotPathLogger.info("Starting sentence generation process.");
         currentSentence = new Sentence();
 
-        logger.info("Generating sentence with strategy: {}", structureSentenceStrategy.getClass().getSimpleName());
+        hotPathLogger.info("Generating sentence with strategy: {}", structureSentenceStrategy.getClass().getSimpleName());
 
         // Configura la struttura della frase
-        logger.info("Configuring sentence structure...");
-        configureSentenceStructure();
+        hotPathLogger.info("Configuring sentence structure...");
+        runPhase(MetricsManager.Stage.STRUCTURE_RESOLUTION, this::configureSentenceStructure);
 
-        logger.info("Initial Sentence Structure: {}", currentSentence.getStructure());
+        hotPathLogger.info("Initial Sentence Structure: {}", currentSentence.getStructure());
 
         // Popola i placeholder con le parole
-        logger.info("Word Selection Strategy: {}", wordSelectionStrategy.getClass().getSimpleName());
-        logger.info("Populating sentence placeholders with selected strategy...");
-        wordSelectionStrategy.populateWords(currentSentence);
+        hotPathLogger.info("Word Selection Strategy: {}", wordSelectionStrategy.getClass().getSimpleName());
+        hotPathLogger.info("Populating sentence placeholders with selected strategy...");
+        runPhase(MetricsManager.Stage.WORD_POPULATION, () -> wordSelectionStrategy.populateWords(currentSentence));
 
         // Sostituisci i segnaposto e applica ulteriori trasformazioni
-        logger.info("Replacing placeholders with actual words...");
-        replacePlaceholders();
+        hotPathLogger.info("Replacing placeholders with actual words...");
+        runPhase(MetricsManager.Stage.PLACEHOLDER_REPLACEMENT, this::replacePlaceholders);
 
         logger.debug("Capitalizing the first letter of the generated sentence...");
         capitalizeFirstLetter();
 
-        logger.info("Final Sentence: {}", currentSentence.getSentence());
+        hotPathLogger.info("Final Sentence: {}", currentSentence.getSentence());
         return currentSentence;
     }
 
+    /**
+     * Generates a new sentence in its compact encoded form, without building its text or word lists.
+     * The structure is chosen and its recursive slots expanded as in {@link #generateSentence()},
+     * but the words are always drawn from the vocabularies, whatever the configured word selection strategy.
+     *
+     * @return the encoded sentence, rendered on demand with {@link EncodedSentence#render()}.
+     */
+    public EncodedSentence generateEncodedSentence() {
+        ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+        int maxRecursionLevel = config.getBoolean("allow.recursive.sentences") ? config.getInt("max.recursion.level") : 0;
+
+        EncodedSentence sentence = EncodedSentence.encode(
+                structureSentenceStrategy.generateSentenceStructure().toString(),
+                () -> structureSentenceStrategy.generateSentenceStructure().toString(),
+                maxRecursionLevel,
+                EncodedSentence.Vocabulary.current(tenseStrategy));
+        hotPathLogger.info("Encoded sentence with template {}", sentence.getTemplateId());
+        return sentence;
+    }
+
+    /**
+     * Runs a phase of the generation, timing it in the metrics of its stage and recording a {@link GenerationPhaseEvent}.
+     *
+     * @param stage the metrics stage of the phase.
+     * @param phase the code of the phase.
+     */
+    private void runPhase(MetricsManager.Stage stage, Runnable phase) {
+        GenerationPhaseEvent event = new GenerationPhaseEvent();
+        event.begin();
+        MetricsManager metrics = MetricsManager.getInstance();
+        long start = metrics.start();
+        try {
+            phase.run();
+        } finally {
+            metrics.record(stage, start);
+            if (event.shouldCommit()) {
+                event.phase = stage.getName();
+                event.strategy = structureSentenceStrategy.getClass().getSimpleName();
+                StringBuilder structure = currentSentence.getStructure();
+                event.structureLength = structure == null ? 0 : structure.length();
+                event.commit();
+            }
+        }
+    }
+
     /**
      * Configures and adjusts the structure of the current sentence based on the defined strategies and configurations.
      * This method defines the sentence structure, applies recursive or static adjustments, and ensures a proper format.
      */
     private void configureSentenceStructure() {
-        logger.info("Starting sentence structure configuration...");
+        hotPathLogger.info("Starting sentence structure configuration...");
         currentSentence.setStructure(structureSentenceStrategy.generateSentenceStructure());
 
         // Estrae impostazioni di configurazione
-        boolean allowRecursive = "true".equals(ConfigManager.getInstance().getProperty("allow.recursive.sentences"));
-        logger.info("Recursive mode enabled: {}", allowRecursive);
+        ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+        boolean allowRecursive = config.getBoolean("allow.recursive.sentences");
+        hotPathLogger.info("Recursive mode enabled: {}", allowRecursive);
 
-        int maxRecursionLevel = Integer.parseInt(ConfigManager.getInstance().getProperty("max.recursion.level"));
-        logger.info("Max recursion level: {}", maxRecursionLevel);
+        int maxRecursionLevel = config.getInt("max.recursion.level");
+        hotPathLogger.info("Max recursion level: {}", maxRecursionLevel);
 
         if (allowRecursive) {
-            logger.info("Resolving recursive template structure...");
-            String resolvedTemplate = resolveTemplate(currentSentence.getStructure().toString(), 0, maxRecursionLevel);
-            currentSentence.setStructure(new StringBuilder(resolvedTemplate));
-        } else if (currentSentence.getStructure().toString().contains(SENTENCE_TAG)) {
-            logger.info("Adjusting sentence structure for non-recursive mode...");
-            String adjustedStructure = currentSentence.getStructure().toString().replaceAll(Pattern.quote(SENTENCE_TAG), NOUN_TAG);
+            hotPathLogger.info("Resolving recursive template structure...");
+            StringBuilder resolvedTemplate = new StringBuilder();
+            resolveTemplate(SentenceTemplate.of(currentSentence.getStructure().toString()), 0, maxRecursionLevel, resolvedTemplate);
+            currentSentence.setStructure(resolvedTemplate);
+            currentTemplate = SentenceTemplate.compile(resolvedTemplate);
+        } else if (currentSentence.getStructure().indexOf(SENTENCE_TAG) >= 0) {
+            hotPathLogger.info("Adjusting sentence structure for non-recursive mode...");
+            String adjustedStructure = currentSentence.getStructure().toString().replace(SENTENCE_TAG, NOUN_TAG);
             currentSentence.setStructure(new StringBuilder(adjustedStructure));
+            currentTemplate = SentenceTemplate.of(adjustedStructure);
+        } else {
+            currentTemplate = SentenceTemplate.of(currentSentence.getStructure().toString());
         }
     }
 
     /**
      * Replaces placeholders within the structure of the current sentence with the appropriate nouns, verbs,
      * and adjectives provided by iterators. Each placeholder ([noun], [verb], or [adjective]) is replaced sequentially with available words
-     * from their respective lists, updating the sentence structure.
+     * from their respective lists, rendering the compiled template in a single pass.
      */
     // Sostituisce i segnaposti [noun], [verb], [adjective]
     private void replacePlaceholders() {
-        logger.info("Starting placeholder replacement...");
-        String result = currentSentence.getStructure().toString();
-        Iterator<String> nounsIterator = currentSentence.getNouns().iterator();
-        Iterator<String> verbsIterator = currentSentence.getVerbs().iterator();
-        Iterator<String> adjectiveIterator = currentSentence.getAdjectives().iterator();
-
-        while (result.contains(NOUN_TAG) && nounsIterator.hasNext()) {
-            result = result.replaceFirst(Pattern.quote(NOUN_TAG), nounsIterator.next());
-            logger.debug("Replacing placeholder [noun] with next word from nouns list.");
-        }
-        while (result.contains(VERB_TAG) && verbsIterator.hasNext()) {
-            result = result.replaceFirst(Pattern.quote(VERB_TAG), verbsIterator.next());
-            logger.debug("Replacing placeholder [verb] with next word from verbs list.");
-        }
-        while (result.contains(ADJECTIVE_TAG) && adjectiveIterator.hasNext()) {
-            result = result.replaceFirst(Pattern.quote(ADJECTIVE_TAG), adjectiveIterator.next());
-            logger.debug("Replacing placeholder [adjective] with next word from adjectives list.");
-        }
+        hotPathLogger.info("Starting placeholder replacement...");
+        StringBuilder result = new StringBuilder(currentTemplate.estimateRenderedLength());
+        currentTemplate.render(result,
+                currentSentence.getNouns().iterator(),
+                currentSentence.getVerbs().iterator(),
+                currentSentence.getAdjectives().iterator());
 
-        logger.info("Sentence after placeholders replacement: {}", result);
-        currentSentence.setSentence(new StringBuilder(result));
+        hotPathLogger.info("Sentence after placeholders replacement: {}", result);
+        currentSentence.setSentence(result);
 
     }
 
@@ -168,22 +216,31 @@ public class GenerateSentenceService {
     }
 
     /**
-     * Resolves a template string by recursively replacing placeholder tags with appropriate content.
+     * Resolves a template by recursively expanding its [sentence] slots with newly generated structures,
+     * appending the result to the target buffer in a single left-to-right pass.
      *
-     * @param template          The initial template string containing placeholders to be replaced.
+     * @param template          The compiled template containing the slots to be expanded.
      * @param depth             Current recursion depth to monitor and limit the traversal.
      * @param maxRecursionDepth The maximum allowed recursion depth for resolving templates.
-     * @return The resolved template string with placeholders replaced.
+     * @param target            The buffer the resolved structure is appended to.
      */
-    private String resolveTemplate(String template, int depth, int maxRecursionDepth) {
+    private void resolveTemplate(SentenceTemplate template, int depth, int maxRecursionDepth, StringBuilder target) {
         if (depth > maxRecursionDepth) {
             logger.warn("Max recursion depth exceeded at depth {}. Returning default tag.", depth);
-            return NOUN_TAG;
+            target.append(NOUN_TAG);
+            return;
         }
-        while (template.contains(SENTENCE_TAG)) {
-            template = template.replaceFirst(Pattern.quote(SENTENCE_TAG), resolveTemplate(structureSentenceStrategy.generateSentenceStructure().toString(), depth + 1, maxRecursionDepth));
+        target.append(template.getLiteral(0));
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            SentenceTemplate.SlotType slot = template.getSlot(i);
+            if (slot == SentenceTemplate.SlotType.SENTENCE) {
+                SentenceTemplate nested = SentenceTemplate.of(structureSentenceStrategy.generateSentenceStructure().toString());
+                resolveTemplate(nested, depth + 1, maxRecursionDepth, target);
+            } else {
+                target.append(slot.getTag());
+            }
+            target.append(template.getLiteral(i + 1));
         }
-        return template;
     }
 
 
@@ -201,19 +258,19 @@ public class GenerateSentenceService {
             logger.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
-        logger.info("Setting Structure Sentence Strategy: {}", strategy);
+        hotPathLogger.info("Setting Structure Sentence Strategy: {}", strategy);
         switch (strategy) {
             case RANDOM:
                 this.structureSentenceStrategy = new RandomStructureStrategy();
-                logger.info("Applied Random Structure Strategy.");
+                hotPathLogger.info("Applied Random Structure Strategy.");
                 break;
             case SAME:
                 this.structureSentenceStrategy = new SameAsAnalyzedStructureStrategy(inputSentence);
-                logger.info("Applied Same-As-Analyzed Structure Strategy.");
+                hotPathLogger.info("Applied Same-As-Analyzed Structure Strategy.");
                 break;
             case SELECTED:
                 this.structureSentenceStrategy = new SelectedStructureStrategy(selStructure);
-                logger.info("Applied Selected Structure Strategy for structure: {}", selStructure);
+                hotPathLogger.info("Applied Selected Structure Strategy for structure: {}", selStructure);
 
                 break;
             default:
@@ -248,8 +305,21 @@ public class GenerateSentenceService {
      * @param inputSentence the sentence object to be used as the basis for the original word strategy, if applicable.
      */
     public void configureWordStrategy(boolean newWords, Sentence inputSentence) {
+        configureWordStrategy(newWords, inputSentence, null);
+    }
+
+    /**
+     * Configures the word selection strategy with a verb tense owned by this service, so that the tense of a batch
+     * does not change the one shared by the application.
+     *
+     * @param newWords      a boolean flag indicating whether to use a strategy for generating new words or retaining original words.
+     * @param inputSentence the sentence object to be used as the basis for the original word strategy, if applicable.
+     * @param tenseStrategy the strategy conjugating the verbs; null uses the tense shared by the application.
+     */
+    public void configureWordStrategy(boolean newWords, Sentence inputSentence, TenseStrategy tenseStrategy) {
         String strategyType = newWords ? "NewWordStrategy" : "OriginalWordStrategy";
-        this.wordSelectionStrategy = newWords ? new NewWordStrategy() : new OriginalWordStrategy(inputSentence);
-        logger.info("Configuring Word Selection Strategy: {} with associated input sentence: {}", strategyType, inputSentence);
+        this.tenseStrategy = tenseStrategy;
+        this.wordSelectionStrategy = newWords ? new NewWordStrategy(tenseStrategy) : new OriginalWordStrategy(inputSentence, tenseStrategy);
+        hotPathLogger.info("Configuring Word Selection Strategy: {} with associated input sentence: {}", strategyType, inputSentence);
     }
 }
@@ -0,0 +1,379 @@
+package unipd.edids.logicBusiness.services;
+
+import com.google.cloud.language.v1.ModerateTextResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces moderation requests submitted by concurrent callers into batches sent together to the API.
+ *
+ * <p>Responsibilities:
+ * - Collects submitted texts until the batch is full or the linger time has elapsed.
+ * - Sends every request of a batch at once through {@link APIClient#executeAsync()},
+ *   pipelined over the shared LanguageServiceClient.
+ * - Completes the future of each text with its own response.
+ * - Counts submitted, completed and failed requests, batches and latencies.
+ *
+ * <p>Moderation categories are computed per document, so texts are not packed into a single document:
+ * their categories could not be mapped back to each sentence.
+ *
+ * <p>Design Patterns:
+ * - Singleton: a single batcher, and dispatcher thread, is shared by the application.
+ * - Producer-Consumer: callers enqueue texts, the dispatcher thread drains them in batches.
+ */
+public class ModerationBatcher {
+    /**
+     * Logger instance for logging ModerationBatcher operations.
+     */
+    private static final Logger logger = LogManager.getLogger(ModerationBatcher.class);
+
+    /**
+     * Singleton instance of the ModerationBatcher.
+     */
+    private static ModerationBatcher instance;
+
+    /**
+     * A submitted text waiting for its response.
+     *
+     * @param text        the text to moderate.
+     * @param future      the future completed with the response.
+     * @param submittedAt the submission time, in nanoseconds.
+     */
+    private record Pending(String text, CompletableFuture<ModerateTextResponse> future, long submittedAt) {
+    }
+
+    /**
+     * Maximum number of texts sent in a single batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time a text waits for other texts to join its batch, in nanoseconds.
+     */
+    private final long lingerNanos;
+
+    /**
+     * Texts waiting to be dispatched.
+     */
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Thread draining the queue in batches.
+     */
+    private final Thread dispatcher;
+
+    /**
+     * Creation time of the batcher, in nanoseconds, used to compute the throughput.
+     */
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * Whether the batcher still accepts texts.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Lock making the check of {@link #running} and the enqueue of a text atomic with respect to the shutdown,
+     * so that no text is enqueued after the queue has been drained.
+     */
+    private final Object submitLock = new Object();
+
+    /**
+     * Number of texts submitted.
+     */
+    private final AtomicLong submitted = new AtomicLong();
+    /**
+     * Number of texts moderated successfully.
+     */
+    private final AtomicLong completed = new AtomicLong();
+    /**
+     * Number of texts whose moderation failed.
+     */
+    private final AtomicLong failed = new AtomicLong();
+    /**
+     * Number of batches dispatched.
+     */
+    private final AtomicLong batches = new AtomicLong();
+    /**
+     * Sum of the latencies of the finished texts, in nanoseconds.
+     */
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    /**
+     * Highest latency of a finished text, in nanoseconds.
+     */
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Creates a batcher and starts its dispatcher thread.
+     *
+     * @param maxBatchSize the maximum number of texts per batch; must be positive.
+     * @param lingerMillis the maximum time a text waits for its batch to fill; must not be negative.
+     * @throws IllegalArgumentException if a parameter is out of range.
+     */
+    public ModerationBatcher(int maxBatchSize, long lingerMillis) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("Linger time cannot be negative: " + lingerMillis);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.dispatcher = new Thread(this::dispatchLoop, "moderation-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+        logger.info("ModerationBatcher started with batch size {} and linger {} ms", maxBatchSize, lingerMillis);
+    }
+
+    /**
+     * Retrieves the shared batcher, configured by {@code moderation.batch.size} and {@code moderation.batch.linger.ms}.
+     *
+     * @return the shared ModerationBatcher.
+     */
+    public static synchronized ModerationBatcher getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            instance = new ModerationBatcher(
+                    config.getInt("moderation.batch.size", 16),
+                    config.getLong("moderation.batch.linger.ms", 20));
+        }
+        return instance;
+    }
+
+    /**
+     * Shuts down the shared batcher, if it was created. Pending texts are failed.
+     */
+    public static synchronized void shutdownInstance() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Submits a text for moderation.
+     *
+     * @param text the text to moderate.
+     * @return a future completed with the moderation response of the text.
+     */
+    public CompletableFuture<ModerateTextResponse> submit(String text) {
+        CompletableFuture<ModerateTextResponse> future = new CompletableFuture<>();
+        synchronized (submitLock) {
+            if (!running) {
+                future.completeExceptionally(new IllegalStateException("ModerationBatcher has been shut down."));
+                return future;
+            }
+            submitted.incrementAndGet();
+            queue.add(new Pending(text, future, System.nanoTime()));
+        }
+        return future;
+    }
+
+    /**
+     * Stops the dispatcher thread and fails the texts still waiting in the queue.
+     */
+    public void shutdown() {
+        stopAccepting();
+        dispatcher.interrupt();
+        failQueued();
+        logger.info("ModerationBatcher stopped. {}", this);
+    }
+
+    /**
+     * Stops accepting texts; once it returns, no text can be added to the queue anymore.
+     */
+    private void stopAccepting() {
+        synchronized (submitLock) {
+            running = false;
+        }
+    }
+
+    /**
+     * Fails the texts still waiting in the queue.
+     */
+    private void failQueued() {
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> fail(pending, new IllegalStateException("ModerationBatcher has been shut down.")));
+    }
+
+    /**
+     * Waits for texts and dispatches them in batches until the batcher is shut down.
+     * When the thread is interrupted, the batcher stops accepting texts and fails the batch being collected
+     * and the texts still in the queue, so that no caller waits forever.
+     */
+    private void dispatchLoop() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // I testi già tolti dalla coda non verrebbero più completati.
+                stopAccepting();
+                batch.forEach(pending -> fail(pending, new IllegalStateException("ModerationBatcher has been shut down.")));
+                failQueued();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends every request of a batch without waiting for the previous ones to complete.
+     *
+     * @param batch the texts to send.
+     */
+    private void dispatch(List<Pending> batch) {
+        batches.incrementAndGet();
+        logger.debug("Dispatching moderation batch of {} texts", batch.size());
+        APIClient<ModerateTextResponse> client;
+        try {
+            client = new APIClient<ModerateTextResponse>().setAPIType(APIClient.RequestType.MODERATION);
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> fail(pending, e));
+            return;
+        }
+
+        for (Pending pending : batch) {
+            client.setSentenceToAPI(pending.text())
+                    .executeAsync()
+                    .whenComplete((response, failure) -> {
+                        if (failure != null) {
+                            fail(pending, failure);
+                        } else {
+                            recordLatency(pending);
+                            completed.incrementAndGet();
+                            pending.future().complete(response);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Fails a pending text.
+     *
+     * @param pending the pending text.
+     * @param cause   the cause of the failure.
+     */
+    private void fail(Pending pending, Throwable cause) {
+        recordLatency(pending);
+        failed.incrementAndGet();
+        pending.future().completeExceptionally(cause);
+    }
+
+    /**
+     * Records the latency of a pending text, from its submission to now.
+     *
+     * @param pending the pending text.
+     */
+    private void recordLatency(Pending pending) {
+        long latency = System.nanoTime() - pending.submittedAt();
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Retrieves the number of submitted texts.
+     *
+     * @return the submitted count.
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * Retrieves the number of texts moderated successfully.
+     *
+     * @return the completed count.
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Retrieves the number of texts whose moderation failed.
+     *
+     * @return the failed count.
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Retrieves the number of dispatched batches.
+     *
+     * @return the batch count.
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Retrieves the average number of texts per batch.
+     *
+     * @return the average batch size, or 0 if no batch was dispatched.
+     */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) (completed.get() + failed.get()) / count;
+    }
+
+    /**
+     * Retrieves the average latency of the finished texts, from submission to response.
+     *
+     * @return the average latency in milliseconds, or 0 if no text has finished.
+     */
+    public double getAverageLatencyMillis() {
+        long finished = completed.get() + failed.get();
+        return finished == 0 ? 0 : totalLatencyNanos.get() / 1e6 / finished;
+    }
+
+    /**
+     * Retrieves the highest latency of the finished texts.
+     *
+     * @return the maximum latency in milliseconds.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+
+    /**
+     * Retrieves the number of texts moderated per second since the batcher was created.
+     *
+     * @return the throughput in texts per second.
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return seconds <= 0 ? 0 : completed.get() / seconds;
+    }
+
+    /**
+     * Returns a summary of the counters, used for logging.
+     *
+     * @return the counters as a string.
+     */
+    @Override
+    public String toString() {
+        return String.format("[submitted: %d, completed: %d, failed: %d, batches: %d, avgBatch: %.1f, avgLatency: %.1f ms, maxLatency: %.1f ms, throughput: %.1f/s]",
+                getSubmitted(), getCompleted(), getFailed(), getBatches(), getAverageBatchSize(),
+                getAverageLatencyMillis(), getMaxLatencyMillis(), getThroughput());
+    }
+}
@@ -4,7 +4,10 @@ import com.google.cloud.language.v1.ClassificationCategory;
 import com.google.cloud.language.v1.ModerateTextResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.caches.ModerationCache;
 import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.managers.LoggerManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
 
 import java.util.List;
 
@@ -16,6 +19,7 @@ import java.util.List;
  * - Validates input text to ensure it conforms to acceptable standards.
  * - Interacts with an external moderation API to determine categories of moderation confidence.
  * - Updates the `Sentence` object with toxicity levels based on moderation results.
+ * - Reuses the confidences of sentences moderated before through the {@link ModerationCache}.
  * - Logs detailed information during moderation for tracking and debugging.
  * <p>
  * Design Pattern:
@@ -34,6 +38,38 @@ public class ModerationSentenceService {
      */
     private static final Logger logger = LogManager.getLogger(ModerationSentenceService.class);
 
+    /**
+     * Rate-limited logger for the events logged for every sentence.
+     */
+    private static final Logger hotPathLogger = LoggerManager.getInstance().getHotPathLogger(ModerationSentenceService.class);
+
+    /**
+     * Names of the moderation categories stored on a Sentence, in the order used by the {@link ModerationCache}.
+     */
+    private static final String[] CATEGORY_NAMES = {"Toxic", "Profanity", "Insult", "Sexual", "Politics"};
+
+    /**
+     * Batcher coalescing the moderation requests, or null to send each request directly.
+     */
+    private final ModerationBatcher batcher;
+
+    /**
+     * Creates a service sending each moderation request directly to the API.
+     */
+    public ModerationSentenceService() {
+        this(null);
+    }
+
+    /**
+     * Creates a service sending its moderation requests through a batcher, used by bulk jobs
+     * where many sentences are moderated concurrently.
+     *
+     * @param batcher the batcher coalescing the requests, or null to send each request directly.
+     */
+    public ModerationSentenceService(ModerationBatcher batcher) {
+        this.batcher = batcher;
+    }
+
     /**
      * Retrieves the confidence value for a specific moderation category by its name from a list of classification categories.
      *
@@ -52,7 +88,7 @@ public class ModerationSentenceService {
 
         for (ClassificationCategory category : categories) {
             if (categoryName.equals(category.getName())) {
-                logger.info("Found category: {} with confidence: {}", categoryName, category.getConfidence());
+                hotPathLogger.info("Found category: {} with confidence: {}", categoryName, category.getConfidence());
                 return category.getConfidence();
             }
         }
@@ -69,48 +105,95 @@ public class ModerationSentenceService {
      *                 confidence levels will be updated.
      */
     public void moderateText(Sentence sentence) {
+        long start = MetricsManager.getInstance().start();
         try {
-            validateText(sentence.getSentence().toString());
-            logger.info("Starting text moderation for sentence: {}", sentence.getSentence());
-
-            // Esegui la richiesta di moderazione
-            ModerateTextResponse response = fetchModerationResponse(sentence);
-            logger.info("Received moderation response");
+            String text = sentence.getSentence().toString();
+            validateText(text);
+            hotPathLogger.info("Starting text moderation for sentence: {}", sentence.getSentence());
 
-            // Estrai la lista delle categorie
-            List<ClassificationCategory> categories = response.getModerationCategoriesList();
-            logger.info("Extracted {} moderation categories from the response", categories.size());
+            // Recupera le confidenze dalla cache o esegui la richiesta di moderazione
+            float[] confidences = ModerationCache.getInstance().get(text, this::fetchConfidences);
 
             // Imposta i livelli di confidenza delle categorie nel Sentence
-            setCategoryConfidences(categories, sentence);
-            logger.info("Set confidence levels on Sentence object");
-
-            // Stampa informazioni sulle categorie con stream
-            categories.forEach(category ->
-                    logger.info("Category: {}, Confidence: {}", category.getName(), category.getConfidence())
-            );
+            applyConfidences(confidences, sentence);
+            hotPathLogger.info("Set confidence levels on Sentence object");
 
         } catch (Exception e) {
             String errorMessage = "Error while moderating text: " + e.getMessage();
             logger.error(errorMessage);
             throw new RuntimeException(errorMessage, e);
+        } finally {
+            MetricsManager.getInstance().record(MetricsManager.Stage.MODERATION, start);
         }
     }
 
     /**
-     * Fetches a moderation response for a given sentence.
+     * Fetches a moderation response for a given text and extracts the confidences of the stored categories.
      *
-     * @param sentence the sentence to be moderated.
-     * @return a {@code ModerateTextResponse} containing the moderation results for the given sentence.
+     * @param text the text to be moderated.
+     * @return the confidences of the categories, in the order of {@code CATEGORY_NAMES}.
      */
-    private static ModerateTextResponse fetchModerationResponse(Sentence sentence) {
-        logger.info("Fetching moderation response for sentence");
+    private float[] fetchConfidences(String text) {
+        ModerateTextResponse response = fetchModerationResponse(text);
+        hotPathLogger.info("Received moderation response");
+
+        // Estrai la lista delle categorie
+        List<ClassificationCategory> categories = response.getModerationCategoriesList();
+        hotPathLogger.info("Extracted {} moderation categories from the response", categories.size());
+
+        // Stampa informazioni sulle categorie con stream
+        categories.forEach(category ->
+                hotPathLogger.info("Category: {}, Confidence: {}", category.getName(), category.getConfidence())
+        );
+        return extractConfidences(categories);
+    }
+
+    /**
+     * Fetches a moderation response for a given text, through the batcher when one is configured.
+     *
+     * @param text the text to be moderated.
+     * @return a {@code ModerateTextResponse} containing the moderation results for the given text.
+     */
+    private ModerateTextResponse fetchModerationResponse(String text) {
+        hotPathLogger.info("Fetching moderation response for sentence");
+        if (batcher != null) {
+            return batcher.submit(text).join();
+        }
         return new APIClient<ModerateTextResponse>()
                 .setAPIType(APIClient.RequestType.MODERATION)
-                .setSentenceToAPI(sentence.getSentence().toString())
+                .setSentenceToAPI(text)
                 .execute();
     }
 
+    /**
+     * Extracts the confidences of the categories stored on a Sentence from a list of classifications.
+     *
+     * @param categories a list of {@code ClassificationCategory} containing category names and their confidence values
+     * @return the confidences, in the order of {@code CATEGORY_NAMES}
+     * @throws IllegalArgumentException if one of the categories is missing
+     */
+    private static float[] extractConfidences(List<ClassificationCategory> categories) {
+        float[] confidences = new float[CATEGORY_NAMES.length];
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            confidences[i] = getModerationConfidenceByName(categories, CATEGORY_NAMES[i]);
+        }
+        return confidences;
+    }
+
+    /**
+     * Sets the confidences extracted by {@link #extractConfidences(List)} on a Sentence.
+     *
+     * @param confidences the confidences, in the order of {@code CATEGORY_NAMES}
+     * @param sentence    the {@code Sentence} object whose category confidence values need to be set
+     */
+    private static void applyConfidences(float[] confidences, Sentence sentence) {
+        sentence.setToxicity(confidences[0]);
+        sentence.setProfanity(confidences[1]);
+        sentence.setInsult(confidences[2]);
+        sentence.setSexual(confidences[3]);
+        sentence.setPolitics(confidences[4]);
+    }
+
     /**
      * Updates the confidence values for various categories in a given Sentence object
      * based on the provided classifications.
@@ -119,12 +202,8 @@ public class ModerationSentenceService {
      * @param sentence   the {@code Sentence} object whose category confidence values need to be set
      */
     private static void setCategoryConfidences(List<ClassificationCategory> categories, Sentence sentence) {
-        logger.info("Setting category confidences for Sentence object");
-        sentence.setToxicity(getModerationConfidenceByName(categories, "Toxic"));
-        sentence.setProfanity(getModerationConfidenceByName(categories, "Profanity"));
-        sentence.setInsult(getModerationConfidenceByName(categories, "Insult"));
-        sentence.setSexual(getModerationConfidenceByName(categories, "Sexual"));
-        sentence.setPolitics(getModerationConfidenceByName(categories, "Politics"));
+        hotPathLogger.info("Setting category confidences for Sentence object");
+        applyConfidences(extractConfidences(categories), sentence);
     }
 
 
@@ -137,41 +216,11 @@ public class ModerationSentenceService {
     private void validateText(String sentenceText) {
         logger.debug("Validating text: {}", sentenceText);
 
-        if (sentenceText == null || sentenceText.isEmpty()) {
-            String errorMessage = "Input text " + sentenceText +" cannot be null or empty.";
+        TextValidator.Result result = TextValidator.validate(sentenceText);
+        if (!result.isValid()) {
+            String errorMessage = "Input text " + sentenceText + " " + result.detail();
             logger.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
-
-        if (sentenceText.trim().isEmpty()) {
-            String errorMessage = "Input text " + sentenceText +" cannot be empty or whitespace only.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (!sentenceText.matches(".*[a-zA-Z]+.*")) {
-            String errorMessage = "Input text " + sentenceText +" must contain at least one alphabetical character.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (sentenceText.matches("^[^a-zA-Z0-9\\s].*")) {
-            String errorMessage = "Input text " + sentenceText +" contains invalid characters at the start of the text.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (sentenceText.matches(".*[^a-zA-Z0-9.\\s]$")) {
-            String errorMessage = "Input text " + sentenceText +" contains invalid characters at the end of the text.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
-        if (sentenceText.matches(".*[^a-zA-Z0-9.,:'\"\\s-].*")) {
-            String errorMessage = "Input text " + sentenceText +" contains invalid characters.";
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package unipd.edids.logicBusiness.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the remote language service is reachable, without checking it before every request.
+ *
+ * <p>Responsibilities:
+ * - Resolves the service endpoint at most once per check interval, in the background, and caches the result:
+ *   callers only read the cached state and never wait for a DNS lookup.
+ * - Acts as a circuit breaker: after a number of consecutive failures, requests fail fast
+ *   until a cooldown has elapsed, then a single probe decides whether the circuit closes again.
+ * - Lets the API client report the outcome of its requests, so that network failures open the circuit
+ *   and successful responses keep it closed without further DNS lookups.
+ *
+ * <p>Design Pattern:
+ * - Circuit Breaker: closed, open and half-open states driven by the reported outcomes.
+ */
+public class ServiceAvailability {
+    /**
+     * Logger instance for logging availability changes.
+     */
+    private static final Logger logger = LogManager.getLogger(ServiceAvailability.class);
+
+    /**
+     * Single-threaded executor running the probes of every tracker, off the threads sending the requests.
+     */
+    private static final ExecutorService prober = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The host name whose resolution proves the service is reachable.
+     */
+    private final String endpoint;
+
+    /**
+     * How long a successful check is trusted, in nanoseconds.
+     */
+    private final long checkIntervalNanos;
+
+    /**
+     * Number of consecutive failures that opens the circuit.
+     */
+    private final int failureThreshold;
+
+    /**
+     * How long the circuit stays open before a probe is allowed, in nanoseconds.
+     */
+    private final long cooldownNanos;
+
+    /**
+     * Time of the last successful check or request, in nanoseconds; guarded by {@code this}.
+     */
+    private long lastSuccessAt;
+
+    /**
+     * Whether a success has ever been recorded; guarded by {@code this}.
+     */
+    private boolean everSucceeded;
+
+    /**
+     * Number of consecutive failures; guarded by {@code this}.
+     */
+    private int consecutiveFailures;
+
+    /**
+     * Time until which the circuit is open, in nanoseconds; guarded by {@code this}.
+     */
+    private long openUntil;
+
+    /**
+     * Whether the circuit is open; guarded by {@code this}.
+     */
+    private boolean open;
+
+    /**
+     * Failure of the last probe, reported to the callers until a success is recorded; guarded by {@code this}.
+     */
+    private RuntimeException probeFailure;
+
+    /**
+     * Time of the last failed probe, in nanoseconds; guarded by {@code this}.
+     */
+    private long probeFailedAt;
+
+    /**
+     * The probe in progress, or null; guarded by {@code this}. At most one probe runs at a time.
+     */
+    private CompletableFuture<Void> pendingProbe;
+
+    /**
+     * Creates an availability tracker for the given endpoint.
+     *
+     * @param endpoint            the host name of the service.
+     * @param checkIntervalMillis how long a successful check is trusted.
+     * @param failureThreshold    the number of consecutive failures opening the circuit; must be positive.
+     * @param cooldownMillis      how long the circuit stays open before a probe is allowed.
+     * @throws IllegalArgumentException if the failure threshold is not positive.
+     */
+    public ServiceAvailability(String endpoint, long checkIntervalMillis, int failureThreshold, long cooldownMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive: " + failureThreshold);
+        }
+        this.endpoint = endpoint;
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis);
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+    }
+
+    /**
+     * Ensures the service can be called, reading only the cached state. Fails fast while the circuit is open
+     * or while the last probe failed. When no success was recorded within the check interval, a single probe
+     * is started in the background and the caller proceeds on the cached state: the outcome of its request
+     * is reported as well. Once the cooldown of an open circuit has elapsed, the callers keep failing fast
+     * until the probe closes the circuit.
+     *
+     * @throws RuntimeException if the circuit is open or the last probe failed.
+     */
+    public void check() {
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (open) {
+                if (now >= openUntil) {
+                    refresh();
+                }
+                throw unavailable();
+            }
+            if (everSucceeded && now - lastSuccessAt < checkIntervalNanos) {
+                return;
+            }
+            if (probeFailure == null || now - probeFailedAt >= checkIntervalNanos) {
+                refresh();
+            }
+            if (probeFailure != null) {
+                throw new RuntimeException(probeFailure.getMessage(), probeFailure.getCause());
+            }
+        }
+    }
+
+    /**
+     * Starts a probe of the endpoint in the background, unless one is already in progress.
+     *
+     * @return a future completed when the probe in progress has recorded its outcome.
+     */
+    synchronized CompletableFuture<Void> refresh() {
+        if (pendingProbe != null) {
+            return pendingProbe;
+        }
+        CompletableFuture<Void> started = CompletableFuture.runAsync(this::probe, prober);
+        pendingProbe = started;
+        started.whenComplete((ignored, failure) -> {
+            synchronized (this) {
+                if (pendingProbe == started) {
+                    pendingProbe = null;
+                }
+            }
+        });
+        return started;
+    }
+
+    /**
+     * Creates the failure reported while the circuit is open.
+     *
+     * @return the exception to throw.
+     */
+    private synchronized RuntimeException unavailable() {
+        return new RuntimeException("Service " + endpoint + " is temporarily unavailable after "
+                + consecutiveFailures + " consecutive failures. Please check your network connection.");
+    }
+
+    /**
+     * Resolves the endpoint and records the outcome, keeping the failure for the next callers.
+     */
+    private void probe() {
+        try {
+            logger.debug("Checking connectivity to service endpoint: {}", endpoint);
+            InetAddress address = resolve();
+            logger.debug("Resolved address: {}", address.getHostAddress());
+            recordSuccess();
+        } catch (Exception e) {
+            String errorMsg = "DNS resolution failed for the hostname: " + endpoint + ". Please check if the hostname is correct and verify your network connection.";
+            logger.error(errorMsg, e);
+            synchronized (this) {
+                recordFailure();
+                probeFailure = new RuntimeException(errorMsg, e);
+                probeFailedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Resolves the endpoint.
+     *
+     * @return the resolved address.
+     * @throws UnknownHostException if the endpoint cannot be resolved.
+     */
+    InetAddress resolve() throws UnknownHostException {
+        return InetAddress.getByName(endpoint);
+    }
+
+    /**
+     * Records a successful check or request, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        if (open) {
+            logger.info("Service {} is reachable again, closing the circuit.", endpoint);
+        }
+        open = false;
+        consecutiveFailures = 0;
+        everSucceeded = true;
+        probeFailure = null;
+        lastSuccessAt = System.nanoTime();
+    }
+
+    /**
+     * Records a failed check or a request that failed because the service was unreachable,
+     * opening the circuit once the failure threshold is reached.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        everSucceeded = false;
+        if (consecutiveFailures >= failureThreshold) {
+            if (!open) {
+                logger.warn("Service {} failed {} consecutive times, opening the circuit.", endpoint, consecutiveFailures);
+            }
+            open = true;
+            openUntil = System.nanoTime() + cooldownNanos;
+        }
+    }
+
+    /**
+     * Indicates whether the circuit is currently open.
+     *
+     * @return true if requests are failing fast.
+     */
+    public synchronized boolean isOpen() {
+        return open && System.nanoTime() < openUntil;
+    }
+}
@@ -0,0 +1,225 @@
+package unipd.edids.logicBusiness.services;
+
+/**
+ * Validates the input texts of the analysis and moderation services in a single pass over their characters.
+ *
+ * <p>Responsibilities:
+ * - Checks, in order: null or empty text, maximum length, blank text, presence of a letter on a single line,
+ *   valid first character, valid last character and valid characters throughout.
+ * - Classifies the ASCII characters once, in a lookup table, so no regular expression is compiled or run.
+ * - Returns a structured {@link Result} with the failed rule and the position of the offending character,
+ *   so callers can build their own messages or pre-filter batch inputs without exceptions.
+ *
+ * <p>Accepted characters are ASCII letters and digits, whitespace and {@code . , : ' " -};
+ * a text must start with a letter, digit or whitespace, and end with one of them or a period.
+ *
+ * <p>Design Pattern:
+ * - Static utility: the validator is stateless and shared by every service.
+ */
+public class TextValidator {
+    /**
+     * Flag of the ASCII letters.
+     */
+    private static final byte LETTER = 1;
+    /**
+     * Flag of the characters allowed at the start of a text.
+     */
+    private static final byte START = 1 << 1;
+    /**
+     * Flag of the characters allowed at the end of a text.
+     */
+    private static final byte END = 1 << 2;
+    /**
+     * Flag of the characters allowed anywhere in a text.
+     */
+    private static final byte ALLOWED = 1 << 3;
+
+    /**
+     * Flags of each ASCII character; characters outside the table have no flag.
+     */
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = LETTER | START | END | ALLOWED;
+            CLASSES[Character.toUpperCase(c)] = LETTER | START | END | ALLOWED;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = START | END | ALLOWED;
+        }
+        // Spazi come definiti da \s: spazio, tab, newline, tab verticale, form feed, carriage return.
+        for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+            CLASSES[c] = START | END | ALLOWED;
+        }
+        CLASSES['.'] = END | ALLOWED;
+        for (char c : new char[]{',', ':', '\'', '"', '-'}) {
+            CLASSES[c] = ALLOWED;
+        }
+    }
+
+    /**
+     * The rule a text fails, with the detail used in error messages.
+     */
+    public enum Reason {
+        VALID("is valid."),
+        NULL_OR_EMPTY("cannot be null or empty."),
+        TOO_LONG("cannot exceed %d characters."),
+        BLANK("cannot be empty or whitespace only."),
+        NO_LETTER("must contain at least one alphabetical character."),
+        INVALID_START("contains invalid characters at the start of the text."),
+        INVALID_END("contains invalid characters at the end of the text."),
+        INVALID_CHARACTER("contains invalid characters.");
+
+        /**
+         * Detail of the rule, appended to the subject of the error message.
+         */
+        private final String detail;
+
+        /**
+         * Creates a reason with its detail.
+         *
+         * @param detail the detail of the rule.
+         */
+        Reason(String detail) {
+            this.detail = detail;
+        }
+    }
+
+    /**
+     * The outcome of a validation.
+     *
+     * @param reason    the failed rule, or {@link Reason#VALID}.
+     * @param position  the index of the offending character, or -1 if the rule does not concern a single character.
+     * @param maxLength the maximum length that was checked, used by the {@link Reason#TOO_LONG} detail.
+     */
+    public record Result(Reason reason, int position, int maxLength) {
+        /**
+         * Indicates whether the text passed every rule.
+         *
+         * @return true if the text is valid.
+         */
+        public boolean isValid() {
+            return reason == Reason.VALID;
+        }
+
+        /**
+         * Retrieves the detail of the failed rule, e.g. "contains invalid characters.".
+         *
+         * @return the detail of the rule.
+         */
+        public String detail() {
+            return reason == Reason.TOO_LONG ? String.format(reason.detail, maxLength) : reason.detail;
+        }
+
+        /**
+         * Retrieves the error message of the failed rule, e.g. "Input text contains invalid characters.".
+         *
+         * @return the error message.
+         */
+        public String message() {
+            return "Input text " + detail();
+        }
+    }
+
+    /**
+     * Private constructor, the class only exposes static methods.
+     */
+    private TextValidator() {
+    }
+
+    /**
+     * Validates a text without a length limit.
+     *
+     * @param text the text to validate.
+     * @return the outcome of the validation.
+     */
+    public static Result validate(CharSequence text) {
+        return validate(text, 0);
+    }
+
+    /**
+     * Validates a text, checking every rule in a single pass over its characters.
+     *
+     * @param text      the text to validate.
+     * @param maxLength the maximum number of characters; 0 or negative disables the check.
+     * @return the outcome of the validation.
+     */
+    public static Result validate(CharSequence text, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return new Result(Reason.NULL_OR_EMPTY, -1, maxLength);
+        }
+        int length = text.length();
+        if (maxLength > 0 && length > maxLength) {
+            return new Result(Reason.TOO_LONG, -1, maxLength);
+        }
+
+        boolean blank = true;
+        boolean letter = false;
+        boolean lineTerminator = false;
+        int firstInvalid = -1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int flags = flagsOf(c);
+            if (c > ' ') {
+                blank = false;
+            }
+            if ((flags & LETTER) != 0) {
+                letter = true;
+            } else if (isLineTerminator(c)) {
+                lineTerminator = true;
+            }
+            if (firstInvalid < 0 && (flags & ALLOWED) == 0) {
+                firstInvalid = i;
+            }
+        }
+
+        if (blank) {
+            return new Result(Reason.BLANK, -1, maxLength);
+        }
+        // Come nella versione con le regex, il testo deve stare su una sola riga.
+        if (!letter || lineTerminator) {
+            return new Result(Reason.NO_LETTER, -1, maxLength);
+        }
+        if ((flagsOf(text.charAt(0)) & START) == 0) {
+            return new Result(Reason.INVALID_START, 0, maxLength);
+        }
+        if ((flagsOf(text.charAt(length - 1)) & END) == 0) {
+            return new Result(Reason.INVALID_END, length - 1, maxLength);
+        }
+        if (firstInvalid >= 0) {
+            return new Result(Reason.INVALID_CHARACTER, firstInvalid, maxLength);
+        }
+        return new Result(Reason.VALID, -1, maxLength);
+    }
+
+    /**
+     * Indicates whether a text passes every rule, e.g. to pre-filter the lines of an input file.
+     *
+     * @param text      the text to validate.
+     * @param maxLength the maximum number of characters; 0 or negative disables the check.
+     * @return true if the text is valid.
+     */
+    public static boolean isValid(CharSequence text, int maxLength) {
+        return validate(text, maxLength).isValid();
+    }
+
+    /**
+     * Retrieves the flags of a character.
+     *
+     * @param c the character.
+     * @return its flags, or 0 for characters outside the ASCII range.
+     */
+    private static int flagsOf(char c) {
+        return c < CLASSES.length ? CLASSES[c] : 0;
+    }
+
+    /**
+     * Checks whether a character ends a line, as the {@code .} of a regular expression would not match it.
+     *
+     * @param c the character.
+     * @return true for line feed, carriage return, next line, line separator and paragraph separator.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,67 @@
+package unipd.edids.logicBusiness.strategies.analyzerStrategies;
+
+import edu.stanford.nlp.trees.Tree;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceTemplate;
+
+/**
+ * The AnalyzerBackend interface provides a mechanism for implementing different part-of-speech taggers
+ * used by the syntax analysis.
+ *
+ * <p>Responsibilities:
+ * - Defines a common interface for tagging the words of a text as nouns, verbs and adjectives.
+ * - Facilitates dynamic switching between a remote and a local tagger.
+ *
+ * <p>Design Pattern:
+ * - Strategy: Encapsulates distinct tagging logic into interchangeable implementations of this interface.
+ */
+public interface AnalyzerBackend {
+    /**
+     * Tags the words of a text, adding the nouns, verbs and adjectives to the lists of the sentence
+     * and appending the placeholder tags, or the untagged words, to its structure.
+     *
+     * @param text     the text to analyze; must already be validated.
+     * @param sentence the sentence filled with the analysis results.
+     * @return the syntax tree of the text when the backend computes it as a by-product, otherwise null.
+     * @throws IllegalArgumentException if the text contains words that cannot be tagged.
+     */
+    Tree analyze(String text, Sentence sentence);
+
+    /**
+     * Indicates whether the result of {@link #analyze(String, Sentence)} is the final syntax tree:
+     * the backend annotated the text with the configured pipeline, so a null tree means the pipeline does not parse
+     * and parsing the text again would only repeat the same annotation.
+     *
+     * @return true if the caller must not parse the text again; false by default.
+     */
+    default boolean providesSyntaxTree() {
+        return false;
+    }
+
+    /**
+     * Adds a word to the list of its grammatical type and appends the matching tag to the structure.
+     *
+     * @param sentence the sentence being filled.
+     * @param type     the grammatical type of the word.
+     * @param word     the word to add.
+     */
+    static void addTaggedWord(Sentence sentence, SentenceTemplate.SlotType type, String word) {
+        switch (type) {
+            case NOUN -> sentence.getNouns().add(word);
+            case VERB -> sentence.getVerbs().add(word);
+            case ADJECTIVE -> sentence.getAdjectives().add(word);
+            default -> throw new IllegalArgumentException("Unsupported grammatical type: " + type);
+        }
+        sentence.getStructure().append(type.getTag()).append(' ');
+    }
+
+    /**
+     * Appends an untagged word to the structure of the sentence.
+     *
+     * @param sentence the sentence being filled.
+     * @param word     the word to append.
+     */
+    static void addPlainWord(Sentence sentence, String word) {
+        sentence.getStructure().append(word).append(' ');
+    }
+}
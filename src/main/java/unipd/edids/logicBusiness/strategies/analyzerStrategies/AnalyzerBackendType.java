@@ -0,0 +1,31 @@
+package unipd.edids.logicBusiness.strategies.analyzerStrategies;
+
+/**
+ * Represents the part-of-speech taggers available for the syntax analysis.
+ *
+ * <p>Responsibilities:</p>
+ * - Defines the types of analyzer backends.
+ * - Maps the value of the {@code analyzer.backend} configuration key to a backend type.
+ */
+public enum AnalyzerBackendType {
+    GOOGLE,
+    CORENLP;
+
+    /**
+     * Retrieves the backend type matching a configuration value, ignoring case.
+     *
+     * @param value the configuration value, e.g. "google" or "corenlp".
+     * @return the matching backend type.
+     * @throws IllegalArgumentException if the value does not name a backend.
+     */
+    public static AnalyzerBackendType fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Analyzer backend cannot be null or empty.");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid analyzer backend: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package unipd.edids.logicBusiness.strategies.analyzerStrategies;
+
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.trees.Tree;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceTemplate;
+
+import java.util.function.Function;
+
+/**
+ * Tags words locally with the part-of-speech annotations of a StanfordCoreNLP pipeline.
+ *
+ * <p>Responsibilities:
+ * - Annotates the text in process, without any network call.
+ * - Maps the Penn Treebank tags to the sentence lists: NN* to nouns, VB* and MD to verbs, JJ* to adjectives.
+ * - Reuses the constituency parse of the same annotation as syntax tree, when the pipeline provides one.
+ *
+ * <p>Design Pattern:
+ * - Strategy: Implements the AnalyzerBackend interface.
+ */
+public class CoreNLPAnalyzerBackend implements AnalyzerBackend {
+    /**
+     * Logger instance for logging CoreNLPAnalyzerBackend operations.
+     */
+    private static final Logger logger = LogManager.getLogger(CoreNLPAnalyzerBackend.class);
+
+    /**
+     * Annotates a text with a pipeline providing at least the tokenize, ssplit and pos annotators.
+     */
+    private final Function<String, CoreDocument> annotator;
+
+    /**
+     * Creates a backend tagging words with the given annotator. The annotator is called on every analysis,
+     * so the pipeline behind it can still be loading when the backend is created.
+     *
+     * @param annotator annotates a text with at least the tokenize, ssplit and pos annotators,
+     *                  e.g. through the shared pipelines of the PipelineManager.
+     * @throws IllegalArgumentException if the annotator is null.
+     */
+    public CoreNLPAnalyzerBackend(Function<String, CoreDocument> annotator) {
+        if (annotator == null) {
+            throw new IllegalArgumentException("The CoreNLP annotator cannot be null.");
+        }
+        this.annotator = annotator;
+    }
+
+    /**
+     * Tags the words of a text using the part-of-speech annotations of the pipeline.
+     *
+     * @param text     the text to analyze; must already be validated.
+     * @param sentence the sentence filled with the analysis results.
+     * @return the constituency tree of the first sentence, or null if the pipeline does not parse.
+     */
+    @Override
+    public Tree analyze(String text, Sentence sentence) {
+        CoreDocument document = annotator.apply(text);
+        logger.info("Annotated {} tokens locally.", document.tokens().size());
+
+        for (CoreLabel token : document.tokens()) {
+            String word = token.originalText();
+            SentenceTemplate.SlotType type = mapTag(token.tag());
+            logger.debug("Processing token with word: '{}' and tag: '{}'", word, token.tag());
+            if (type != null) {
+                AnalyzerBackend.addTaggedWord(sentence, type, word);
+            } else {
+                AnalyzerBackend.addPlainWord(sentence, word);
+            }
+        }
+
+        return document.sentences().isEmpty() ? null : document.sentences().getFirst().constituencyParse();
+    }
+
+    /**
+     * The annotation of {@link #analyze(String, Sentence)} already includes the parse of the configured pipeline.
+     *
+     * @return always true.
+     */
+    @Override
+    public boolean providesSyntaxTree() {
+        return true;
+    }
+
+    /**
+     * Maps a Penn Treebank tag to the grammatical type used by the sentence structure.
+     *
+     * @param tag the Penn Treebank tag of a token.
+     * @return the matching type, or null if the word is not a noun, verb or adjective.
+     */
+    static SentenceTemplate.SlotType mapTag(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        if (tag.startsWith("NN")) {
+            return SentenceTemplate.SlotType.NOUN;
+        }
+        if (tag.startsWith("VB") || tag.equals("MD")) {
+            return SentenceTemplate.SlotType.VERB;
+        }
+        if (tag.startsWith("JJ")) {
+            return SentenceTemplate.SlotType.ADJECTIVE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package unipd.edids.logicBusiness.strategies.analyzerStrategies;
+
+import com.google.cloud.language.v1.AnalyzeSyntaxResponse;
+import com.google.cloud.language.v1.PartOfSpeech;
+import com.google.cloud.language.v1.Token;
+import edu.stanford.nlp.trees.Tree;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.caches.SyntaxCache;
+import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.SentenceTemplate;
+import unipd.edids.logicBusiness.managers.MetricsManager;
+import unipd.edids.logicBusiness.services.APIClient;
+
+import java.util.List;
+
+/**
+ * Tags words with the syntax analysis of the Google Natural Language API.
+ *
+ * <p>Responsibilities:
+ * - Fetches the tokens of a text from the API, through the {@link SyntaxCache}.
+ * - Maps the NOUN, VERB and ADJ tags to the sentence lists and structure.
+ * - Rejects texts containing tokens the API cannot classify.
+ *
+ * <p>Design Pattern:
+ * - Strategy: Implements the AnalyzerBackend interface.
+ */
+public class GoogleAnalyzerBackend implements AnalyzerBackend {
+    /**
+     * Logger instance for logging GoogleAnalyzerBackend operations.
+     */
+    private static final Logger logger = LogManager.getLogger(GoogleAnalyzerBackend.class);
+
+    /**
+     * Error message indicating that the provided token does not align with the expected grammatical type.
+     */
+    private static final String ERROR_INVALID_TOKEN = "Invalid token for grammatical type";
+
+    /**
+     * Tags the words of a text using the tokens returned by the API.
+     *
+     * @param text     the text to analyze; must already be validated.
+     * @param sentence the sentence filled with the analysis results.
+     * @return null, the API response does not include a constituency tree.
+     * @throws IllegalArgumentException if the API cannot classify a token.
+     */
+    @Override
+    public Tree analyze(String text, Sentence sentence) {
+        List<Token> tokens = fetchTokensFromAPI(text);
+        logger.info("Fetched {} tokens from API.", tokens.size());
+
+        logger.debug("Processing tokens...");
+        for (Token token : tokens) {
+            logger.debug("Processing token: {}", token);
+            processToken(sentence, token);
+        }
+        logger.info("Token processing completed.");
+        return null;
+    }
+
+    /**
+     * Fetches a list of tokens from an external API by analyzing the syntax of the provided text.
+     * Results are served from the {@link SyntaxCache} when the same text was analyzed before.
+     *
+     * @param text The input text to be sent to the API for syntax analysis.
+     * @return A list of tokens extracted from the input text.
+     */
+    private List<Token> fetchTokensFromAPI(String text) {
+        logger.debug("Fetching tokens via API for text: {}", text);
+        long start = MetricsManager.getInstance().start();
+        List<Token> tokens;
+        try {
+            tokens = SyntaxCache.getInstance()
+                    .get(text, t -> new APIClient<AnalyzeSyntaxResponse>()
+                            .setSentenceToAPI(t)
+                            .setAPIType(APIClient.RequestType.SYNTAX)
+                            .execute())
+                    .getTokensList();
+        } finally {
+            MetricsManager.getInstance().record(MetricsManager.Stage.API_SYNTAX, start);
+        }
+        logger.debug("Tokens fetched successfully.");
+        return tokens;
+    }
+
+    /**
+     * Processes a single token by analyzing its part of speech and adding it to the appropriate components
+     * of a Sentence object.
+     *
+     * @param sentence The Sentence object where the token's details are added.
+     * @param token    The Token object containing the text and part of speech to be processed.
+     */
+    private void processToken(Sentence sentence, Token token) {
+        String word = token.getText().getContent();
+        PartOfSpeech.Tag pos = token.getPartOfSpeech().getTag();
+        logger.debug("Processing token with word: '{}' and tag: '{}'", word, pos);
+
+        switch (pos) {
+            case NOUN:
+                AnalyzerBackend.addTaggedWord(sentence, SentenceTemplate.SlotType.NOUN, word);
+                break;
+            case VERB:
+                AnalyzerBackend.addTaggedWord(sentence, SentenceTemplate.SlotType.VERB, word);
+                break;
+            case ADJ:
+                AnalyzerBackend.addTaggedWord(sentence, SentenceTemplate.SlotType.ADJECTIVE, word);
+                break;
+            case X:
+            case UNKNOWN:
+                String errorMessage = ERROR_INVALID_TOKEN + ": " + pos + ", word: " + word;
+                logger.error(errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            default:
+                AnalyzerBackend.addPlainWord(sentence, word);
+                logger.debug("Token '{}' added without specific tag", word);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package unipd.edids.logicBusiness.strategies.wordSelectionStrategies;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.Verb;
 import unipd.edids.logicBusiness.factories.WordFactory;
+import unipd.edids.logicBusiness.managers.LoggerManager;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
 
 import java.util.List;
 
@@ -24,9 +26,31 @@ public class NewWordStrategy implements WordSelectionStrategy {
 
     /**
      * Logger for monitoring and debugging the behavior and executions
-     * within the NewWordStrategy class.
+     * within the NewWordStrategy class; rate-limited, since it logs for every sentence.
      */
-    private static final Logger logger = LogManager.getLogger(NewWordStrategy.class);
+    private static final Logger logger = LoggerManager.getInstance().getHotPathLogger(NewWordStrategy.class);
+
+    /**
+     * Strategy conjugating the selected verbs, or null to use the strategy shared by the application.
+     */
+    private final TenseStrategy tenseStrategy;
+
+    /**
+     * Creates a strategy conjugating the verbs with the tense shared by the application.
+     */
+    public NewWordStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates a strategy conjugating the verbs with its own tense, e.g. for a batch whose tense
+     * must not change the one used by the rest of the application.
+     *
+     * @param tenseStrategy the strategy conjugating the verbs; null uses the strategy shared by the application.
+     */
+    public NewWordStrategy(TenseStrategy tenseStrategy) {
+        this.tenseStrategy = tenseStrategy;
+    }
 
     /**
      * Populates the noun, verb, and adjective lists of the given Sentence object
@@ -58,7 +82,9 @@ public class NewWordStrategy implements WordSelectionStrategy {
     private void populateWordList(List<String> wordList, StringBuilder structure, String placeholder, WordFactory.WordType wordType) {
         int requiredCount = StringUtils.countMatches(structure, placeholder);
         while (wordList.size() < requiredCount) {
-            wordList.add(WordFactory.getWordProvider(wordType).getRandomWord());
+            wordList.add(wordType == WordFactory.WordType.VERB
+                    ? Verb.getInstance().getRandomWord(tenseStrategy)
+                    : WordFactory.getWordProvider(wordType).getRandomWord());
         }
     }
    }
\ No newline at end of file
@@ -6,11 +6,14 @@ import org.apache.logging.log4j.Logger;
 import unipd.edids.logicBusiness.entities.Sentence;
 import unipd.edids.logicBusiness.entities.Verb;
 import unipd.edids.logicBusiness.factories.WordFactory;
+import unipd.edids.logicBusiness.managers.RandomManager;
 import unipd.edids.logicBusiness.strategies.tenseStrategies.FutureTenseStrategy;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.TenseStrategy;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 
 /**
@@ -32,6 +35,11 @@ public class OriginalWordStrategy implements WordSelectionStrategy {
      */
     final Sentence inputSentence;
 
+    /**
+     * Strategy conjugating the verbs, or null to use the strategy shared by the application.
+     */
+    private final TenseStrategy tenseStrategy;
+
     /**
      * <p>
      * Responsibilities:
@@ -43,7 +51,20 @@ public class OriginalWordStrategy implements WordSelectionStrategy {
      *                      for this strategy.
      */
     public OriginalWordStrategy(Sentence inputSentence) {
+        this(inputSentence, null);
+    }
+
+    /**
+     * Creates a strategy conjugating the verbs with its own tense, e.g. for a batch whose tense
+     * must not change the one used by the rest of the application.
+     *
+     * @param inputSentence the {@link Sentence} object that serves as the source of original words
+     *                      for this strategy.
+     * @param tenseStrategy the strategy conjugating the verbs; null uses the strategy shared by the application.
+     */
+    public OriginalWordStrategy(Sentence inputSentence, TenseStrategy tenseStrategy) {
         this.inputSentence = inputSentence;
+        this.tenseStrategy = tenseStrategy;
     }
 
     /**
@@ -112,7 +133,9 @@ public class OriginalWordStrategy implements WordSelectionStrategy {
     private void populateWordList(StringBuilder structure, String placeholder, List<String> wordList, WordFactory.WordType wordType) {
         logger.debug("Populating word list for type: {} with placeholder: {}", wordType, placeholder);
         while (StringUtils.countMatches(structure, placeholder) - wordList.size() > 0) {
-            wordList.add(WordFactory.getWordProvider(wordType).getRandomWord());
+            wordList.add(wordType == WordFactory.WordType.VERB
+                    ? Verb.getInstance().getRandomWord(tenseStrategy)
+                    : WordFactory.getWordProvider(wordType).getRandomWord());
         }
         logger.debug("Finished populating word list for type: {}. Current list: {}", wordType, wordList);
     }
@@ -127,11 +150,12 @@ public class OriginalWordStrategy implements WordSelectionStrategy {
      */
     private void handleFutureTenseConjugation(Sentence temp) {
         logger.debug("Checking if FutureTenseStrategy is applied for verbs.");
-        if (Verb.getInstance().getTenseStrategy() instanceof FutureTenseStrategy) {
+        TenseStrategy tense = tenseStrategy != null ? tenseStrategy : Verb.getInstance().getTenseStrategy();
+        if (tense instanceof FutureTenseStrategy) {
             logger.debug("FutureTenseStrategy detected. Starting to conjugate verbs.");
             List<String> conjugatedVerbs = new ArrayList<>();
             for (String verb : temp.getVerbs()) {
-                conjugatedVerbs.add(Verb.getInstance().conjugate(verb));
+                conjugatedVerbs.add(tense.conjugate(verb));
             }
             temp.setVerbs(conjugatedVerbs);
             logger.debug("Completed conjugation. Conjugated verbs: {}", conjugatedVerbs);
@@ -155,9 +179,10 @@ public class OriginalWordStrategy implements WordSelectionStrategy {
      */
     private void shuffleWordLists(Sentence temp) {
         logger.debug("Shuffling word lists for nouns, verbs, and adjectives.");
-        Collections.shuffle(temp.getNouns());
-        Collections.shuffle(temp.getVerbs());
-        Collections.shuffle(temp.getAdjectives());
+        RandomGenerator random = RandomManager.current();
+        Collections.shuffle(temp.getNouns(), random);
+        Collections.shuffle(temp.getVerbs(), random);
+        Collections.shuffle(temp.getAdjectives(), random);
         logger.debug("Shuffling completed for all word lists.");
     }
 }
\ No newline at end of file
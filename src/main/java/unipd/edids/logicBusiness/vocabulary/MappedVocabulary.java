@@ -0,0 +1,157 @@
+package unipd.edids.logicBusiness.vocabulary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only word list backed by a memory-mapped binary vocabulary file.
+ *
+ * <p>Responsibilities:
+ * - Maps the file built by {@link VocabularyImporter} and exposes it as an immutable {@code List<String>},
+ *   so it can replace the in-heap word lists without changing their readers.
+ * - Decodes a word only when it is requested: picking a word by index is O(1) and the vocabulary
+ *   does not occupy the heap, whatever its size.
+ *
+ * <p>File format, big-endian:
+ * - Header: magic {@code 'NSVO'}, format version, number of words, length of the data section (four ints).
+ * - Offsets: number of words + 1 ints, the start of each word in the data section followed by its end.
+ * - Data: the UTF-8 bytes of the words, one after the other.
+ *
+ * <p>The offsets are ints and the whole file is mapped at once, so a vocabulary is limited to 2 GB.
+ */
+public class MappedVocabulary extends AbstractList<String> implements RandomAccess {
+    /**
+     * Logger instance for logging MappedVocabulary operations.
+     */
+    private static final Logger logger = LogManager.getLogger(MappedVocabulary.class);
+
+    /**
+     * Extension of the binary vocabulary files.
+     */
+    public static final String EXTENSION = ".vocab";
+
+    /**
+     * Magic number at the start of every vocabulary file ('NSVO').
+     */
+    static final int MAGIC = 0x4E53564F;
+
+    /**
+     * Version of the file format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * The mapped file; only absolute reads are used, so the buffer can be shared by concurrent readers.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Number of words in the vocabulary.
+     */
+    private final int size;
+
+    /**
+     * Position of the data section in the file.
+     */
+    private final int dataStart;
+
+    /**
+     * Creates a vocabulary over a mapped file whose header has already been validated.
+     *
+     * @param buffer the mapped file.
+     * @param size   the number of words.
+     */
+    private MappedVocabulary(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+        this.dataStart = HEADER_SIZE + (size + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Maps a vocabulary file.
+     *
+     * @param path the path of the vocabulary file.
+     * @return the mapped vocabulary.
+     * @throws IOException if the file cannot be read or is not a valid vocabulary file.
+     */
+    public static MappedVocabulary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Invalid vocabulary file size " + fileSize + ": " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a vocabulary file: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported vocabulary version " + buffer.getInt(4) + ": " + path);
+            }
+            int size = buffer.getInt(8);
+            int dataLength = buffer.getInt(12);
+            long expected = HEADER_SIZE + (size + 1L) * Integer.BYTES + dataLength;
+            if (size < 0 || dataLength < 0 || expected != fileSize
+                    || buffer.getInt(HEADER_SIZE + size * Integer.BYTES) != dataLength) {
+                throw new IOException("Corrupted vocabulary file: " + path);
+            }
+            logger.info("Mapped vocabulary {} with {} words ({} bytes)", path, size, fileSize);
+            // La mappatura resta valida anche dopo la chiusura del canale.
+            return new MappedVocabulary(buffer, size);
+        }
+    }
+
+    /**
+     * Checks whether a path names a binary vocabulary file, by its extension.
+     *
+     * @param filePath the path to check.
+     * @return true if the path ends with {@value #EXTENSION}.
+     */
+    public static boolean isVocabularyFile(String filePath) {
+        return filePath != null && filePath.endsWith(EXTENSION);
+    }
+
+    /**
+     * Decodes the word at the given index.
+     *
+     * @param index the index of the word.
+     * @return the word.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for vocabulary of size " + size);
+        }
+        int offsetPosition = HEADER_SIZE + index * Integer.BYTES;
+        int start = buffer.getInt(offsetPosition);
+        int end = buffer.getInt(offsetPosition + Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(dataStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves the number of words.
+     *
+     * @return the size of the vocabulary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+}
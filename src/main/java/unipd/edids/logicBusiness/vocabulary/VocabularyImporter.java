@@ -0,0 +1,124 @@
+package unipd.edids.logicBusiness.vocabulary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Builds the binary vocabulary files read by {@link MappedVocabulary} from the plain-text word lists.
+ *
+ * <p>Responsibilities:
+ * - Streams the text file line by line, skipping blank lines as the text word lists do,
+ *   so that the input never has to fit in memory as strings.
+ * - Writes the header, the offsets and the UTF-8 data in the {@link MappedVocabulary} format.
+ * - Replaces the target file atomically, so a vocabulary in use is never seen half-written.
+ *
+ * <p>Usage from the command line: {@code VocabularyImporter <words.txt> [<words.vocab>]}.
+ *
+ * <p>Design Pattern:
+ * - Static utility, like {@link unipd.edids.logicBusiness.managers.FileManager}.
+ */
+public class VocabularyImporter {
+    /**
+     * Logger instance for logging VocabularyImporter operations.
+     */
+    private static final Logger logger = LogManager.getLogger(VocabularyImporter.class);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private VocabularyImporter() {
+    }
+
+    /**
+     * Imports a text word list into a binary vocabulary file.
+     *
+     * @param textFile  the word list, one word per line.
+     * @param vocabFile the vocabulary file to create or replace.
+     * @return the number of imported words.
+     * @throws IOException              if a file cannot be read or written.
+     * @throws IllegalArgumentException if the words exceed the 2 GB limit of the format.
+     */
+    public static int importText(Path textFile, Path vocabFile) throws IOException {
+        long start = System.nanoTime();
+        Path directory = vocabFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path dataFile = Files.createTempFile(directory, vocabFile.getFileName().toString(), ".data");
+        Path tempFile = Files.createTempFile(directory, vocabFile.getFileName().toString(), ".tmp");
+        try {
+            int[] offsets = new int[1024];
+            int count = 0;
+            long dataLength = 0;
+
+            // Prima passata: dati UTF-8 su un file temporaneo, offset in memoria.
+            try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+                 OutputStream data = new BufferedOutputStream(Files.newOutputStream(dataFile))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                    if (count + 1 == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[count++] = (int) dataLength;
+                    dataLength += bytes.length;
+                    if (dataLength > Integer.MAX_VALUE - MappedVocabulary.HEADER_SIZE - (count + 1L) * Integer.BYTES) {
+                        throw new IllegalArgumentException("Vocabulary " + textFile + " exceeds the 2 GB limit of the format.");
+                    }
+                    data.write(bytes);
+                }
+            }
+            offsets[count] = (int) dataLength;
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MappedVocabulary.MAGIC);
+                out.writeInt(MappedVocabulary.VERSION);
+                out.writeInt(count);
+                out.writeInt((int) dataLength);
+                for (int i = 0; i <= count; i++) {
+                    out.writeInt(offsets[i]);
+                }
+                Files.copy(dataFile, out);
+            }
+            Files.move(tempFile, vocabFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Imported {} words from {} into {} in {} ms", count, textFile, vocabFile,
+                    (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } finally {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Imports a word list from the command line. Without a target, the vocabulary is written next to the
+     * text file, with the {@value MappedVocabulary#EXTENSION} extension.
+     *
+     * @param args the text file and, optionally, the vocabulary file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: VocabularyImporter <words.txt> [<words" + MappedVocabulary.EXTENSION + ">]");
+            System.exit(1);
+        }
+        Path textFile = Paths.get(args[0]);
+        Path vocabFile = args.length == 2 ? Paths.get(args[1])
+                : textFile.resolveSibling(textFile.getFileName().toString().replaceFirst("\\.txt$", "") + MappedVocabulary.EXTENSION);
+        int count = importText(textFile, vocabFile);
+        System.out.println("Imported " + count + " words into " + vocabFile);
+    }
+}
@@ -361,7 +361,7 @@ public class FormController {
                 return appManager.analyzeSentence(inputText.getText(), checkSaveSentence.isSelected());
             }
         };
-        TaskManager.execute(analyzeTask, this::handleAnalyzeSuccess);
+        TaskManager.execute("analyze", analyzeTask, this::handleAnalyzeSuccess);
 
 
         // Execute task using TaskManager
@@ -446,7 +446,7 @@ public class FormController {
         };
 
         // Execute task using TaskManager
-        TaskManager.execute(generateTask, this::handleGenerateSuccess);
+        TaskManager.execute("generate", generateTask, this::handleGenerateSuccess);
     }
 
     /**
@@ -662,6 +662,9 @@ public class FormController {
      * @return A string that represents the tree in a visually readable format.
      */
     private String prettyTree(Tree tree) {
+        if (tree.children().length == 0) {
+            return "\nTREE\nNot available: syntax parsing is disabled in the settings.";
+        }
         return "\nTREE\n" + prettyTreeHelper(tree.children()[0], "", true);
     }
 
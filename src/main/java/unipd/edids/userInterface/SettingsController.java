@@ -1,5 +1,6 @@
 package unipd.edids.userInterface;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
@@ -13,8 +14,11 @@ import unipd.edids.logicBusiness.managers.LoggerManager;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller responsible for managing the settings interface in the application.
@@ -257,6 +261,7 @@ public class SettingsController {
      * - Updates the configuration manager with user-provided values from text fields, combo boxes, and checkboxes.
      * - Persists the updated settings by saving them to the configuration file.
      * - Logs the successful application of settings and closes the settings window.
+     * - Shows an error dialog if the observers fail to apply the new settings in the background.
      */
     public void applySettings() {
         // Check if any required fields are empty
@@ -271,24 +276,32 @@ public class SettingsController {
             return;
         }
 
-        // Update ConfigManager with values from text fields
-        configManager.setProperty("api.key.file", apiKeyFileField.getText());
-        configManager.setProperty("noun.file", nounFileField.getText());
-        configManager.setProperty("verb.file", verbFileField.getText());
-        configManager.setProperty("adjective.file", adjectiveFileField.getText());
-        configManager.setProperty("sentence.structures", sentenceStructuresFileField.getText());
-        configManager.setProperty("syntax_tags.properties", syntaxTagsFileField.getText());
-        configManager.setProperty("output.logfile", outputLogFileField.getText());
-        configManager.setProperty("generated.save.file", generatedNonsenseFileField.getText());
-        configManager.setProperty("analyzed.save.file", analysisNonsenseFileField.getText());
+        // Update ConfigManager with all the values in a single transaction: observers are notified once, in background
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("api.key.file", apiKeyFileField.getText());
+        settings.put("noun.file", nounFileField.getText());
+        settings.put("verb.file", verbFileField.getText());
+        settings.put("adjective.file", adjectiveFileField.getText());
+        settings.put("sentence.structures", sentenceStructuresFileField.getText());
+        settings.put("syntax_tags.properties", syntaxTagsFileField.getText());
+        settings.put("output.logfile", outputLogFileField.getText());
+        settings.put("generated.save.file", generatedNonsenseFileField.getText());
+        settings.put("analyzed.save.file", analysisNonsenseFileField.getText());
 
         // Update ConfigManager with numeric and boolean fields
-        configManager.setProperty("max.recursion.level", maxRecursionLevelField.getText());
-        configManager.setProperty("max.sentence.length", maxSentenceLengthField.getText());
-        configManager.setProperty("allow.recursive.sentences", String.valueOf(allowRecursiveSentencesCheck.isSelected()));
+        settings.put("max.recursion.level", maxRecursionLevelField.getText());
+        settings.put("max.sentence.length", maxSentenceLengthField.getText());
+        settings.put("allow.recursive.sentences", String.valueOf(allowRecursiveSentencesCheck.isSelected()));
 
         // Update ConfigManager with theme
-        configManager.setProperty("ui.theme", themeComboBox.getValue());
+        settings.put("ui.theme", themeComboBox.getValue());
+        // Gli osservatori sono notificati in background: un errore viene mostrato quando arriva
+        configManager.update(settings).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("Failed to apply the new settings", cause);
+            Platform.runLater(() -> showApplyError(cause));
+            return null;
+        });
         // Save changes to ConfigManager
         configManager.saveProperties();
 
@@ -296,6 +309,19 @@ public class SettingsController {
         closeSettings();
     }
 
+    /**
+     * Shows the failure of an observer applying the saved settings, e.g. a word file that cannot be loaded.
+     *
+     * @param cause the failure reported by the configuration update.
+     */
+    private void showApplyError(Throwable cause) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText("Unable to apply the settings");
+        alert.setContentText("The settings were saved, but an error occurred while applying them:\n" + cause.getMessage());
+        alert.showAndWait();
+    }
+
     /**
      * Retrieves a list of field names that are empty.
      * <p>
@@ -7,10 +7,20 @@ import javafx.scene.layout.Region;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import org.apache.logging.log4j.Logger;
+import unipd.edids.logicBusiness.managers.ConfigManager;
 import unipd.edids.logicBusiness.managers.LoggerManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -18,9 +28,17 @@ import java.util.function.Consumer;
  *
  * <p>Responsibilities:</p>
  * - Executes asynchronous tasks and monitors their lifecycle.
+ * - Runs the tasks on a shared executor: at most {@code task.max.concurrent} tasks run at once, on virtual
+ *   threads unless {@code task.executor} is "platform", and at most {@code task.queue.capacity} wait;
+ *   further tasks are rejected with an error dialog.
+ * - Drops superseded requests: a task accepted with a key cancels the previous task with the same key
+ *   and removes it from the queue, so hammering a button only computes the latest request.
+ * - Counts submitted, completed, failed, cancelled, superseded and rejected tasks and measures their
+ *   queue and run times, reported by {@link #getStats()}, over JMX as {@code unipd.edids:type=Tasks}
+ *   and in the periodic snapshot of the {@link MetricsManager}.
  * - Logs task events such as completion, failure, and cancellation.
  * - Provides error dialogs for failed tasks.
- * - Allows cancellation of all running tasks.
+ * - Allows cancellation of all running and waiting tasks.
  *
  * <p>Design Pattern:</p>
  * - Implements the Singleton design pattern for logger management.
@@ -35,9 +53,113 @@ public class TaskManager {
      * Stores the list of tasks currently being executed in the application.
      */
     private static final List<Task<?>> runningTasks = new ArrayList<>();
+    /**
+     * Latest task submitted for each key, cancelled when a newer task is submitted with the same key.
+     */
+    private static final Map<String, Task<?>> latestTasks = new ConcurrentHashMap<>();
+    /**
+     * Runnable submitted to the executor for each accepted task, used to remove a cancelled task from the queue.
+     */
+    private static final Map<Task<?>, Runnable> submissions = new ConcurrentHashMap<>();
+
+    /**
+     * Snapshot of the TaskManager metrics.
+     *
+     * @param queued            the number of tasks waiting to run.
+     * @param active            the number of running tasks.
+     * @param submitted         the number of submitted tasks.
+     * @param completed         the number of tasks completed successfully.
+     * @param failed            the number of failed tasks.
+     * @param cancelled         the number of cancelled tasks, superseded ones included.
+     * @param superseded        the number of tasks cancelled by a newer task with the same key.
+     * @param rejected          the number of tasks rejected because the queue was full.
+     * @param averageQueueMillis the average time a task waited before running, in milliseconds.
+     * @param averageRunMillis   the average running time of a task, in milliseconds.
+     * @param maxRunMillis       the longest running time of a task, in milliseconds.
+     */
+    public record Stats(int queued, int active, long submitted, long completed, long failed, long cancelled,
+                        long superseded, long rejected, double averageQueueMillis, double averageRunMillis,
+                        double maxRunMillis) {
+    }
 
     /**
-     * Executes a given task in a new thread and manages its success, failure,
+     * Number of tasks submitted.
+     */
+    private static final AtomicLong submitted = new AtomicLong();
+    /**
+     * Number of tasks completed successfully.
+     */
+    private static final AtomicLong completed = new AtomicLong();
+    /**
+     * Number of failed tasks.
+     */
+    private static final AtomicLong failed = new AtomicLong();
+    /**
+     * Number of cancelled tasks.
+     */
+    private static final AtomicLong cancelled = new AtomicLong();
+    /**
+     * Number of tasks cancelled by a newer task with the same key.
+     */
+    private static final AtomicLong superseded = new AtomicLong();
+    /**
+     * Number of tasks rejected because the queue was full.
+     */
+    private static final AtomicLong rejected = new AtomicLong();
+    /**
+     * Number of tasks that started running.
+     */
+    private static final AtomicLong started = new AtomicLong();
+    /**
+     * Sum of the times the tasks waited before running, in nanoseconds.
+     */
+    private static final AtomicLong totalQueueNanos = new AtomicLong();
+    /**
+     * Sum of the running times of the tasks, in nanoseconds.
+     */
+    private static final AtomicLong totalRunNanos = new AtomicLong();
+    /**
+     * Longest running time of a task, in nanoseconds.
+     */
+    private static final AtomicLong maxRunNanos = new AtomicLong();
+
+    /**
+     * Lazily created executor shared by all tasks.
+     */
+    private static volatile ThreadPoolExecutor executor;
+
+    /**
+     * Retrieves the shared executor, creating it from the configuration on first use.
+     *
+     * @return the executor running the tasks.
+     */
+    private static ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (TaskManager.class) {
+                if (executor == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    int maxConcurrent = Math.max(1, config.getInt("task.max.concurrent", 4));
+                    int queueCapacity = Math.max(1, config.getInt("task.queue.capacity", 16));
+                    boolean virtual = !"platform".equalsIgnoreCase(config.getProperty("task.executor", "virtual"));
+                    // Il pool limita la concorrenza, i thread virtuali rendono economiche le attese sulle API
+                    ThreadFactory threadFactory = virtual
+                            ? Thread.ofVirtual().name("task-", 0).factory()
+                            : Thread.ofPlatform().name("task-", 0).daemon(true).factory();
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                    MetricsManager.getInstance().registerSource("Tasks", new TaskStats(), TaskManager::formatStats);
+                    logger.info("Task executor started: {} threads, {} concurrent tasks, queue of {}",
+                            virtual ? "virtual" : "platform", maxConcurrent, queueCapacity);
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Executes a given task on the shared executor and manages its success, failure,
      * or cancellation events.
      *
      * @param <T>       The type of the task's result.
@@ -45,17 +167,33 @@ public class TaskManager {
      * @param onSuccess A consumer to handle the task's result upon successful completion.
      */
     public static <T> void execute(Task<T> task, Consumer<T> onSuccess) {
+        execute(null, task, onSuccess);
+    }
+
+    /**
+     * Executes a given task on the shared executor and, once the executor has accepted it, cancels the previous
+     * task submitted with the same key: only the latest request of a kind is computed and delivered.
+     * A rejected task leaves the previous one running.
+     *
+     * @param <T>       The type of the task's result.
+     * @param key       The kind of request, such as "analyze"; null never supersedes other tasks.
+     * @param task      The task to be executed.
+     * @param onSuccess A consumer to handle the task's result upon successful completion.
+     */
+    public static <T> void execute(String key, Task<T> task, Consumer<T> onSuccess) {
         synchronized (runningTasks) {
             runningTasks.add(task);
         }
         task.setOnSucceeded(e -> {
             // Remove a task from a list when completed
-            removeTask(task);
+            removeTask(key, task);
+            completed.incrementAndGet();
             onSuccess.accept(task.getValue());
         });        // Handle failed tasks
         task.setOnFailed(e -> {
             // Remove a task from a list in case of error
-            removeTask(task);
+            removeTask(key, task);
+            failed.incrementAndGet();
             Throwable ex = task.getException();
             String errorMessage = (ex != null) ? ex.getMessage() : "Unknown error occurred";
 
@@ -65,31 +203,185 @@ public class TaskManager {
 
         task.setOnCancelled(e -> {
             // Remove a task from a list when canceled
-            removeTask(task);
+            removeTask(key, task);
+            cancelled.incrementAndGet();
             logger.info("Task was cancelled.");
         });
 
-        // Execute task on new thread
-        new Thread(task).start();
+        long submittedAt = System.nanoTime();
+        submitted.incrementAndGet();
+        Runnable runnable = () -> run(task, submittedAt);
+        submissions.put(task, runnable);
+        try {
+            getExecutor().execute(runnable);
+        } catch (RejectedExecutionException e) {
+            removeTask(key, task);
+            rejected.incrementAndGet();
+            logger.warn("Task rejected: {} tasks already waiting", getExecutor().getQueue().size());
+            Platform.runLater(() -> showErrorDialog("Task Error", "Too many requests in progress. Please wait for the current ones to finish."));
+            return;
+        }
+
+        // Solo una richiesta accettata sostituisce la precedente
+        if (key != null) {
+            Task<?> previous = latestTasks.put(key, task);
+            if (previous != null && cancelTask(previous)) {
+                superseded.incrementAndGet();
+                logger.debug("Task '{}' superseded by a newer request", key);
+            }
+        }
+    }
+
+    /**
+     * Cancels a task, removing it from the executor queue if it has not started yet,
+     * so that cancelled tasks do not take the place of new ones.
+     *
+     * @param task The task to cancel.
+     * @return true if the task was cancelled, false if it had already finished.
+     */
+    private static boolean cancelTask(Task<?> task) {
+        Runnable runnable = submissions.remove(task);
+        ThreadPoolExecutor pool = executor;
+        if (runnable != null && pool != null) {
+            pool.remove(runnable);
+        }
+        return task.cancel();
+    }
+
+    /**
+     * Runs a task on an executor thread, measuring its queue and run times. A task cancelled while it was waiting is skipped.
+     *
+     * @param task        The task to run.
+     * @param submittedAt The submission time, in nanoseconds.
+     */
+    private static void run(Task<?> task, long submittedAt) {
+        if (task.isDone()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        started.incrementAndGet();
+        totalQueueNanos.addAndGet(startedAt - submittedAt);
+        try {
+            task.run();
+        } finally {
+            long runNanos = System.nanoTime() - startedAt;
+            totalRunNanos.addAndGet(runNanos);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+            logger.debug("Task ran in {} ms after waiting {} ms", runNanos / 1_000_000, (startedAt - submittedAt) / 1_000_000);
+        }
     }
 
     /**
-     * Cancels all currently running tasks managed by the system.
+     * Retrieves the current metrics of the tasks: queue depth, outcomes and latencies.
+     *
+     * @return a snapshot of the metrics.
+     */
+    public static Stats getStats() {
+        ThreadPoolExecutor pool = executor;
+        long runs = started.get();
+        return new Stats(
+                pool == null ? 0 : pool.getQueue().size(),
+                pool == null ? 0 : pool.getActiveCount(),
+                submitted.get(), completed.get(), failed.get(), cancelled.get(), superseded.get(), rejected.get(),
+                runs == 0 ? 0 : totalQueueNanos.get() / 1e6 / runs,
+                runs == 0 ? 0 : totalRunNanos.get() / 1e6 / runs,
+                maxRunNanos.get() / 1e6);
+    }
+
+    /**
+     * Formats the current metrics of the tasks as the line written in the metrics snapshot.
+     *
+     * @return the metrics of the tasks on a single line.
+     */
+    private static String formatStats() {
+        Stats stats = getStats();
+        return String.format("queued=%d, active=%d, submitted=%d, completed=%d, failed=%d, cancelled=%d, "
+                        + "superseded=%d, rejected=%d, queueMean=%.3f ms, runMean=%.3f ms, runMax=%.3f ms",
+                stats.queued(), stats.active(), stats.submitted(), stats.completed(), stats.failed(),
+                stats.cancelled(), stats.superseded(), stats.rejected(),
+                stats.averageQueueMillis(), stats.averageRunMillis(), stats.maxRunMillis());
+    }
+
+    /**
+     * MXBean reading the metrics of the tasks from {@link #getStats()} on every access.
+     */
+    private static final class TaskStats implements TaskStatsMXBean {
+        @Override
+        public int getQueued() {
+            return getStats().queued();
+        }
+
+        @Override
+        public int getActive() {
+            return getStats().active();
+        }
+
+        @Override
+        public long getSubmitted() {
+            return submitted.get();
+        }
+
+        @Override
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        @Override
+        public long getFailed() {
+            return failed.get();
+        }
+
+        @Override
+        public long getCancelled() {
+            return cancelled.get();
+        }
+
+        @Override
+        public long getSuperseded() {
+            return superseded.get();
+        }
+
+        @Override
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        @Override
+        public double getAverageQueueMillis() {
+            return getStats().averageQueueMillis();
+        }
+
+        @Override
+        public double getAverageRunMillis() {
+            return getStats().averageRunMillis();
+        }
+
+        @Override
+        public double getMaxRunMillis() {
+            return getStats().maxRunMillis();
+        }
+    }
+
+    /**
+     * Cancels all the tasks managed by the system, both the running ones and the ones still waiting in the queue.
      * <p>
-     * This method iterates through the list of active tasks, identifies tasks
-     * that are still running, and cancels them. After canceling, the list of
+     * The waiting tasks are removed from the executor queue. After canceling, the list of
      * tasks is cleared. A log message is generated to indicate that all tasks
      * have been canceled.
      */
     public static void cancelAllTasks() {
+        List<Task<?>> tasks;
         synchronized (runningTasks) {
-            for (Task<?> task : runningTasks) {
-                if (task.isRunning()) {
-                    task.cancel(); // Cancel the task
-                }
-            }
+            // Copia: la cancellazione sul thread JavaFX rimuove subito il task dalla lista
+            tasks = new ArrayList<>(runningTasks);
             runningTasks.clear(); // Clear the list
         }
+        latestTasks.clear();
+        for (Task<?> task : tasks) {
+            if (!task.isDone()) {
+                cancelTask(task); // Cancel the task
+            }
+        }
         logger.info("All tasks have been cancelled.");
     }
 
@@ -103,10 +395,14 @@ public class TaskManager {
      * - Uses the Singleton-like design for managing a shared task list via static methods and fields.
      */
     // Remove a task from the list
-    private static void removeTask(Task<?> task) {
+    private static void removeTask(String key, Task<?> task) {
         synchronized (runningTasks) {
             runningTasks.remove(task);
         }
+        submissions.remove(task);
+        if (key != null) {
+            latestTasks.remove(key, task);
+        }
     }
 
     /**
@@ -0,0 +1,86 @@
+package unipd.edids.userInterface;
+
+/**
+ * Management interface of the task metrics of the {@link TaskManager}, exposed over JMX as {@code unipd.edids:type=Tasks}.
+ *
+ * <p>The values are read from {@link TaskManager#getStats()} on every access, so JConsole or VisualVM show
+ * the queue depth and the latencies while the application runs. Latencies are in milliseconds.
+ */
+public interface TaskStatsMXBean {
+    /**
+     * Retrieves the number of tasks waiting to run.
+     *
+     * @return the queue depth.
+     */
+    int getQueued();
+
+    /**
+     * Retrieves the number of running tasks.
+     *
+     * @return the active task count.
+     */
+    int getActive();
+
+    /**
+     * Retrieves the number of submitted tasks.
+     *
+     * @return the submitted task count.
+     */
+    long getSubmitted();
+
+    /**
+     * Retrieves the number of tasks completed successfully.
+     *
+     * @return the completed task count.
+     */
+    long getCompleted();
+
+    /**
+     * Retrieves the number of failed tasks.
+     *
+     * @return the failed task count.
+     */
+    long getFailed();
+
+    /**
+     * Retrieves the number of cancelled tasks, superseded ones included.
+     *
+     * @return the cancelled task count.
+     */
+    long getCancelled();
+
+    /**
+     * Retrieves the number of tasks cancelled by a newer task with the same key.
+     *
+     * @return the superseded task count.
+     */
+    long getSuperseded();
+
+    /**
+     * Retrieves the number of tasks rejected because the queue was full.
+     *
+     * @return the rejected task count.
+     */
+    long getRejected();
+
+    /**
+     * Retrieves the average time a task waited before running.
+     *
+     * @return the mean queue time in milliseconds, or 0 if no task ran.
+     */
+    double getAverageQueueMillis();
+
+    /**
+     * Retrieves the average running time of a task.
+     *
+     * @return the mean run time in milliseconds, or 0 if no task ran.
+     */
+    double getAverageRunMillis();
+
+    /**
+     * Retrieves the longest running time of a task.
+     *
+     * @return the maximum run time in milliseconds, or 0 if no task ran.
+     */
+    double getMaxRunMillis();
+}
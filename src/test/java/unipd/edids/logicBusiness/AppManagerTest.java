@@ -3,14 +3,21 @@ package unipd.edids.logicBusiness;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import unipd.edids.logicBusiness.entities.EncodedSentence;
 import unipd.edids.logicBusiness.entities.Sentence;
+import unipd.edids.logicBusiness.entities.Verb;
 import unipd.edids.logicBusiness.exceptions.AnalyzeException;
 import unipd.edids.logicBusiness.exceptions.GenerateException;
 import unipd.edids.logicBusiness.exceptions.MissingApiKeyException;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.PresentTenseStrategy;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -299,6 +306,134 @@ class AppManagerTest {
         assertEquals(generatedSentence, appManager.getOutputSentence(), "getOutputSentence should return the last generated sentence.");
     }
 
+    @Test
+    public void testGenerateBatch_ReturnsRequestedCount() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(true);
+
+        List<Sentence> sentences = appManager.generateBatch(25, options).toList();
+
+        assertEquals(25, sentences.size(), "Batch should contain the requested number of sentences.");
+        sentences.forEach(sentence -> assertFalse(sentence.getSentence().isEmpty(), "Each generated sentence should not be empty."));
+        assertNull(appManager.getOutputSentence(), "Batch generation should not change the output sentence.");
+    }
+
+    @Test
+    public void testGenerateBatch_SaveToFile() throws IOException {
+        File tempFile = File.createTempFile("generated_batch_test", ".txt");
+        tempFile.deleteOnExit();
+        configManager.setProperty("generated.save.file", tempFile.getAbsolutePath());
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.SELECTED)
+                .setSelectedStructure("[noun] [verb] [noun]").setSaveSelected(true);
+
+        List<Sentence> sentences = appManager.generateBatch(10, options).toList();
+
+        assertEquals(10, sentences.size(), "Batch should contain the requested number of sentences.");
+        assertTrue(tempFile.length() > 0, "File for saving the generated batch should not be empty.");
+    }
+
+    @Test
+    public void testGenerateBatch_SeedIsReproducible() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setSeed(1234L);
+
+        List<String> firstRun = appManager.generateBatch(30, options).map(sentence -> sentence.getSentence().toString()).toList();
+        List<String> secondRun = appManager.generateBatch(30, options).map(sentence -> sentence.getSentence().toString()).toList();
+
+        assertEquals(firstRun, secondRun, "Batches generated with the same seed should be identical.");
+    }
+
+    @Test
+    public void testGenerateBatch_KeepsSharedVerbTense() {
+        Verb.getInstance().configureVerbTense(false);
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(true).setFutureTense(true);
+
+        appManager.generateBatch(5, options).toList();
+
+        assertInstanceOf(PresentTenseStrategy.class, Verb.getInstance().getTenseStrategy(), "A batch should not change the verb tense shared by the application.");
+    }
+
+    @Test
+    public void testGenerateBatch_CountGeneratesAndSaves() throws IOException {
+        File tempFile = File.createTempFile("generated_batch_count_test", ".txt");
+        tempFile.deleteOnExit();
+        configManager.setProperty("generated.save.file", tempFile.getAbsolutePath());
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.SELECTED)
+                .setSelectedStructure("[noun] [verb] [noun]").setNewWords(true).setSaveSelected(true);
+
+        long generated = appManager.generateBatch(10, options).count();
+
+        // Ogni frase salvata occupa tre righe: testo, struttura e albero sintattico
+        assertEquals(10, generated, "count() should report the requested number of sentences.");
+        assertEquals(30, Files.readAllLines(tempFile.toPath()).size(), "count() should generate and save every sentence.");
+    }
+
+    @Test
+    public void testGenerateBatch_CloseFlushesShortCircuitedStream() throws IOException {
+        File tempFile = File.createTempFile("generated_batch_close_test", ".txt");
+        tempFile.deleteOnExit();
+        configManager.setProperty("generated.save.file", tempFile.getAbsolutePath());
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.SELECTED)
+                .setSelectedStructure("[noun] [verb] [noun]").setNewWords(true).setSaveSelected(true);
+
+        try (Stream<Sentence> batch = appManager.generateBatch(100, options)) {
+            assertTrue(batch.findFirst().isPresent(), "The batch should produce a sentence.");
+        }
+
+        assertFalse(Files.readAllLines(tempFile.toPath()).isEmpty(), "Closing the stream should flush the saved sentences.");
+    }
+
+    @Test
+    public void testGenerateBatch_NegativeCount() {
+        Exception exception = assertThrows(GenerateException.class, () -> appManager.generateBatch(-1, new GenerationOptions()), "A negative batch size should throw a GenerateException.");
+
+        assertTrue(exception.getMessage().contains("Batch generation failed"), "Exception message should contain descriptive text.");
+    }
+
+    @Test
+    public void testGenerateBatch_WithoutInputSentenceAndNoNewWords() {
+        GenerationOptions options = new GenerationOptions().setNewWords(false);
+
+        Exception exception = assertThrows(GenerateException.class, () -> appManager.generateBatch(5, options), "Generating a batch without analyzing or new words should throw a GenerateException.");
+
+        assertTrue(exception.getMessage().contains("Input sentence cannot be null"), "Exception message should indicate missing input sentence.");
+    }
+
+    @Test
+    public void testGenerateEncodedBatch_ReturnsRequestedCount() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(true);
+
+        List<EncodedSentence> sentences = appManager.generateEncodedBatch(25, options).toList();
+
+        assertEquals(25, sentences.size(), "Encoded batch should contain the requested number of sentences.");
+        sentences.forEach(sentence -> assertFalse(sentence.render().isEmpty(), "Each encoded sentence should render a non-empty text."));
+        assertNull(appManager.getOutputSentence(), "Encoded batch generation should not change the output sentence.");
+    }
+
+    @Test
+    public void testGenerateEncodedBatch_SeedIsReproducible() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(true).setSeed(1234L);
+
+        List<String> firstRun = appManager.generateEncodedBatch(30, options).map(EncodedSentence::render).toList();
+        List<String> secondRun = appManager.generateEncodedBatch(30, options).map(EncodedSentence::render).toList();
+
+        assertEquals(firstRun, secondRun, "Encoded batches generated with the same seed should be identical.");
+    }
+
+    @Test
+    public void testGenerateEncodedBatch_RejectsModeration() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(true).setToxicity(true);
+
+        Exception exception = assertThrows(GenerateException.class, () -> appManager.generateEncodedBatch(5, options), "Moderating an encoded batch should throw a GenerateException.");
+
+        assertTrue(exception.getMessage().contains("Encoded batch generation failed"), "Exception message should contain descriptive text.");
+    }
+
+    @Test
+    public void testGenerateEncodedBatch_RejectsOriginalWords() {
+        GenerationOptions options = new GenerationOptions().setStrategy(StrategyType.RANDOM).setNewWords(false);
+
+        assertThrows(GenerateException.class, () -> appManager.generateEncodedBatch(5, options), "An encoded batch without new words should throw a GenerateException.");
+    }
+
     protected void checkApiKey() {
         try {
             // Gets the API key; throws MissingApiKeyException if not configured.
@@ -0,0 +1,69 @@
+package unipd.edids.logicBusiness.caches;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ModerationCacheTest {
+
+    private static final Logger logger = LogManager.getLogger(ModerationCacheTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: ModerationCacheTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: ModerationCacheTest");
+    }
+
+    @Test
+    void testGetInstanceSingleton() {
+        assertSame(ModerationCache.getInstance(), ModerationCache.getInstance(), "getInstance() should return the same instance.");
+    }
+
+    @Test
+    void testCodecRoundTrip() {
+        float[] confidences = {0.1f, 0.25f, 0f, 1f, 0.333f};
+
+        String encoded = ModerationCache.CODEC.encode(confidences);
+
+        assertEquals(28, encoded.length(), "Five confidences should be stored in 28 characters.");
+        assertArrayEquals(confidences, ModerationCache.CODEC.decode(encoded), "Decoding should return the original confidences.");
+    }
+
+    @Test
+    void testLoaderCalledOnlyOnce() {
+        float[] confidences = {0.1f, 0.2f, 0.3f, 0.4f, 0.5f};
+        ModerationCache cache = ModerationCache.getInstance();
+
+        float[] first = cache.get("Moderation cache test sentence.", text -> confidences);
+        float[] second = cache.get("Moderation cache test sentence.", text -> fail("The loader should not run on a hit."));
+
+        assertArrayEquals(first, second, "A repeated sentence should be answered from the cache.");
+    }
+
+    @Test
+    void testMalformedEntryThrowsException() {
+        String tooShort = Base64.getEncoder().encodeToString(new byte[8]);
+        assertThrows(IllegalArgumentException.class, () -> ModerationCache.CODEC.decode(tooShort),
+                "An entry with the wrong size should throw an IllegalArgumentException.");
+    }
+}
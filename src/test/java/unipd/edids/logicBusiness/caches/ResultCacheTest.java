@@ -0,0 +1,138 @@
+package unipd.edids.logicBusiness.caches;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import unipd.edids.logicBusiness.managers.FileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ResultCacheTest {
+
+    private static final Logger logger = LogManager.getLogger(ResultCacheTest.class);
+    private static final ResultCache.Codec<String> STRING_CODEC = new ResultCache.Codec<>() {
+        @Override
+        public String encode(String value) {
+            return value;
+        }
+
+        @Override
+        public String decode(String data) {
+            return data;
+        }
+    };
+    private int testNumber = 0;
+    private File tempFile;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: ResultCacheTest");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logger.info("Running test #{}", ++testNumber);
+        tempFile = File.createTempFile("result_cache_test", ".cache");
+        assertTrue(tempFile.delete(), "The temporary cache file should start missing.");
+        tempFile.deleteOnExit();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+        FileManager.closeSavingChannel(tempFile.getAbsolutePath());
+        if (tempFile.exists()) {
+            assertTrue(tempFile.delete(), "Failed to delete the temporary cache file.");
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: ResultCacheTest");
+    }
+
+    @Test
+    void testLoaderCalledOnlyOnMiss() {
+        ResultCache<String> cache = new ResultCache<>("test", 10, null, null, null);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("The cat sleeps.", text -> "result-" + calls.incrementAndGet());
+        String second = cache.get("The cat sleeps.", text -> "result-" + calls.incrementAndGet());
+
+        assertEquals("result-1", second, "The second lookup should be answered from the cache.");
+        assertEquals(1, calls.get(), "The loader should run only once.");
+        assertEquals(1, cache.getHits(), "One hit should be counted.");
+        assertEquals(1, cache.getMisses(), "One miss should be counted.");
+    }
+
+    @Test
+    void testKeyIgnoresIrrelevantWhitespace() {
+        assertEquals(ResultCache.keyOf("The cat  sleeps."), ResultCache.keyOf("  The cat sleeps.\n"),
+                "Texts differing only in whitespace should share a key.");
+        assertNotEquals(ResultCache.keyOf("The cat sleeps."), ResultCache.keyOf("the cat sleeps."),
+                "Texts differing in case should not share a key.");
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ResultCache<String> cache = new ResultCache<>("test", 2, null, null, null);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.getIfPresent("first");
+        cache.put("third", "3");
+
+        assertEquals(2, cache.size(), "The cache should not exceed its size.");
+        assertEquals("1", cache.getIfPresent("first"), "The recently used entry should be kept.");
+        assertNull(cache.getIfPresent("second"), "The least recently used entry should be evicted.");
+    }
+
+    @Test
+    void testEntriesExpire() throws InterruptedException {
+        ResultCache<String> cache = new ResultCache<>("test", 10, Duration.ofMillis(50), null, null);
+        cache.put("text", "value");
+        Thread.sleep(100);
+
+        assertNull(cache.getIfPresent("text"), "An expired entry should not be returned.");
+    }
+
+    @Test
+    void testEntriesAreReloadedFromFile() {
+        ResultCache<String> cache = new ResultCache<>("test", 10, Duration.ofMinutes(5), STRING_CODEC, tempFile.getAbsolutePath());
+        cache.put("The cat sleeps.", "persisted");
+
+        ResultCache<String> reloaded = new ResultCache<>("test", 10, Duration.ofMinutes(5), STRING_CODEC, tempFile.getAbsolutePath());
+
+        assertEquals("persisted", reloaded.getIfPresent("The cat sleeps."), "A persisted entry should survive a restart.");
+    }
+
+    @Test
+    void testFileIsCompactedWhileRunning() {
+        ResultCache<String> cache = new ResultCache<>("test", 2, Duration.ofMinutes(5), STRING_CODEC, tempFile.getAbsolutePath());
+        for (int i = 0; i < 10; i++) {
+            cache.put("Sentence number " + i, "value " + i);
+        }
+
+        // Chiude il canale per scrivere su disco le righe ancora nel buffer.
+        FileManager.closeSavingChannel(tempFile.getAbsolutePath());
+        List<String> lines = FileManager.readFile(tempFile.getAbsolutePath());
+
+        assertTrue(lines.size() <= 4, "The file should be compacted once it holds twice as many lines as the cache.");
+        ResultCache<String> reloaded = new ResultCache<>("test", 2, Duration.ofMinutes(5), STRING_CODEC, tempFile.getAbsolutePath());
+        assertEquals("value 9", reloaded.getIfPresent("Sentence number 9"), "The latest entry should survive the compaction.");
+    }
+
+    @Test
+    void testInvalidConstructionThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache<String>("test", 0, null, null, null),
+                "A non-positive size should throw an IllegalArgumentException.");
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache<String>("test", 10, null, null, tempFile.getAbsolutePath()),
+                "Persistence without a codec should throw an IllegalArgumentException.");
+    }
+}
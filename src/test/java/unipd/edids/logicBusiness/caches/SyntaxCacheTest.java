@@ -0,0 +1,64 @@
+package unipd.edids.logicBusiness.caches;
+
+import com.google.cloud.language.v1.AnalyzeSyntaxResponse;
+import com.google.cloud.language.v1.PartOfSpeech;
+import com.google.cloud.language.v1.TextSpan;
+import com.google.cloud.language.v1.Token;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SyntaxCacheTest {
+
+    private static final Logger logger = LogManager.getLogger(SyntaxCacheTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: SyntaxCacheTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: SyntaxCacheTest");
+    }
+
+    @Test
+    void testGetInstanceSingleton() {
+        assertSame(SyntaxCache.getInstance(), SyntaxCache.getInstance(), "getInstance() should return the same instance.");
+    }
+
+    @Test
+    void testCodecRoundTrip() {
+        AnalyzeSyntaxResponse response = AnalyzeSyntaxResponse.newBuilder()
+                .addTokens(Token.newBuilder()
+                        .setText(TextSpan.newBuilder().setContent("cat"))
+                        .setPartOfSpeech(PartOfSpeech.newBuilder().setTag(PartOfSpeech.Tag.NOUN)))
+                .setLanguage("en")
+                .build();
+
+        String encoded = SyntaxCache.CODEC.encode(response);
+
+        assertFalse(encoded.contains("\t") || encoded.contains("\n"), "The encoded response should fit on a single line.");
+        assertEquals(response, SyntaxCache.CODEC.decode(encoded), "Decoding should return the original response.");
+    }
+
+    @Test
+    void testMalformedEntryThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SyntaxCache.CODEC.decode("not base64!"),
+                "A malformed entry should throw an IllegalArgumentException.");
+    }
+}
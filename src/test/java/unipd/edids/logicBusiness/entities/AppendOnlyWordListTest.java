@@ -0,0 +1,77 @@
+package unipd.edids.logicBusiness.entities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AppendOnlyWordListTest {
+
+    private static final Logger logger = LogManager.getLogger(AppendOnlyWordListTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: AppendOnlyWordListTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: AppendOnlyWordListTest");
+    }
+
+    @Test
+    void testAppendKeepsPreviousSnapshots() {
+        List<String> first = AppendOnlyWordList.append(List.of("apple"), List.of("banana"));
+        List<String> second = AppendOnlyWordList.append(first, List.of("cherry"));
+        List<String> third = AppendOnlyWordList.append(second, List.of("grape", "kiwi"));
+
+        assertEquals(List.of("apple", "banana"), first);
+        assertEquals(List.of("apple", "banana", "cherry"), second);
+        assertEquals(List.of("apple", "banana", "cherry", "grape", "kiwi"), third);
+        assertThrows(IndexOutOfBoundsException.class, () -> first.get(2), "A snapshot should not expose later words");
+    }
+
+    @Test
+    void testAppendToOlderSnapshotDoesNotOverwriteNewerOne() {
+        List<String> base = AppendOnlyWordList.append(List.of(), List.of("apple"));
+        List<String> latest = AppendOnlyWordList.append(base, List.of("banana"));
+        List<String> branch = AppendOnlyWordList.append(base, List.of("cherry"));
+
+        assertEquals(List.of("apple", "banana"), latest, "The newer snapshot should be unchanged");
+        assertEquals(List.of("apple", "cherry"), branch, "The branch should contain its own word");
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        List<String> expected = new ArrayList<>();
+        List<String> words = List.of();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("word" + i);
+            words = AppendOnlyWordList.append(words, List.of("word" + i));
+        }
+        assertEquals(expected, words, "Every appended word should be kept in order");
+    }
+
+    @Test
+    void testIsReadOnly() {
+        List<String> words = AppendOnlyWordList.append(List.of("apple"), List.of("banana"));
+        assertThrows(UnsupportedOperationException.class, () -> words.add("cherry"));
+        assertThrows(UnsupportedOperationException.class, () -> words.set(0, "cherry"));
+    }
+}
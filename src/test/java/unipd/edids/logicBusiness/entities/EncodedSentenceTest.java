@@ -0,0 +1,113 @@
+package unipd.edids.logicBusiness.entities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.FutureTenseStrategy;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.PresentTenseStrategy;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EncodedSentenceTest {
+
+    private static final Logger logger = LogManager.getLogger(EncodedSentenceTest.class);
+    private int testNumber = 0;
+    private EncodedSentence.Vocabulary vocabulary;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: EncodedSentenceTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+        vocabulary = new EncodedSentence.Vocabulary(List.of("cat"), List.of("eat"), List.of("big"), new PresentTenseStrategy());
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: EncodedSentenceTest");
+    }
+
+    @Test
+    void testRenderCapitalizesFirstLetter() {
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb] the [adjective] [noun]", () -> "[noun]", 0, vocabulary);
+
+        assertEquals("Cat eat the big cat", sentence.render(), "Slots should be rendered with the vocabulary words.");
+        assertEquals("[noun] [verb] the [adjective] [noun]", sentence.getStructure(), "The structure should be kept unchanged.");
+        assertArrayEquals(new int[]{0, 0, 0, 0}, sentence.getCodes(), "Every slot should hold the index of its word.");
+    }
+
+    @Test
+    void testNestedSentenceIsExpanded() {
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb] [sentence]", () -> "the [adjective] [noun]", 1, vocabulary);
+
+        assertEquals("Cat eat the big cat", sentence.render(), "The nested sentence should be rendered in place of its slot.");
+        assertEquals("[noun] [verb] the [adjective] [noun]", sentence.getStructure(), "The structure should contain the nested structure.");
+        assertEquals(SentenceTemplate.intern("the [adjective] [noun]"), sentence.getCodes()[2], "The sentence slot should hold the id of the nested template.");
+    }
+
+    @Test
+    void testRecursionLimitReplacesSentenceWithNoun() {
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb] [sentence]", () -> "[noun] [verb] [sentence]", 2, vocabulary);
+
+        assertEquals("Cat eat cat eat cat eat cat", sentence.render(), "Sentences beyond the recursion limit should become nouns.");
+        assertEquals("[noun] [verb] [noun] [verb] [noun] [verb] [noun]", sentence.getStructure(), "The replaced sentence should appear as a noun in the structure.");
+    }
+
+    @Test
+    void testToSentenceFillsWordLists() {
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb] the [adjective] [sentence]", () -> "[noun]", 0, vocabulary);
+
+        Sentence decoded = sentence.toSentence();
+
+        assertEquals("Cat eat the big cat", decoded.getSentence().toString(), "The decoded text should match the rendered text.");
+        assertEquals("[noun] [verb] the [adjective] [noun]", decoded.getStructure().toString(), "The decoded structure should match the resolved structure.");
+        assertEquals(List.of("cat", "cat"), decoded.getNouns(), "The decoded nouns should include the replaced sentence.");
+        assertEquals(List.of("eat"), decoded.getVerbs(), "The decoded verbs should be filled.");
+        assertEquals(List.of("big"), decoded.getAdjectives(), "The decoded adjectives should be filled.");
+    }
+
+    @Test
+    void testVerbsAreConjugatedWithCapturedTense() {
+        EncodedSentence.Vocabulary future = new EncodedSentence.Vocabulary(List.of("cat"), List.of("eat"), List.of("big"), new FutureTenseStrategy());
+
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb]", () -> "[noun]", 0, future);
+
+        assertEquals("Cat will eat", sentence.render(), "Verbs should be conjugated with the tense of the vocabulary.");
+    }
+
+    @Test
+    void testEmptyVocabularyRendersUndefined() {
+        EncodedSentence.Vocabulary empty = new EncodedSentence.Vocabulary(List.of(), List.of(), List.of(), new PresentTenseStrategy());
+
+        EncodedSentence sentence = EncodedSentence.encode("[noun] [verb]", () -> "[noun]", 0, empty);
+
+        assertEquals("Undefined undefined", sentence.render(), "Words drawn from empty vocabularies should be rendered as undefined.");
+        assertArrayEquals(new int[]{EncodedSentence.UNDEFINED_WORD, EncodedSentence.UNDEFINED_WORD}, sentence.getCodes(), "Empty vocabularies should produce undefined codes.");
+    }
+
+    @Test
+    void testGetCodesReturnsCopy() {
+        EncodedSentence sentence = EncodedSentence.encode("[noun]", () -> "[noun]", 0, vocabulary);
+
+        sentence.getCodes()[0] = 42;
+
+        assertEquals("Cat", sentence.render(), "Modifying the returned codes should not change the sentence.");
+    }
+
+    @Test
+    void testNullStructureThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> EncodedSentence.encode(null, () -> "[noun]", 0, vocabulary),
+                "A null structure should throw an IllegalArgumentException.");
+    }
+}
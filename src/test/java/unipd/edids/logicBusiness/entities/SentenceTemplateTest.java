@@ -0,0 +1,124 @@
+package unipd.edids.logicBusiness.entities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SentenceTemplateTest {
+
+    private static final Logger logger = LogManager.getLogger(SentenceTemplateTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: SentenceTemplateTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: SentenceTemplateTest");
+    }
+
+    @Test
+    void testCompileCountsSlots() {
+        SentenceTemplate template = SentenceTemplate.compile("[noun] [verb] the [adjective] [noun] and [sentence]");
+
+        assertEquals(5, template.getSlotCount(), "Template should contain five slots.");
+        assertEquals(2, template.countSlots(SentenceTemplate.SlotType.NOUN), "Template should contain two noun slots.");
+        assertEquals(1, template.countSlots(SentenceTemplate.SlotType.VERB), "Template should contain one verb slot.");
+        assertEquals(1, template.countSlots(SentenceTemplate.SlotType.ADJECTIVE), "Template should contain one adjective slot.");
+        assertEquals(1, template.countSlots(SentenceTemplate.SlotType.SENTENCE), "Template should contain one sentence slot.");
+    }
+
+    @Test
+    void testRenderFillsSlotsInOrder() {
+        SentenceTemplate template = SentenceTemplate.compile("[noun] [verb] the [adjective] [noun]");
+
+        String result = template.render(new StringBuilder(),
+                List.of("cat", "dog").iterator(),
+                List.of("chases").iterator(),
+                List.of("lazy").iterator()).toString();
+
+        assertEquals("cat chases the lazy dog", result, "Slots should be filled in order of appearance.");
+    }
+
+    @Test
+    void testRenderKeepsTagsWhenWordsAreMissing() {
+        SentenceTemplate template = SentenceTemplate.compile("[noun] [verb] [noun] in the [sentence]");
+
+        String result = template.render(new StringBuilder(),
+                List.of("cat").iterator(),
+                Collections.emptyIterator(),
+                Collections.emptyIterator()).toString();
+
+        assertEquals("cat [verb] [noun] in the [sentence]", result, "Unfilled slots should be written back as tags.");
+    }
+
+    @Test
+    void testUnknownTagsAreLiterals() {
+        SentenceTemplate template = SentenceTemplate.compile("[NOUN] [x] [noun]");
+
+        assertEquals(1, template.getSlotCount(), "Only lowercase known tags should become slots.");
+        assertEquals("[NOUN] [x] ", template.getLiteral(0), "Unknown tags should be kept in the literal segment.");
+    }
+
+    @Test
+    void testRenderAppendsToReusedBuffer() {
+        SentenceTemplate template = SentenceTemplate.compile("[noun]!");
+        StringBuilder buffer = new StringBuilder();
+
+        template.render(buffer, List.of("one").iterator(), Collections.emptyIterator(), Collections.emptyIterator());
+        buffer.setLength(0);
+        template.render(buffer, List.of("two").iterator(), Collections.emptyIterator(), Collections.emptyIterator());
+
+        assertEquals("two!", buffer.toString(), "A cleared buffer should be reusable for the next render.");
+    }
+
+    @Test
+    void testOfReturnsCachedTemplate() {
+        SentenceTemplate first = SentenceTemplate.of("[noun] [verb] [noun]");
+        SentenceTemplate second = SentenceTemplate.of("[noun] [verb] [noun]");
+
+        assertSame(first, second, "The same structure should be compiled only once.");
+    }
+
+    @Test
+    void testNullStructureThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SentenceTemplate.of(null),
+                "A null structure should throw an IllegalArgumentException.");
+    }
+
+    @Test
+    void testInternReturnsStableId() {
+        int first = SentenceTemplate.intern("[adjective] [noun] [verb] [noun]");
+        int second = SentenceTemplate.intern("[adjective] [noun] [verb] [noun]");
+
+        assertEquals(first, second, "The same structure should be interned with the same id.");
+        assertEquals("[adjective] [noun] [verb] [noun]", SentenceTemplate.getInterned(first).getStructure(), "The id should resolve to the interned template.");
+        assertNotEquals(first, SentenceTemplate.intern("[noun] [verb] [adjective]"), "Different structures should be interned with different ids.");
+    }
+
+    @Test
+    void testGetInternedUnknownIdThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SentenceTemplate.getInterned(-1),
+                "A negative id should throw an IllegalArgumentException.");
+        assertThrows(IllegalArgumentException.class, () -> SentenceTemplate.getInterned(Integer.MAX_VALUE),
+                "An id never assigned should throw an IllegalArgumentException.");
+    }
+}
@@ -3,6 +3,8 @@ package unipd.edids.logicBusiness.entities;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import unipd.edids.logicBusiness.vocabulary.MappedVocabulary;
+import unipd.edids.logicBusiness.vocabulary.VocabularyImporter;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -96,6 +98,73 @@ public class WordTest {
         }
     }
 
+    @Test
+    void testGetWordsReturnsImmutableSnapshot() throws IOException {
+        Word word = new TestWord(tempFile.getAbsolutePath());
+        List<String> snapshot = word.getWords();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add("grape"),
+                "The word snapshot should not be modifiable.");
+
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("dog\nelephant");
+        }
+        word.onFileChanged(tempFile.getAbsolutePath());
+
+        assertEquals(List.of("apple", "banana", "cherry"), snapshot, "A previously obtained snapshot should not change on reload.");
+        assertEquals(List.of("dog", "elephant"), word.getWords(), "A reload should publish a new snapshot.");
+    }
+
+    @Test
+    void testConcurrentReadsDuringReload() throws Exception {
+        Word word = new TestWord(tempFile.getAbsolutePath());
+        List<String> allowed = List.of("apple", "banana", "cherry");
+        Thread reloader = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                word.onFileChanged(tempFile.getAbsolutePath());
+            }
+        });
+        reloader.start();
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(allowed.contains(word.getRandomWord()), "Readers should always see a complete snapshot.");
+        }
+        reloader.join();
+    }
+
+    @Test
+    void testLinesAppendedAreAddedWithoutReload() throws IOException {
+        Word word = new TestWord(tempFile.getAbsolutePath());
+        List<String> snapshot = word.getWords();
+
+        // Una modifica non notificata dimostra che il file non viene riletto
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("dog\nelephant");
+        }
+        word.onLinesAppended(tempFile.getAbsolutePath(), List.of("grape", "kiwi"));
+
+        assertEquals(List.of("apple", "banana", "cherry", "grape", "kiwi"), word.getWords(), "Appended lines should extend the current words.");
+        assertEquals(List.of("apple", "banana", "cherry"), snapshot, "A previously obtained snapshot should not change on append.");
+
+        word.onLinesAppended("another_file.txt", List.of("melon"));
+        assertEquals(5, word.getWords().size(), "Lines appended to other files should be ignored.");
+
+        word.onFileChanged(tempFile.getAbsolutePath());
+        assertEquals(List.of("dog", "elephant"), word.getWords(), "Other changes should still reload the whole file.");
+    }
+
+    @Test
+    void testLoadsMappedVocabulary() throws IOException {
+        File vocabFile = File.createTempFile("word_test", MappedVocabulary.EXTENSION);
+        vocabFile.deleteOnExit();
+        VocabularyImporter.importText(tempFile.toPath(), vocabFile.toPath());
+
+        Word word = new TestWord(vocabFile.getAbsolutePath());
+
+        assertInstanceOf(MappedVocabulary.class, word.getWords(), "A .vocab file should be memory-mapped.");
+        assertEquals(List.of("apple", "banana", "cherry"), word.getWords(), "The mapped words should match the text file.");
+        assertTrue(List.of("apple", "banana", "cherry").contains(word.getRandomWord()),
+                "getRandomWord() should pick from the mapped vocabulary.");
+    }
+
     @AfterEach
     void tearDown()  {
         logger.info("Finished test #{}", testNumber);
@@ -0,0 +1,70 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.managers.PipelineManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CoreNLPParseEventTest {
+
+    private static final Logger logger = LogManager.getLogger(CoreNLPParseEventTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: CoreNLPParseEventTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: CoreNLPParseEventTest");
+    }
+
+    @Test
+    void testParseIsRecorded() throws IOException {
+        PipelineManager manager = PipelineManager.getInstance();
+        manager.load("none").join();
+        String text = "The cat sleeps. The dog barks.";
+
+        Path dump = tempDir.resolve("parse.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("unipd.edids.CoreNLPParse");
+            recording.start();
+            manager.process("none", text);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.size(), "A single parse should be recorded");
+        RecordedEvent event = events.getFirst();
+        assertEquals("none", event.getString("parser"));
+        assertEquals(text.length(), event.getInt("textLength"));
+        assertEquals(2, event.getInt("sentences"), "The event should report the sentences of the text");
+        assertTrue(event.getLong("waitTime") >= 0, "The wait time should be recorded");
+    }
+}
@@ -0,0 +1,90 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.managers.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FileWriteEventTest {
+
+    private static final Logger logger = LogManager.getLogger(FileWriteEventTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: FileWriteEventTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+        FileManager.closeSavingChannels();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: FileWriteEventTest");
+    }
+
+    private List<RecordedEvent> record(Runnable workload) throws IOException {
+        Path dump = tempDir.resolve("writes.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("unipd.edids.FileWrite");
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    @Test
+    void testSavingFileAppendIsRecorded() throws IOException {
+        String file = tempDir.resolve("saved.txt").toString();
+
+        List<RecordedEvent> events = record(() -> FileManager.appendLineToSavingFile(file, "The cat sleeps"));
+
+        assertEquals(1, events.size(), "A single write should be recorded");
+        RecordedEvent event = events.getFirst();
+        assertEquals(FileWriteEvent.SAVING_FILE_APPEND, event.getString("operation"));
+        assertEquals(file, event.getString("path"));
+        assertEquals(1, event.getInt("lines"));
+        assertEquals(System.lineSeparator().length() + "The cat sleeps".length(), event.getLong("characters"));
+    }
+
+    @Test
+    void testSavingChannelFlushIsRecorded() throws IOException {
+        String file = tempDir.resolve("channel.txt").toString();
+
+        List<RecordedEvent> events = record(() -> {
+            FileManager.appendLineToSavingChannel(file, "one");
+            FileManager.appendLineToSavingChannel(file, "two");
+            FileManager.getSavingChannel(file).flush();
+        });
+
+        RecordedEvent event = events.stream()
+                .filter(e -> FileWriteEvent.SAVING_CHANNEL_FLUSH.equals(e.getString("operation")))
+                .findFirst().orElseThrow();
+        assertEquals(2, event.getInt("lines"), "The flush should report the buffered lines");
+        assertEquals(2L * System.lineSeparator().length() + 6, event.getLong("characters"));
+    }
+}
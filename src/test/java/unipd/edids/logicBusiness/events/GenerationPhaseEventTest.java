@@ -0,0 +1,70 @@
+package unipd.edids.logicBusiness.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.services.GenerateSentenceService;
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GenerationPhaseEventTest {
+
+    private static final Logger logger = LogManager.getLogger(GenerationPhaseEventTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: GenerationPhaseEventTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: GenerationPhaseEventTest");
+    }
+
+    @Test
+    void testEveryPhaseIsRecorded() throws IOException {
+        GenerateSentenceService service = new GenerateSentenceService();
+        service.setStructureSentenceStrategy(StrategyType.SELECTED, null, "[noun] [verb] the [adjective] [noun]");
+        service.configureWordStrategy(true, null);
+
+        Path dump = tempDir.resolve("generation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("unipd.edids.GenerationPhase");
+            recording.start();
+            service.generateSentence();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(List.of("structureResolution", "wordPopulation", "placeholderReplacement"),
+                events.stream().map(e -> e.getString("phase")).toList(), "Every phase should be recorded in order");
+        assertTrue(events.stream().allMatch(e -> "SelectedStructureStrategy".equals(e.getString("strategy"))),
+                "Events should report the structure strategy");
+        assertEquals("[noun] [verb] the [adjective] [noun]".length(), events.getFirst().getInt("structureLength"));
+    }
+}
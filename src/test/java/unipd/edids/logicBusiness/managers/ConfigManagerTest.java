@@ -4,7 +4,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 
+import unipd.edids.logicBusiness.observers.configObserver.ConfigObserver;
+
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,4 +145,122 @@ class ConfigManagerTest {
         assertNotEquals(themeValue, ConfigManager.getInstance().getProperty(themeKey), "resetDefault() should update the API key with the old value");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPropertyWithDefault() {
+        logger.info("Testing getProperty() with a default value...");
+        ConfigManager configManager = ConfigManager.getInstance();
+
+        assertEquals("fallback", configManager.getProperty("undefined.test.key", "fallback"), "A missing property should return the default value");
+        assertEquals(configManager.getProperty("ui.theme"), configManager.getProperty("ui.theme", "fallback"), "A defined property should ignore the default value");
+    }
+
+    @Test
+    void testTypedProperties() {
+        logger.info("Testing typed property accessors...");
+        ConfigManager configManager = ConfigManager.getInstance();
+        configManager.setProperty("testIntKey", "12");
+        configManager.setProperty("testBooleanKey", "true");
+
+        assertEquals(12, configManager.getInt("testIntKey"), "getInt() should parse the property");
+        assertTrue(configManager.getBoolean("testBooleanKey"), "getBoolean() should parse the property");
+        assertEquals(3, configManager.getInt("undefined.test.key", 3), "A missing property should return the default value");
+        assertEquals(Paths.get(configManager.getProperty("noun.file")), configManager.getPath("noun.file"));
+
+        ConfigSnapshot before = configManager.getSnapshot();
+        configManager.setProperty("testIntKey", "13");
+        assertEquals(13, configManager.getInt("testIntKey"), "A change should publish a new snapshot");
+        assertEquals(12, before.getInt("testIntKey"), "A previous snapshot should not change");
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() throws InterruptedException {
+        logger.info("Testing concurrent property reads and writes...");
+        ConfigManager configManager = ConfigManager.getInstance();
+        configManager.setProperty("testConcurrentKey", "0");
+        AtomicBoolean failed = new AtomicBoolean();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 200; i++) {
+                configManager.setProperty("testConcurrentKey", String.valueOf(i));
+            }
+        });
+        Thread reader = new Thread(() -> {
+            int last = 0;
+            for (int i = 0; i < 10_000; i++) {
+                int value = configManager.getInt("testConcurrentKey");
+                if (value < last) {
+                    failed.set(true);
+                }
+                last = value;
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertFalse(failed.get(), "Readers should never see an older value after a newer one");
+        assertEquals(200, configManager.getInt("testConcurrentKey"));
+    }
+
+    @Test
+    void testUpdateNotifiesOnceWithAllChanges() {
+        logger.info("Testing update() delivers a single notification...");
+        ConfigManager configManager = ConfigManager.getInstance();
+        configManager.setProperty("testUpdateKey1", "a");
+        List<Map<String, String>> notifications = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        ConfigObserver observer = new ConfigObserver() {
+            @Override
+            public void onConfigChange(String key, String value) {
+                fail("Changes should be delivered together");
+            }
+
+            @Override
+            public void onConfigChange(Map<String, String> changes) {
+                notifications.add(changes);
+                threads.add(Thread.currentThread());
+            }
+        };
+        configManager.addObserver(observer);
+        try {
+            Map<String, String> changes = new LinkedHashMap<>();
+            changes.put("testUpdateKey1", "a");
+            changes.put("testUpdateKey2", "b");
+            changes.put("testUpdateKey3", "c");
+            CompletableFuture<Void> notification = configManager.update(changes);
+
+            assertEquals("c", configManager.getProperty("testUpdateKey3"), "New values should be visible when update() returns");
+            notification.join();
+            assertEquals(List.of(Map.of("testUpdateKey2", "b", "testUpdateKey3", "c")), notifications,
+                    "Observers should be notified once, of the changed properties only");
+            assertNotSame(Thread.currentThread(), threads.get(0), "Observers should be notified off the caller's thread");
+            assertTrue(configManager.update(Map.of("testUpdateKey1", "a")).isDone(), "An update without changes should not notify");
+        } finally {
+            configManager.removeObserver(observer);
+        }
+    }
+
+    @Test
+    void testSetPropertyPropagatesObserverFailure() {
+        logger.info("Testing setProperty() with a failing observer...");
+        ConfigManager configManager = ConfigManager.getInstance();
+        List<String> received = new ArrayList<>();
+        ConfigObserver failing = (key, value) -> {
+            throw new IllegalStateException("Observer failure");
+        };
+        ConfigObserver working = (key, value) -> received.add(key);
+        configManager.addObserver(failing);
+        configManager.addObserver(working);
+        try {
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> configManager.setProperty("testFailureKey", String.valueOf(System.nanoTime())));
+            assertEquals("Observer failure", exception.getMessage());
+            assertEquals(List.of("testFailureKey"), received, "Other observers should still be notified");
+        } finally {
+            configManager.removeObserver(failing);
+            configManager.removeObserver(working);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConfigSnapshotTest {
+
+    private static final Logger logger = LogManager.getLogger(ConfigSnapshotTest.class);
+    private int testNumber = 0;
+    private ConfigSnapshot snapshot;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: ConfigSnapshotTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+        Properties properties = new Properties();
+        properties.setProperty("size", " 42 ");
+        properties.setProperty("big", "10000000000");
+        properties.setProperty("flag", "TRUE");
+        properties.setProperty("file", "logs/output/generated.txt");
+        properties.setProperty("blank", "  ");
+        properties.setProperty("text", "abc");
+        snapshot = ConfigSnapshot.of(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: ConfigSnapshotTest");
+    }
+
+    @Test
+    void testStringValues() {
+        assertEquals("abc", snapshot.get("text"));
+        assertNull(snapshot.get("blank"), "Blank values should be treated as missing");
+        assertNull(snapshot.get(null));
+        assertEquals("fallback", snapshot.get("missing", "fallback"));
+        assertEquals(5, snapshot.size());
+    }
+
+    @Test
+    void testTypedValues() {
+        assertEquals(42, snapshot.getInt("size"), "Integers should be parsed ignoring surrounding spaces");
+        assertSame(snapshot.getPath("file"), snapshot.getPath("file"), "Parsed values should be cached");
+        assertEquals(Paths.get("logs/output/generated.txt"), snapshot.getPath("file"));
+        assertEquals(10_000_000_000L, snapshot.getLong("big"));
+        assertTrue(snapshot.getBoolean("flag"), "Booleans should be parsed ignoring case");
+        assertFalse(snapshot.getBoolean("text"), "Any other value should be false");
+    }
+
+    @Test
+    void testDefaults() {
+        assertEquals(7, snapshot.getInt("missing", 7));
+        assertEquals(7, snapshot.getInt("blank", 7), "Blank values should fall back to the default");
+        assertEquals(8L, snapshot.getLong("missing", 8L));
+        assertTrue(snapshot.getBoolean("missing", true));
+        assertEquals(42, snapshot.getInt("size", 7), "Defined values should ignore the default");
+    }
+
+    @Test
+    void testInvalidValues() {
+        Exception missing = assertThrows(IllegalArgumentException.class, () -> snapshot.getInt("missing"));
+        assertEquals("Property missing is not defined.", missing.getMessage());
+        Exception invalid = assertThrows(IllegalArgumentException.class, () -> snapshot.getInt("text", 0));
+        assertTrue(invalid.getMessage().contains("text"), "The message should name the property");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getInt("big"), "Values out of range should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getBoolean("blank"));
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        Properties properties = new Properties();
+        properties.setProperty("key", "1");
+        ConfigSnapshot copy = ConfigSnapshot.of(properties);
+        properties.setProperty("key", "2");
+        assertEquals(1, copy.getInt("key"), "Later changes to the properties should not affect the snapshot");
+    }
+}
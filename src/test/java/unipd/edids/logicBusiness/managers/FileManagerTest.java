@@ -109,11 +109,38 @@ class FileManagerTest {
         assertNotNull(exception.getMessage(), "Exception message should not be null");
     }
 
+    @Test
+    void testAppendLineToSavingChannel_FlushedOnDemand() {
+        // Description: Tests that lines written through the shared channel reach the file once flushed
+        FileManager.appendLineToSavingChannel(TEST_FILE_PATH, "First saved line");
+        FileManager.appendLineToSavingChannel(TEST_FILE_PATH, "Second saved line");
+
+        // Act
+        FileManager.flushSavingChannels();
+
+        // Assert
+        List<String> lines = FileManager.readFile(TEST_FILE_PATH);
+        assertEquals(List.of("First saved line", "Second saved line"), lines, "Saved lines should be written in order");
+    }
+
+    @Test
+    void testGetSavingChannel_SharedPerFile() {
+        // Description: Tests that the same file always uses the same channel until it is closed
+        SavingChannel channel = FileManager.getSavingChannel(TEST_FILE_PATH);
+
+        assertSame(channel, FileManager.getSavingChannel("./" + TEST_FILE_PATH), "Equivalent paths should share the channel");
+
+        FileManager.closeSavingChannels();
+        assertFalse(channel.isOpen(), "Closing the channels should close the shared channel");
+        assertNotSame(channel, FileManager.getSavingChannel(TEST_FILE_PATH), "A closed channel should be replaced");
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         logger.info("Finished test #{}", testNumber);
 
         // Clean up and delete test file after each test
+        FileManager.closeSavingChannels();
         FileManager.deleteFile(TEST_FILE_PATH);
     }
 
@@ -0,0 +1,152 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.observers.fileObserver.FileObserver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FileWatcherTest {
+
+    private static final Logger logger = LogManager.getLogger(FileWatcherTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    private FileWatcher watcher;
+    private final List<String> changes = new CopyOnWriteArrayList<>();
+    private final FileObserver observer = changes::add;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: FileWatcherTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+        changes.clear();
+        watcher = new FileWatcher(100);
+        FileManager.addObserver(observer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileManager.removeObserver(observer);
+        watcher.shutdown();
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: FileWatcherTest");
+    }
+
+    @Test
+    void testConstructorRejectsNegativeDebounce() {
+        assertThrows(IllegalArgumentException.class, () -> new FileWatcher(-1));
+    }
+
+    @Test
+    void testExternalChangesAreDebounced() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("nouns.txt"), "dog\n");
+        String filePath = file.toString();
+        watcher.watch(filePath);
+
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(file, "cat" + i + "\n", StandardOpenOption.APPEND);
+        }
+
+        assertTrue(waitFor(() -> !changes.isEmpty()), "An external change should be detected");
+        Thread.sleep(500);
+        assertEquals(List.of(filePath), changes, "A burst of writes should trigger a single reload");
+    }
+
+    @Test
+    void testUnwatchedFilesAreIgnored() throws Exception {
+        Path watched = Files.writeString(tempDir.resolve("nouns.txt"), "dog\n");
+        watcher.watch(watched.toString());
+
+        Files.writeString(tempDir.resolve("other.txt"), "cat\n");
+        Thread.sleep(500);
+        assertTrue(changes.isEmpty(), "Changes to other files should be ignored");
+
+        watcher.unwatch(watched.toString());
+        assertFalse(watcher.isWatched(watched.toString()));
+        Files.writeString(watched, "cat\n");
+        Thread.sleep(500);
+        assertTrue(changes.isEmpty(), "Changes to unwatched files should be ignored");
+    }
+
+    @Test
+    void testChangesMarkedUpToDateAreSkipped() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("verbs.txt"), "run\n");
+        watcher.watch(file.toString());
+
+        Files.writeString(file, "run\njump\n");
+        watcher.markRead(file.toString());
+        Thread.sleep(500);
+        assertTrue(changes.isEmpty(), "A change already applied by the application should not trigger a reload");
+
+        Files.writeString(file, "run\njump\nswim\n");
+        assertTrue(waitFor(() -> !changes.isEmpty()), "A later external change should still be detected");
+    }
+
+    @Test
+    void testApplicationWriteIsSkipped() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("verbs.txt"), "run\n");
+        watcher.watch(file.toString());
+
+        FileWatcher.FileState before = FileWatcher.stateOf(file.toString());
+        Files.writeString(file, "jump\n", StandardOpenOption.APPEND);
+        watcher.markWritten(file.toString(), before);
+        Thread.sleep(500);
+        assertTrue(changes.isEmpty(), "A write of the application on a known file should not trigger a reload");
+    }
+
+    @Test
+    void testExternalChangeBeforeApplicationWriteIsReloaded() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("verbs.txt"), "run\n");
+        watcher.watch(file.toString());
+
+        // Modifica esterna non ancora ricaricata, seguita da una scrittura dell'applicazione.
+        Files.writeString(file, "run\nswim\n");
+        FileWatcher.FileState before = FileWatcher.stateOf(file.toString());
+        Files.writeString(file, "jump\n", StandardOpenOption.APPEND);
+        watcher.markWritten(file.toString(), before);
+
+        assertTrue(waitFor(() -> changes.contains(file.toString())), "The external change should still be reloaded");
+    }
+
+    @Test
+    void testCreatedFileIsDetected() throws Exception {
+        Path file = tempDir.resolve("adjectives.txt");
+        watcher.watch(file.toString());
+
+        Files.writeString(file, "red\n");
+        assertTrue(waitFor(() -> changes.contains(file.toString())), "A watched file should be detected when created");
+    }
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
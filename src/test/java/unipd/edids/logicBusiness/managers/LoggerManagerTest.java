@@ -2,10 +2,13 @@ package unipd.edids.logicBusiness.managers;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.filter.BurstFilter;
 import org.junit.jupiter.api.*;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class LoggerManagerTest {
@@ -57,6 +60,27 @@ class LoggerManagerTest {
         assertSame(logger1, logger2, "getLogger() should consistently return the same Logger instance for the same class");
     }
 
+    @Test
+    void testHotPathLoggerIsRateLimited() {
+        logger.info("Testing getHotPathLogger()...");
+        Logger hotPathLogger = LoggerManager.getInstance().getHotPathLogger(LoggerManagerTest.class);
+        assertEquals(LoggerManager.HOT_PATH_CATEGORY + "." + LoggerManagerTest.class.getName(), hotPathLogger.getName(),
+                "The hot path logger should belong to the hot path category");
+
+        LoggerConfig config = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggerConfig(hotPathLogger.getName());
+        assertEquals(LoggerManager.HOT_PATH_CATEGORY, config.getName(), "The hot path category should be configured");
+        assertInstanceOf(BurstFilter.class, config.getFilter(), "Hot path events should be rate-limited");
+    }
+
+    @Test
+    void testRootLoggerIsAsynchronous() {
+        logger.info("Testing the asynchronous appender...");
+        LoggerConfig root = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getRootLogger();
+        assertFalse(root.getAppenders().isEmpty(), "The root logger should have an appender");
+        assertTrue(root.getAppenders().values().stream().allMatch(AsyncAppender.class::isInstance),
+                "The root logger should write through the asynchronous appender");
+    }
+
     @AfterEach
     void tearDown() {
         logger.info("Finished test #{}", testNumber);
@@ -0,0 +1,127 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import unipd.edids.logicBusiness.services.GenerateSentenceService;
+import unipd.edids.logicBusiness.strategies.structureStrategies.StrategyType;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsManagerTest {
+
+    private static final Logger logger = LogManager.getLogger(MetricsManagerTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: MetricsManagerTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+        MetricsManager.getInstance().reset();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        logger.info("Finished test #{}", testNumber);
+        ConfigManager.getInstance().resetDefault();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: MetricsManagerTest");
+    }
+
+    @Test
+    void testSingletonInstance() {
+        assertSame(MetricsManager.getInstance(), MetricsManager.getInstance(), "getInstance should return the same instance");
+    }
+
+    @Test
+    void testRecordStage() {
+        MetricsManager metrics = MetricsManager.getInstance();
+        assertTrue(metrics.isEnabled(), "Metrics should be enabled by default");
+
+        long start = metrics.start();
+        assertNotEquals(MetricsManager.NOT_TIMED, start);
+        metrics.record(MetricsManager.Stage.SAVE, start);
+
+        assertEquals(1, metrics.getStage(MetricsManager.Stage.SAVE).getCount(), "The call should be recorded");
+        assertEquals(0, metrics.getStage(MetricsManager.Stage.MODERATION).getCount(), "Other stages should not be affected");
+    }
+
+    @Test
+    void testDisabledMetricsRecordNothing() {
+        MetricsManager metrics = MetricsManager.getInstance();
+        ConfigManager.getInstance().setProperty("metrics.enabled", "false");
+        assertFalse(metrics.isEnabled(), "The configuration change should disable the metrics");
+
+        long start = metrics.start();
+        assertEquals(MetricsManager.NOT_TIMED, start, "Disabled metrics should not read the clock");
+        metrics.record(MetricsManager.Stage.VALIDATION, start);
+        assertEquals(0, metrics.getStage(MetricsManager.Stage.VALIDATION).getCount(), "Disabled metrics should record nothing");
+
+        ConfigManager.getInstance().setProperty("metrics.enabled", "true");
+        assertTrue(metrics.isEnabled(), "The configuration change should enable the metrics again");
+    }
+
+    @Test
+    void testStagesExposedOverJmx() throws Exception {
+        MetricsManager metrics = MetricsManager.getInstance();
+        metrics.record(MetricsManager.Stage.CORENLP_PARSE, metrics.start());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (MetricsManager.Stage stage : MetricsManager.Stage.values()) {
+            assertTrue(server.isRegistered(new ObjectName("unipd.edids:type=Metrics,stage=" + stage.getName())),
+                    "Stage " + stage + " should be registered");
+        }
+        ObjectName parse = new ObjectName("unipd.edids:type=Metrics,stage=corenlpParse");
+        assertEquals(1L, server.getAttribute(parse, "Count"), "JMX should expose the recorded calls");
+
+        server.invoke(parse, "reset", null, null);
+        assertEquals(0, metrics.getStage(MetricsManager.Stage.CORENLP_PARSE).getCount(), "The JMX reset should clear the stage");
+    }
+
+    @Test
+    void testSourceExposedOverJmx() throws Exception {
+        MetricsManager.getInstance().registerSource("TestSource", (TestSourceMXBean) () -> 7, () -> "value=7");
+
+        ObjectName source = new ObjectName("unipd.edids:type=TestSource");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(7, server.getAttribute(source, "Value"), "JMX should expose the value of the source");
+
+        MetricsManager.getInstance().registerSource("TestSource", (TestSourceMXBean) () -> 8, () -> "value=8");
+        assertEquals(8, server.getAttribute(source, "Value"), "A new registration should replace the previous one");
+        MetricsManager.getInstance().logSnapshot();
+    }
+
+    /**
+     * Management interface of the source registered by the test.
+     */
+    public interface TestSourceMXBean {
+        int getValue();
+    }
+
+    @Test
+    void testGenerationStagesRecorded() {
+        GenerateSentenceService service = new GenerateSentenceService();
+        service.setStructureSentenceStrategy(StrategyType.SELECTED, null, "[noun] [verb] the [adjective] [noun]");
+        service.configureWordStrategy(true, null);
+
+        service.generateSentence();
+
+        MetricsManager metrics = MetricsManager.getInstance();
+        assertEquals(1, metrics.getStage(MetricsManager.Stage.STRUCTURE_RESOLUTION).getCount(), "Structure resolution should be timed");
+        assertEquals(1, metrics.getStage(MetricsManager.Stage.WORD_POPULATION).getCount(), "Word population should be timed");
+        assertEquals(1, metrics.getStage(MetricsManager.Stage.PLACEHOLDER_REPLACEMENT).getCount(), "Placeholder replacement should be timed");
+    }
+}
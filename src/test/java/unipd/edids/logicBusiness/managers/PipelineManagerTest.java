@@ -0,0 +1,93 @@
+package unipd.edids.logicBusiness.managers;
+
+import edu.stanford.nlp.pipeline.CoreDocument;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PipelineManagerTest {
+
+    private static final Logger logger = LogManager.getLogger(PipelineManagerTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: PipelineManagerTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: PipelineManagerTest");
+    }
+
+    @Test
+    void testConstructorRejectsNonPositivePoolSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PipelineManager(0), "A pool size of 0 should be rejected");
+    }
+
+    @Test
+    void testGetInstanceReturnsSameInstance() {
+        assertSame(PipelineManager.getInstance(), PipelineManager.getInstance(), "The registry should be a singleton");
+        assertTrue(PipelineManager.getInstance().getPoolSize() > 0, "The default pool size should be positive");
+    }
+
+    @Test
+    void testLoadRejectsInvalidParser() {
+        PipelineManager manager = new PipelineManager(1);
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> manager.load("fast"));
+        assertEquals("Invalid CoreNLP parser: fast. Expected pcfg, sr or none.", exception.getMessage());
+    }
+
+    @Test
+    void testLoadSharesPipelinePerParser() {
+        PipelineManager manager = new PipelineManager(1);
+        CompletableFuture<StanfordCoreNLP> first = manager.load("none");
+
+        assertSame(first, manager.load("none"), "The same parser should share its pipeline");
+        assertSame(first.join(), manager.getPipeline("none"), "The loaded pipeline should be reused");
+        assertTrue(manager.isLoaded("none"), "The pipeline should be reported as loaded");
+        assertFalse(manager.isLoaded("pcfg"), "A parser never requested should not be loaded");
+    }
+
+    @Test
+    void testProcessConcurrentRequestsWithBoundedPool() {
+        PipelineManager manager = new PipelineManager(2);
+
+        List<CoreDocument> documents = IntStream.range(0, 8).parallel()
+                .mapToObj(i -> manager.process("none", "The cat number " + i + " sleeps."))
+                .toList();
+
+        assertEquals(8, documents.size(), "Every request should be served");
+        documents.forEach(document -> assertEquals(6, document.tokens().size(), "Each text should be tokenized"));
+        assertEquals(2, manager.getAvailablePermits(), "Every permit should be released");
+    }
+
+    @Test
+    void testSplitSentencesDoesNotTag() {
+        PipelineManager manager = new PipelineManager(1);
+
+        CoreDocument document = manager.splitSentences("The cat sleeps. The dog barks.");
+
+        assertEquals(2, document.sentences().size(), "The text should be split into sentences");
+        assertNull(document.tokens().getFirst().tag(), "The splitter should not tag the words");
+        assertFalse(manager.isLoaded("none"), "The splitter should not load the tagging pipeline");
+    }
+}
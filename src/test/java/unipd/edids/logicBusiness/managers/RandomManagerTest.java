@@ -0,0 +1,99 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RandomManagerTest {
+
+    private static final Logger logger = LogManager.getLogger(RandomManagerTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: RandomManagerTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RandomManager.clearSeed();
+        RandomManager.setAlgorithm(RandomManager.DEFAULT_ALGORITHM);
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: RandomManagerTest");
+    }
+
+    @Test
+    void testCurrentReturnsSameGeneratorOnSameThread() {
+        RandomGenerator first = RandomManager.current();
+        RandomGenerator second = RandomManager.current();
+        assertSame(first, second, "The same thread should reuse its generator.");
+    }
+
+    @Test
+    void testSeedMakesSequenceReproducible() {
+        RandomManager.setSeed(42);
+        int[] firstRun = drawIndexes();
+        RandomManager.setSeed(42);
+        int[] secondRun = drawIndexes();
+
+        assertArrayEquals(firstRun, secondRun, "The same seed should produce the same sequence.");
+    }
+
+    @Test
+    void testReseedCurrentThreadIsReproducible() {
+        RandomManager.reseedCurrentThread(RandomManager.mixSeed(7, 3));
+        int[] firstRun = drawIndexes();
+        RandomManager.reseedCurrentThread(RandomManager.mixSeed(7, 3));
+        int[] secondRun = drawIndexes();
+
+        assertArrayEquals(firstRun, secondRun, "Reseeding with the same seed should produce the same sequence.");
+    }
+
+    @Test
+    void testSeedScopeRestoresPreviousGenerator() {
+        RandomGenerator before = RandomManager.current();
+
+        try (RandomManager.SeedScope ignored = RandomManager.reseedCurrentThread(RandomManager.mixSeed(7, 3))) {
+            assertNotSame(before, RandomManager.current(), "The reseeded generator should be used inside the scope.");
+        }
+
+        assertSame(before, RandomManager.current(), "Closing the scope should restore the previous generator.");
+    }
+
+    @Test
+    void testSetAlgorithm() {
+        RandomManager.setAlgorithm("SplittableRandom");
+        assertEquals("SplittableRandom", RandomManager.getAlgorithm(), "The algorithm should be replaced.");
+        assertTrue(RandomManager.nextIndex(10) < 10, "Indexes should stay within the bound.");
+    }
+
+    @Test
+    void testSetInvalidAlgorithmThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> RandomManager.setAlgorithm("NoSuchRandom"),
+                "An unknown algorithm should throw an IllegalArgumentException.");
+        assertThrows(IllegalArgumentException.class, () -> RandomManager.setAlgorithm(null),
+                "A null algorithm should throw an IllegalArgumentException.");
+    }
+
+    private int[] drawIndexes() {
+        int[] indexes = new int[20];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = RandomManager.nextIndex(1000);
+        }
+        return indexes;
+    }
+}
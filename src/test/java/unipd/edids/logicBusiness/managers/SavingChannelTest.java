@@ -0,0 +1,94 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SavingChannelTest {
+
+    private static final Logger logger = LogManager.getLogger(SavingChannelTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: SavingChannelTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: SavingChannelTest");
+    }
+
+    @Test
+    void testConstructorRejectsNonPositiveThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new SavingChannel(tempDir.resolve("saved.txt"), 0));
+    }
+
+    @Test
+    void testLinesAreBufferedUntilThreshold() throws IOException {
+        Path file = tempDir.resolve("saved.txt");
+        SavingChannel channel = new SavingChannel(file, 3);
+
+        channel.append("one");
+        channel.append("two");
+        assertEquals(2, channel.getPending(), "Lines below the threshold should stay buffered");
+        assertEquals(0, Files.size(file), "Buffered lines should not reach the file");
+
+        channel.append("three");
+        assertEquals(0, channel.getPending(), "Reaching the threshold should flush the buffer");
+        assertEquals(List.of("", "one", "two", "three"), Files.readAllLines(file), "Lines should keep the saving file format");
+        channel.close();
+    }
+
+    @Test
+    void testFlushAndClose() throws IOException {
+        Path file = tempDir.resolve("saved.txt");
+        SavingChannel channel = new SavingChannel(file, 100);
+
+        channel.append("flushed");
+        channel.flush();
+        assertEquals(List.of("", "flushed"), Files.readAllLines(file), "Flush should commit the buffered lines");
+
+        channel.append("closed");
+        channel.close();
+        assertEquals(List.of("", "flushed", "closed"), Files.readAllLines(file), "Close should commit the buffered lines");
+        assertEquals(2, channel.getWritten(), "Every written line should be counted");
+        assertThrows(IllegalStateException.class, () -> channel.append("late"), "A closed channel should reject lines");
+    }
+
+    @Test
+    void testConcurrentAppendsAreNotInterleaved() throws IOException {
+        Path file = tempDir.resolve("saved.txt");
+        SavingChannel channel = new SavingChannel(file, 16);
+
+        IntStream.range(0, 500).parallel().forEach(i -> channel.append("line " + i));
+        channel.close();
+
+        List<String> lines = Files.readAllLines(file).stream().filter(line -> !line.isEmpty()).toList();
+        assertEquals(500, lines.size(), "Every line should be written");
+        assertTrue(lines.stream().allMatch(line -> line.matches("line \\d+")), "Lines should not be interleaved");
+    }
+}
@@ -0,0 +1,108 @@
+package unipd.edids.logicBusiness.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StageMetricsTest {
+
+    private static final Logger logger = LogManager.getLogger(StageMetricsTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: StageMetricsTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: StageMetricsTest");
+    }
+
+    @Test
+    void testEmptyMetrics() {
+        StageMetrics metrics = new StageMetrics("empty");
+
+        assertEquals("empty", metrics.getStage());
+        assertEquals(0, metrics.getCount());
+        assertEquals(0, metrics.getMeanMillis());
+        assertEquals(0, metrics.getP99Millis(), "Percentiles without calls should be 0");
+    }
+
+    @Test
+    void testBucketsCoverEveryLatency() {
+        for (long micros = 0; micros < 100_000; micros++) {
+            int bucket = StageMetrics.bucketOf(micros);
+            assertTrue(micros < StageMetrics.upperBoundOf(bucket), "Latency " + micros + " should be below its bucket bound");
+            assertTrue(bucket == 0 || micros >= StageMetrics.upperBoundOf(bucket - 1), "Latency " + micros + " should be above the previous bucket");
+        }
+        assertEquals(StageMetrics.BUCKETS - 1, StageMetrics.bucketOf(Long.MAX_VALUE / 1000), "Huge latencies should share the last bucket");
+    }
+
+    @Test
+    void testCountMeanAndMax() {
+        StageMetrics metrics = new StageMetrics("stage");
+        metrics.record(1_000_000);
+        metrics.record(3_000_000);
+        metrics.record(-5);
+
+        assertEquals(3, metrics.getCount());
+        assertEquals(4.0, metrics.getTotalMillis(), 1e-9);
+        assertEquals(4.0 / 3, metrics.getMeanMillis(), 1e-9);
+        assertEquals(3.0, metrics.getMaxMillis(), 1e-9);
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        StageMetrics metrics = new StageMetrics("stage");
+        // 1..1000 ms, una chiamata per millisecondo
+        IntStream.rangeClosed(1, 1000).forEach(millis -> metrics.record(millis * 1_000_000L));
+
+        assertEquals(500, metrics.getP50Millis(), 500 * 0.25, "The median should be within the bucket precision");
+        assertEquals(950, metrics.getP95Millis(), 950 * 0.25, "The 95th percentile should be within the bucket precision");
+        assertEquals(990, metrics.getP99Millis(), 990 * 0.25, "The 99th percentile should be within the bucket precision");
+        assertEquals(1000, metrics.getPercentileMillis(1), 1e-9, "The 100th percentile should be capped by the maximum");
+        assertThrows(IllegalArgumentException.class, () -> metrics.getPercentileMillis(1.5));
+    }
+
+    @Test
+    void testSnapshotAndReset() {
+        StageMetrics metrics = new StageMetrics("stage");
+        metrics.record(2_000_000);
+
+        StageMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals("stage", snapshot.stage());
+        assertEquals(1, snapshot.count());
+        assertEquals(2.0, snapshot.maxMillis(), 1e-9);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount());
+        assertEquals(0, metrics.getMaxMillis());
+        assertEquals(0, metrics.getP50Millis(), "Reset should empty the histogram");
+    }
+
+    @Test
+    void testConcurrentRecording() {
+        StageMetrics metrics = new StageMetrics("stage");
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> metrics.record(1_000));
+
+        assertEquals(10_000, metrics.getCount(), "No call should be lost");
+        assertEquals(10.0, metrics.getTotalMillis(), 1e-9);
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -132,4 +133,19 @@ class ConfigObserverTest {
         assertEquals(secondValue, actualValue,
                 "The value associated with a duplicate key should be updated to the most recent value.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOnConfigChange_WithChanges_ShouldApplyEachChange() {
+        logger.info("Testing onConfigChange() with several changes...");
+        Map<String, String> changes = new LinkedHashMap<>();
+        changes.put("key1", "value1");
+        changes.put("key2", "value2");
+
+        // Act
+        mockConfigObserver.onConfigChange(changes);
+
+        // Assert
+        assertEquals("value1", mockConfigObserver.getValue("key1"), "Each change should be applied by default.");
+        assertEquals("value2", mockConfigObserver.getValue("key2"), "Each change should be applied by default.");
+    }
+}
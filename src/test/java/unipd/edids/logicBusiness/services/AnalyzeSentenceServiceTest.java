@@ -1,14 +1,18 @@
 package unipd.edids.logicBusiness.services;
 
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 import unipd.edids.logicBusiness.entities.Sentence;
 import unipd.edids.logicBusiness.exceptions.MissingApiKeyException;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.managers.MetricsManager;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,6 +52,67 @@ class AnalyzeSentenceServiceTest {
         logger.info("Finished test suite: AnalyzeSentenceServiceTest");
     }
 
+    @Test
+    void testAnalyzeSyntax_localBackend() {
+        logger.info("Testing analyzeSyntax() with the local CoreNLP backend...");
+        ConfigManager.getInstance().setProperty("analyzer.backend", "corenlp");
+
+        Sentence result = analyzeSentenceService.analyzeSyntax("The quick cat chases a mouse");
+
+        assertEquals(List.of("cat", "mouse"), result.getNouns(), "Nouns should be tagged locally");
+        assertEquals(List.of("chases"), result.getVerbs(), "Verbs should be tagged locally");
+        assertEquals(List.of("quick"), result.getAdjectives(), "Adjectives should be tagged locally");
+        assertEquals("The [adjective] [noun] [verb] a [noun]", result.getStructure().toString(), "Structure should contain the local tags");
+        assertNotNull(result.getSyntaxTree(), "Syntax tree should not be null");
+    }
+
+    @Test
+    void testAnalyzeSyntax_invalidBackend() {
+        logger.info("Testing analyzeSyntax() with an invalid backend...");
+        ConfigManager.getInstance().setProperty("analyzer.backend", "unknown");
+
+        assertThrows(IllegalArgumentException.class, () -> analyzeSentenceService.analyzeSyntax("The cat sleeps"),
+                "An invalid backend should throw an IllegalArgumentException");
+    }
+
+    @Test
+    void testWarmUp_sameFutureUntilParserChanges() {
+        logger.info("Testing warmUp() readiness future...");
+        CompletableFuture<StanfordCoreNLP> first = analyzeSentenceService.warmUp();
+
+        assertSame(first, analyzeSentenceService.warmUp(), "The same future should be returned while loading");
+        assertNotNull(first.join(), "The pipeline should be loaded");
+        assertTrue(analyzeSentenceService.isReady(), "The service should be ready once loaded");
+
+        ConfigManager.getInstance().setProperty("corenlp.parser", "none");
+        assertNotSame(first, analyzeSentenceService.warmUp(), "Changing the parser should load a new pipeline");
+    }
+
+    @Test
+    void testAnalyzeSyntax_parserDisabled() {
+        logger.info("Testing analyzeSyntax() with parsing disabled...");
+        ConfigManager.getInstance().setProperty("analyzer.backend", "corenlp");
+        ConfigManager.getInstance().setProperty("corenlp.parser", "none");
+        analyzeSentenceService.warmUp().join();
+        MetricsManager.getInstance().reset();
+
+        Sentence result = analyzeSentenceService.analyzeSyntax("The quick cat chases a mouse");
+
+        assertEquals(List.of("cat", "mouse"), result.getNouns(), "Nouns should be tagged without the parser");
+        assertEquals(0, result.getSyntaxTree().children().length, "Syntax tree should stay empty without the parser");
+        assertEquals(1, MetricsManager.getInstance().getStage(MetricsManager.Stage.CORENLP_PARSE).getCount(),
+                "The text should be annotated only once without the parser");
+    }
+
+    @Test
+    void testWarmUp_invalidParser() {
+        logger.info("Testing warmUp() with an invalid parser...");
+        ConfigManager.getInstance().setProperty("corenlp.parser", "fast");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> analyzeSentenceService.warmUp());
+        assertEquals("Invalid CoreNLP parser: fast. Expected pcfg, sr or none.", exception.getMessage());
+    }
+
     @Test
     void testAnalyzeSyntax_validInput() {
         logger.info("Testing analyzeSyntax() with valid input...");
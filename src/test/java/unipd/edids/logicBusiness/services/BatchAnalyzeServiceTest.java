@@ -0,0 +1,133 @@
+package unipd.edids.logicBusiness.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.managers.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BatchAnalyzeServiceTest {
+
+    private static final Logger logger = LogManager.getLogger(BatchAnalyzeServiceTest.class);
+    private int testNumber = 0;
+    private AnalyzeSentenceService analyzeSentenceService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: BatchAnalyzeServiceTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+        // Analisi locale e senza parser, per non dipendere dalla rete
+        ConfigManager.getInstance().setProperty("analyzer.backend", "corenlp");
+        ConfigManager.getInstance().setProperty("corenlp.parser", "none");
+        analyzeSentenceService = new AnalyzeSentenceService();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        logger.info("Finished test #{}", testNumber);
+        analyzeSentenceService = null;
+        ConfigManager.getInstance().resetDefault();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: BatchAnalyzeServiceTest");
+    }
+
+    @Test
+    void testConstructor_invalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzeService(null, 1, 1), "A null service should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzeService(analyzeSentenceService, 0, 1), "No workers should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzeService(analyzeSentenceService, 1, 0), "No in-flight units should be rejected");
+    }
+
+    @Test
+    void testAnalyzeFile_linesKeepInputOrder() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = tempDir.resolve("out/analyzed.txt");
+        List<String> lines = IntStream.range(0, 50).mapToObj(i -> "The cat number " + i + " sleeps").toList();
+        Files.write(input, lines);
+
+        BatchAnalyzeService.Report report = new BatchAnalyzeService(analyzeSentenceService, 4, 3)
+                .analyzeFile(input, output, BatchAnalyzeService.SplitMode.LINES);
+
+        assertEquals(50, report.read(), "Every line should be read");
+        assertEquals(50, report.analyzed(), "Every line should be analyzed");
+        assertEquals(0, report.failed(), "No line should fail");
+        List<String> written = Files.readAllLines(output).stream().filter(line -> line.startsWith("The cat")).toList();
+        assertEquals(lines, written, "Sentences should be written in the input order");
+    }
+
+    @Test
+    void testAnalyzeFile_invalidLinesAreSkipped() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = tempDir.resolve("analyzed.txt");
+        Files.write(input, List.of("The dog barks", "", "12345", "@invalid start", "A bird sings"));
+
+        BatchAnalyzeService.Report report = new BatchAnalyzeService(analyzeSentenceService, 2, 2)
+                .analyzeFile(input, output, BatchAnalyzeService.SplitMode.LINES);
+
+        assertEquals(4, report.read(), "Blank lines should be ignored");
+        assertEquals(2, report.analyzed(), "Valid lines should be analyzed");
+        assertEquals(2, report.failed(), "Invalid lines should be counted as failed");
+        String content = Files.readString(output);
+        assertTrue(content.contains("The dog barks") && content.contains("A bird sings"), "Valid lines should be written");
+        assertFalse(content.contains("12345"), "Invalid lines should not be written");
+    }
+
+    @Test
+    void testAnalyzeFile_sentenceSplit() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = tempDir.resolve("analyzed.txt");
+        Files.write(input, List.of("The cat sleeps. The dog", "barks loudly.", "", "A bird sings."));
+
+        BatchAnalyzeService.Report report = new BatchAnalyzeService(analyzeSentenceService, 2, 8)
+                .analyzeFile(input, output, BatchAnalyzeService.SplitMode.SENTENCES);
+
+        assertEquals(3, report.read(), "Paragraphs should be split into sentences");
+        assertEquals(3, report.analyzed(), "Every sentence should be analyzed");
+        List<String> written = Files.readAllLines(output);
+        assertEquals("The dog barks loudly.", written.get(3), "Sentences spanning lines should be joined");
+    }
+
+    @Test
+    void testAnalyzeFile_longParagraphKeepsSentencesWhole() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        Path output = tempDir.resolve("analyzed.txt");
+        // Un solo paragrafo oltre il limite, con ogni frase divisa su due righe: il taglio cade a metà di una frase.
+        List<String> lines = new ArrayList<>(List.of("Cats purr."));
+        IntStream.range(0, 800).mapToObj(i -> i % 2 == 0 ? "The big dog" : "barks loudly.").forEach(lines::add);
+        Files.write(input, lines);
+
+        BatchAnalyzeService.Report report = new BatchAnalyzeService(analyzeSentenceService, 2, 64)
+                .analyzeFile(input, output, BatchAnalyzeService.SplitMode.SENTENCES);
+
+        assertEquals(401, report.read(), "A sentence spanning the cut of a long paragraph should not be split");
+        assertEquals(401, report.analyzed(), "Every sentence should be analyzed");
+        assertTrue(Files.readAllLines(output).stream().noneMatch("The big dog"::equals), "No sentence should be cut in two");
+    }
+
+    @Test
+    void testAnalyzeFile_missingInput() {
+        BatchAnalyzeService service = new BatchAnalyzeService(analyzeSentenceService, 1, 1);
+        assertThrows(IOException.class, () -> service.analyzeFile(tempDir.resolve("missing.txt"), tempDir.resolve("out.txt"),
+                BatchAnalyzeService.SplitMode.LINES), "A missing input should throw an IOException");
+    }
+}
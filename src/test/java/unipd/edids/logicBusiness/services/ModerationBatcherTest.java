@@ -0,0 +1,90 @@
+package unipd.edids.logicBusiness.services;
+
+import com.google.cloud.language.v1.ModerateTextResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ModerationBatcherTest {
+
+    private static final Logger logger = LogManager.getLogger(ModerationBatcherTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: ModerationBatcherTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ModerationBatcher.shutdownInstance();
+        logger.info("Finished test suite: ModerationBatcherTest");
+    }
+
+    @Test
+    void testGetInstanceSingleton() {
+        assertSame(ModerationBatcher.getInstance(), ModerationBatcher.getInstance(), "getInstance() should return the same instance.");
+    }
+
+    @Test
+    void testInvalidParametersThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ModerationBatcher(0, 10),
+                "A non-positive batch size should throw an IllegalArgumentException.");
+        assertThrows(IllegalArgumentException.class, () -> new ModerationBatcher(4, -1),
+                "A negative linger time should throw an IllegalArgumentException.");
+    }
+
+    @Test
+    void testSubmitAfterShutdownFails() {
+        ModerationBatcher batcher = new ModerationBatcher(4, 10);
+        batcher.shutdown();
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> batcher.submit("The cat sleeps.").join(),
+                "Submitting to a stopped batcher should fail.");
+        assertInstanceOf(IllegalStateException.class, exception.getCause(), "The failure should report the stopped batcher.");
+        assertEquals(0, batcher.getSubmitted(), "Rejected texts should not be counted as submitted.");
+    }
+
+    @Test
+    void testCountersStartAtZero() {
+        ModerationBatcher batcher = new ModerationBatcher(4, 10);
+        try {
+            assertEquals(0, batcher.getBatches(), "No batch should be dispatched before any submission.");
+            assertEquals(0, batcher.getAverageLatencyMillis(), "The average latency should be zero before any response.");
+            assertEquals(0, batcher.getAverageBatchSize(), "The average batch size should be zero before any batch.");
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdownFailsBatchBeingCollected() {
+        // Il dispatcher attende altri testi per 10 secondi prima di inviare il batch.
+        ModerationBatcher batcher = new ModerationBatcher(4, 10_000);
+        CompletableFuture<ModerateTextResponse> future = batcher.submit("The cat sleeps.");
+
+        batcher.shutdown();
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> future.orTimeout(5, TimeUnit.SECONDS).join(),
+                "A text collected before the shutdown should fail instead of waiting forever.");
+        assertInstanceOf(IllegalStateException.class, exception.getCause(), "The failure should report the stopped batcher.");
+        assertEquals(1, batcher.getFailed(), "The collected text should be counted as failed.");
+    }
+}
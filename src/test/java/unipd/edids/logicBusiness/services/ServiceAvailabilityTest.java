@@ -0,0 +1,162 @@
+package unipd.edids.logicBusiness.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceAvailabilityTest {
+
+    private static final Logger logger = LogManager.getLogger(ServiceAvailabilityTest.class);
+    private static final String UNRESOLVABLE_ENDPOINT = "nonsense-generator.invalid";
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: ServiceAvailabilityTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: ServiceAvailabilityTest");
+    }
+
+    @Test
+    void testRecordedSuccessSkipsCheck() {
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 60_000, 3, 60_000);
+        availability.recordSuccess();
+
+        assertDoesNotThrow(availability::check, "A recent success should be trusted without resolving the endpoint.");
+    }
+
+    @Test
+    void testFailedProbeIsReportedByCheck() {
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 60_000, 3, 60_000);
+
+        assertDoesNotThrow(availability::check, "The first check should not wait for the probe it starts.");
+        availability.refresh().join();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, availability::check,
+                "A failed probe should be reported to the next callers.");
+        assertTrue(exception.getMessage().contains("DNS resolution failed"), "The message should report the DNS failure.");
+    }
+
+    @Test
+    void testStaleStateIsProbedOnceInBackground() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        AtomicReference<Thread> probeThread = new AtomicReference<>();
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 0, 3, 60_000) {
+            @Override
+            InetAddress resolve() {
+                probes.incrementAndGet();
+                probeThread.set(Thread.currentThread());
+                try {
+                    releaseProbe.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return InetAddress.getLoopbackAddress();
+            }
+        };
+        availability.recordSuccess();
+
+        // Lo stato è sempre scaduto: ogni chiamata vorrebbe una nuova sonda.
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(availability::check, "A stale success should let the callers proceed.");
+        }
+        CompletableFuture<Void> probe = availability.refresh();
+        releaseProbe.countDown();
+        probe.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, probes.get(), "Concurrent stale checks should share a single probe.");
+        assertNotSame(Thread.currentThread(), probeThread.get(), "The probe should not run on the calling thread.");
+    }
+    @Test
+    void testCircuitOpensAfterConsecutiveFailures() {
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 60_000, 2, 60_000);
+        availability.recordSuccess();
+        availability.recordFailure();
+        assertFalse(availability.isOpen(), "The circuit should stay closed below the threshold.");
+
+        availability.recordFailure();
+
+        assertTrue(availability.isOpen(), "The circuit should open at the threshold.");
+        RuntimeException exception = assertThrows(RuntimeException.class, availability::check,
+                "An open circuit should fail fast.");
+        assertTrue(exception.getMessage().contains("temporarily unavailable"), "The message should report the open circuit.");
+    }
+
+    @Test
+    void testSuccessClosesCircuit() {
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 60_000, 1, 60_000);
+        availability.recordFailure();
+        assertTrue(availability.isOpen(), "The circuit should be open after a failure.");
+
+        availability.recordSuccess();
+
+        assertFalse(availability.isOpen(), "A success should close the circuit.");
+        assertDoesNotThrow(availability::check, "A closed circuit with a recent success should not throw.");
+    }
+
+    @Test
+    void testInvalidThresholdThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 1000, 0, 1000),
+                "A non-positive threshold should throw an IllegalArgumentException.");
+    }
+
+    @Test
+    void testHalfOpenCircuitAllowsSingleProbe() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        ServiceAvailability availability = new ServiceAvailability(UNRESOLVABLE_ENDPOINT, 60_000, 1, 0) {
+            @Override
+            InetAddress resolve() {
+                probes.incrementAndGet();
+                probeStarted.countDown();
+                try {
+                    releaseProbe.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return InetAddress.getLoopbackAddress();
+            }
+        };
+        availability.recordFailure();
+
+        // La sonda resta in corso finché il test non la rilascia.
+        assertThrows(RuntimeException.class, availability::check, "The caller starting the probe should fail fast.");
+        assertTrue(probeStarted.await(5, TimeUnit.SECONDS), "The elapsed cooldown should start a probe.");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, availability::check,
+                "A concurrent caller should fail fast while the probe is in progress.");
+        assertTrue(exception.getMessage().contains("temporarily unavailable"), "The message should report the open circuit.");
+
+        CompletableFuture<Void> probe = availability.refresh();
+        releaseProbe.countDown();
+        probe.get(5, TimeUnit.SECONDS);
+        assertEquals(1, probes.get(), "Only one probe should run for the half-open circuit.");
+        assertFalse(availability.isOpen(), "A successful probe should close the circuit.");
+        assertDoesNotThrow(availability::check, "A closed circuit with a recent success should not throw.");
+    }
+}
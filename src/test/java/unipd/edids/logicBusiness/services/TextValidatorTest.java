@@ -0,0 +1,121 @@
+package unipd.edids.logicBusiness.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TextValidatorTest {
+
+    private static final Logger logger = LogManager.getLogger(TextValidatorTest.class);
+    private int testNumber = 0;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: TextValidatorTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: TextValidatorTest");
+    }
+
+    @Test
+    void testValidText() {
+        TextValidator.Result result = TextValidator.validate("The cat, \"Tom\": a well-known cat's friend.", 120);
+        assertTrue(result.isValid(), "A text with allowed punctuation should be valid");
+        assertEquals(-1, result.position());
+    }
+
+    @Test
+    void testNullOrEmpty() {
+        assertEquals(TextValidator.Reason.NULL_OR_EMPTY, TextValidator.validate(null).reason());
+        assertEquals("Input text cannot be null or empty.", TextValidator.validate("").message());
+    }
+
+    @Test
+    void testTooLong() {
+        TextValidator.Result result = TextValidator.validate("The cat sleeps", 10);
+        assertEquals(TextValidator.Reason.TOO_LONG, result.reason());
+        assertEquals("Input text cannot exceed 10 characters.", result.message());
+        assertTrue(TextValidator.isValid("The cat sleeps", 0), "A non-positive limit should disable the check");
+    }
+
+    @Test
+    void testBlank() {
+        assertEquals(TextValidator.Reason.BLANK, TextValidator.validate(" \t ").reason());
+        assertEquals(TextValidator.Reason.BLANK, TextValidator.validate("\n").reason());
+    }
+
+    @Test
+    void testNoLetterOrMultipleLines() {
+        assertEquals(TextValidator.Reason.NO_LETTER, TextValidator.validate("12345").reason());
+        assertEquals(TextValidator.Reason.NO_LETTER, TextValidator.validate("The cat\nsleeps").reason(),
+                "Line terminators should be rejected as the regex version did");
+        assertEquals("Input text must contain at least one alphabetical character.", TextValidator.validate("...").message());
+    }
+
+    @Test
+    void testInvalidStartAndEnd() {
+        TextValidator.Result start = TextValidator.validate("-The cat");
+        assertEquals(TextValidator.Reason.INVALID_START, start.reason());
+        assertEquals(0, start.position());
+
+        TextValidator.Result end = TextValidator.validate("The cat,");
+        assertEquals(TextValidator.Reason.INVALID_END, end.reason());
+        assertEquals(7, end.position());
+        assertTrue(TextValidator.isValid("The cat.", 0), "A text may end with a period");
+    }
+
+    @Test
+    void testInvalidCharacter() {
+        TextValidator.Result result = TextValidator.validate("The cat; the dog");
+        assertEquals(TextValidator.Reason.INVALID_CHARACTER, result.reason());
+        assertEquals(7, result.position(), "The first offending character should be reported");
+        assertEquals(TextValidator.Reason.INVALID_CHARACTER, TextValidator.validate("The café is open").reason(),
+                "Non-ASCII letters should be rejected");
+    }
+
+    @Test
+    void testMatchesRegexRules() {
+        // Confronto con le regole originali basate su String.matches
+        List<String> samples = List.of("The cat", " The cat ", "@cat", "cat@", "cat @ home", "12 cats.", "cat.", ".cat",
+                "\"cat\" sleeps", "cat\"", "a-b", "a\rb", "a b", "émile", "a\u000Bb", "9", "a", "a:b,c'd", "cat!", "😀 cat");
+        for (String text : samples) {
+            assertEquals(regexReason(text), TextValidator.validate(text).reason(), "Unexpected reason for: " + text);
+        }
+    }
+
+    private TextValidator.Reason regexReason(String text) {
+        if (text.trim().isEmpty()) {
+            return TextValidator.Reason.BLANK;
+        }
+        if (!text.matches(".*[a-zA-Z]+.*")) {
+            return TextValidator.Reason.NO_LETTER;
+        }
+        if (text.matches("^[^a-zA-Z0-9\\s].*")) {
+            return TextValidator.Reason.INVALID_START;
+        }
+        if (text.matches(".*[^a-zA-Z0-9.\\s]$")) {
+            return TextValidator.Reason.INVALID_END;
+        }
+        if (text.matches(".*[^a-zA-Z0-9.,:'\"\\s-].*")) {
+            return TextValidator.Reason.INVALID_CHARACTER;
+        }
+        return TextValidator.Reason.VALID;
+    }
+}
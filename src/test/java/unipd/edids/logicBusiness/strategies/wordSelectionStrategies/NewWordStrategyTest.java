@@ -8,6 +8,8 @@ import unipd.edids.logicBusiness.entities.Noun;
 import unipd.edids.logicBusiness.entities.Sentence;
 import unipd.edids.logicBusiness.entities.Verb;
 import unipd.edids.logicBusiness.managers.ConfigManager;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.FutureTenseStrategy;
+import unipd.edids.logicBusiness.strategies.tenseStrategies.PresentTenseStrategy;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -128,6 +130,23 @@ class NewWordStrategyTest {
         assertTrue(verbs.stream().allMatch(v -> v != null && !v.isEmpty()), "Verb list contains invalid words.");
     }
 
+    @Test
+    void testPopulateWordsUsesOwnTense() {
+        logger.info("Testing populateWords() with a tense owned by the strategy...");
+        // Arrange
+        Sentence sentence = new Sentence();
+        sentence.setStructure(new StringBuilder("This [verb] and that [verb]."));
+        Verb.getInstance().configureVerbTense(false);
+        NewWordStrategy futureStrategy = new NewWordStrategy(new FutureTenseStrategy());
+
+        // Act
+        futureStrategy.populateWords(sentence);
+
+        // Assert
+        assertTrue(sentence.getVerbs().stream().allMatch(v -> v.startsWith("will ")), "Verbs should be conjugated with the tense of the strategy.");
+        assertInstanceOf(PresentTenseStrategy.class, Verb.getInstance().getTenseStrategy(), "The shared tense should not change.");
+    }
+
     @Test
     void testPopulateWordsPopulatesAdjectives() {
         logger.info("Testing populateWords() for adjective placeholders...");
@@ -0,0 +1,120 @@
+package unipd.edids.logicBusiness.vocabulary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import unipd.edids.logicBusiness.managers.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VocabularyImporterTest {
+
+    private static final Logger logger = LogManager.getLogger(VocabularyImporterTest.class);
+    private int testNumber = 0;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    void startTesting() {
+        logger.info("Starting test suite: VocabularyImporterTest");
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Running test #{}", ++testNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.info("Finished test #{}", testNumber);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        logger.info("Finished test suite: VocabularyImporterTest");
+    }
+
+    @Test
+    void testImportMatchesTextWordList() throws IOException {
+        Path vocab = tempDir.resolve("nouns.vocab");
+        String source = "src/main/resources/words/nouns.txt";
+
+        int count = VocabularyImporter.importText(Paths.get(source), vocab);
+        MappedVocabulary vocabulary = MappedVocabulary.open(vocab);
+
+        List<String> expected = FileManager.readFile(source);
+        assertEquals(expected.size(), count, "Every non-blank line should be imported");
+        assertEquals(expected, vocabulary, "The mapped vocabulary should contain the same words in the same order");
+    }
+
+    @Test
+    void testBlankLinesAndUnicodeWords() throws IOException {
+        Path text = tempDir.resolve("words.txt");
+        Path vocab = tempDir.resolve("words.vocab");
+        Files.write(text, List.of("caffè", "", "   ", "naïve", "cat"));
+
+        VocabularyImporter.importText(text, vocab);
+        MappedVocabulary vocabulary = MappedVocabulary.open(vocab);
+
+        assertEquals(List.of("caffè", "naïve", "cat"), vocabulary, "Blank lines should be skipped and UTF-8 preserved");
+        assertThrows(IndexOutOfBoundsException.class, () -> vocabulary.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> vocabulary.add("dog"), "The vocabulary should be read-only");
+    }
+
+    @Test
+    void testEmptyWordList() throws IOException {
+        Path text = tempDir.resolve("empty.txt");
+        Path vocab = tempDir.resolve("empty.vocab");
+        Files.write(text, List.of());
+
+        assertEquals(0, VocabularyImporter.importText(text, vocab));
+        assertTrue(MappedVocabulary.open(vocab).isEmpty(), "An empty word list should produce an empty vocabulary");
+    }
+
+    @Test
+    void testLargeVocabularyRandomAccess() throws IOException {
+        Path text = tempDir.resolve("large.txt");
+        Path vocab = tempDir.resolve("large.vocab");
+        Files.write(text, IntStream.range(0, 100_000).mapToObj(i -> "word" + i).toList());
+
+        VocabularyImporter.importText(text, vocab);
+        MappedVocabulary vocabulary = MappedVocabulary.open(vocab);
+
+        assertEquals(100_000, vocabulary.size());
+        assertEquals("word0", vocabulary.get(0));
+        assertEquals("word54321", vocabulary.get(54_321));
+        assertEquals("word99999", vocabulary.get(99_999));
+    }
+
+    @Test
+    void testOpenRejectsInvalidFiles() throws IOException {
+        Path text = tempDir.resolve("plain.vocab");
+        Files.writeString(text, "this is not a vocabulary file");
+        assertThrows(IOException.class, () -> MappedVocabulary.open(text), "A text file should be rejected");
+
+        Path vocab = tempDir.resolve("truncated.vocab");
+        Files.write(tempDir.resolve("words.txt"), List.of("apple", "banana"));
+        VocabularyImporter.importText(tempDir.resolve("words.txt"), vocab);
+        byte[] bytes = Files.readAllBytes(vocab);
+        Files.write(vocab, Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IOException.class, () -> MappedVocabulary.open(vocab), "A truncated file should be rejected");
+    }
+
+    @Test
+    void testVocabularyFilesAreReadOnlyForVocabularyUpdates() {
+        Path vocab = tempDir.resolve("nouns.vocab");
+        assertThrows(IOException.class, () -> FileManager.appendLineToVocabularyFile(vocab.toString(), "dog"),
+                "Appending to a binary vocabulary should be rejected");
+    }
+}